@@ -0,0 +1,194 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Records, for every course in a catalog, which other courses it conflicts with, so
+ * asking which sections conflict with a course does not have to check it against the
+ * whole catalog. Each course is given an ordinal when it is added, and its conflicts
+ * are kept as a BitSet over the ordinals of the other courses, using one bit per
+ * course. Adding a course checks it against every course once and sets the bit on both
+ * sides of each conflict; removing it clears those bits and frees its ordinal for the
+ * next course added.
+ *
+ * Two courses conflict when Activity.conflictsWith is true for them, which is when
+ * checkConflict would throw. The graph records a course's meeting times when it is
+ * added, so a course whose meeting days or times change must be removed and added
+ * again.
+ */
+public class ConflictGraph {
+
+	/** Course with each ordinal, or null for a free ordinal */
+	private final ArrayList<Course> courses = new ArrayList<Course>();
+	/** Ordinals of the courses that conflict with the course with each ordinal */
+	private final ArrayList<BitSet> conflicts = new ArrayList<BitSet>();
+	/** Ordinal of each course in the graph */
+	private final IdentityHashMap<Course, Integer> ordinals = new IdentityHashMap<Course, Integer>();
+	/** Ordinals in use */
+	private final BitSet live = new BitSet();
+
+	/**
+	 * Adds a course to the graph, recording its conflicts with every course already in it.
+	 * @param course course to add
+	 * @return true if the course was added, false if it was already in the graph
+	 */
+	public boolean add(Course course) {
+		if (ordinals.containsKey(course)) {
+			return false;
+		}
+		int ordinal = live.nextClearBit(0);
+		BitSet row = new BitSet();
+		for (int i = live.nextSetBit(0); i >= 0; i = live.nextSetBit(i + 1)) {
+			if (courses.get(i).conflictsWith(course)) {
+				row.set(i);
+				conflicts.get(i).set(ordinal);
+			}
+		}
+		if (ordinal == courses.size()) {
+			courses.add(course);
+			conflicts.add(row);
+		} else {
+			courses.set(ordinal, course);
+			conflicts.set(ordinal, row);
+		}
+		ordinals.put(course, ordinal);
+		live.set(ordinal);
+		return true;
+	}
+
+	/**
+	 * Removes a course from the graph, along with its conflicts.
+	 * @param course course to remove
+	 * @return true if the course was removed, false if it was not in the graph
+	 */
+	public boolean remove(Course course) {
+		Integer ordinal = ordinals.remove(course);
+		if (ordinal == null) {
+			return false;
+		}
+		BitSet row = conflicts.get(ordinal);
+		for (int i = row.nextSetBit(0); i >= 0; i = row.nextSetBit(i + 1)) {
+			conflicts.get(i).clear(ordinal);
+		}
+		courses.set(ordinal, null);
+		conflicts.set(ordinal, null);
+		live.clear(ordinal);
+		return true;
+	}
+
+	/**
+	 * Removes every course from the graph.
+	 */
+	public void clear() {
+		courses.clear();
+		conflicts.clear();
+		ordinals.clear();
+		live.clear();
+	}
+
+	/**
+	 * Returns the number of courses in the graph.
+	 * @return number of courses
+	 */
+	public int size() {
+		return ordinals.size();
+	}
+
+	/**
+	 * Returns true if the course is in the graph.
+	 * @param course course to look for
+	 * @return true if the course is in the graph
+	 */
+	public boolean contains(Course course) {
+		return ordinals.containsKey(course);
+	}
+
+	/**
+	 * Returns true if both courses are in the graph and conflict with each other.
+	 * @param a a course
+	 * @param b another course
+	 * @return true if the courses conflict
+	 */
+	public boolean conflicts(Course a, Course b) {
+		Integer ordinalA = ordinals.get(a);
+		Integer ordinalB = ordinals.get(b);
+		return ordinalA != null && ordinalB != null && conflicts.get(ordinalA).get(ordinalB);
+	}
+
+	/**
+	 * Returns the number of courses in the graph that conflict with a course in the graph.
+	 * @param course course in the graph
+	 * @return number of conflicting courses, or 0 if the course is not in the graph
+	 */
+	public int getConflictCount(Course course) {
+		Integer ordinal = ordinals.get(course);
+		return ordinal == null ? 0 : conflicts.get(ordinal).cardinality();
+	}
+
+	/**
+	 * Returns the other courses in the graph that conflict with a course, in no particular
+	 * order. For a course in the graph this takes time in proportion to the number of
+	 * conflicts; a course not in the graph is checked against every course.
+	 * @param course course to find conflicts for
+	 * @return conflicting courses
+	 */
+	public List<Course> getConflicts(Course course) {
+		return toCourses(row(course));
+	}
+
+	/**
+	 * Returns the courses in the graph that conflict with none of the given courses, not
+	 * counting the given courses themselves, in no particular order.
+	 * @param scheduled courses to avoid conflicts with, such as a student's schedule
+	 * @return courses that fit alongside all of the given courses
+	 */
+	public List<Course> getConflictFree(Course... scheduled) {
+		BitSet free = (BitSet) live.clone();
+		for (Course course : scheduled) {
+			free.andNot(row(course));
+			Integer ordinal = ordinals.get(course);
+			if (ordinal != null) {
+				free.clear(ordinal);
+			}
+		}
+		return toCourses(free);
+	}
+
+	/**
+	 * Returns the ordinals of the courses that conflict with a course. The set belongs to
+	 * the graph when the course is in it and must not be changed.
+	 * @param course course to find conflicts for
+	 * @return ordinals of the conflicting courses
+	 */
+	private BitSet row(Course course) {
+		Integer ordinal = ordinals.get(course);
+		if (ordinal != null) {
+			return conflicts.get(ordinal);
+		}
+		BitSet row = new BitSet();
+		for (int i = live.nextSetBit(0); i >= 0; i = live.nextSetBit(i + 1)) {
+			if (courses.get(i).conflictsWith(course)) {
+				row.set(i);
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * Returns the courses with the given ordinals.
+	 * @param set ordinals of courses in the graph
+	 * @return the courses
+	 */
+	private List<Course> toCourses(BitSet set) {
+		List<Course> result = new ArrayList<Course>(set.cardinality());
+		for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+			result.add(courses.get(i));
+		}
+		return result;
+	}
+}
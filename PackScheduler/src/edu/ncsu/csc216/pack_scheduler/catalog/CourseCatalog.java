@@ -1,13 +1,18 @@
 package edu.ncsu.csc216.pack_scheduler.catalog;
 
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
 
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.IncrementalRecordWriter;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 
 
 /**
@@ -19,6 +24,14 @@ import edu.ncsu.csc216.pack_scheduler.io.CourseRecordIO;
 public class CourseCatalog {
 	/** A SortedList representing a catalog for courses */
 	private SortedList<Course> catalog;
+	/** Index of the courses in catalog keyed by name and section */
+	private HashMap<String, Course> courseIndex;
+	/** Conflicts between the courses in catalog, or null until first asked for */
+	private volatile ConflictGraph conflicts;
+	/** Courses in catalog by meeting day and time */
+	private MeetingIndex meetings = new MeetingIndex();
+	/** Writer that saves the catalog, rewriting only the courses that changed */
+	private IncrementalRecordWriter writer = new IncrementalRecordWriter();
 	
 	/**
 	 * Constructor that constructs an empty catalog
@@ -32,6 +45,9 @@ public class CourseCatalog {
 	 */
 	public void newCourseCatalog() {
 		this.catalog = new SortedList<Course>();
+		this.courseIndex = new HashMap<String, Course>();
+		this.conflicts = null;
+		this.meetings.clear();
 	}
 	
 	/**
@@ -40,13 +56,104 @@ public class CourseCatalog {
 	 * @throws IllegalArgumentException if the file cannot be found
 	 */
 	public void loadCoursesFromFile(String fileName) {
+		loadCoursesFromFile(fileName, false);
+	}
+	
+	/**
+	 * Loads courses from a file into catalog.  If parallel is true, the file is parsed
+	 * in chunks on the fork-join pool.
+	 * @param fileName String representing a filename that courses will be loaded from
+	 * @param parallel true to parse the file in parallel
+	 * @throws IllegalArgumentException if the file cannot be found
+	 */
+	public void loadCoursesFromFile(String fileName, boolean parallel) {
 		try {
-			this.catalog = CourseRecordIO.readCourseRecords(fileName);
+			loadCourses(CourseRecordIO.readCourseRecords(fileName, RegistrationManager.getInstance().getFacultyDirectory(), parallel));
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
 	}
 	
+	/**
+	 * Replaces the courses in the catalog with the given list, such as one read
+	 * from a snapshot.
+	 * @param courses list of courses to use as the catalog
+	 */
+	public void loadCourses(SortedList<Course> courses) {
+		this.catalog = courses;
+		rebuildIndex();
+	}
+	
+	/**
+	 * Returns the list of courses backing the catalog, such as for writing a
+	 * snapshot. The list must not be modified.
+	 * @return list of courses in the catalog
+	 */
+	public SortedList<Course> getCourseList() {
+		return catalog;
+	}
+	
+	/**
+	 * Returns the conflicts between the courses in the catalog, which answers which
+	 * courses conflict with a course, or fit alongside a set of courses, without checking
+	 * the whole catalog. Comparing every pair of courses is quadratic, so the graph is
+	 * not built when courses are loaded but on the first call after a load, and is then
+	 * kept up to date as courses are added and removed. It must not be modified.
+	 * @return conflict graph of the catalog
+	 */
+	public ConflictGraph getConflictGraph() {
+		ConflictGraph graph = conflicts;
+		if (graph == null) {
+			synchronized (this) {
+				graph = conflicts;
+				if (graph == null) {
+					graph = new ConflictGraph();
+					for (int i = 0; i < catalog.size(); i++) {
+						graph.add(catalog.get(i));
+					}
+					conflicts = graph;
+				}
+			}
+		}
+		return graph;
+	}
+	
+	/**
+	 * Returns the courses in the catalog indexed by meeting day and time, which answers
+	 * which courses meet on a day between two times, or fit in a set of free blocks,
+	 * without checking the whole catalog. The index is kept up to date as courses are
+	 * added and removed and must not be modified.
+	 * @return meeting index of the catalog
+	 */
+	public MeetingIndex getMeetingIndex() {
+		return meetings;
+	}
+	
+	/**
+	 * Rebuilds the name and section index and the meeting index from the courses in
+	 * catalog, and drops the conflict graph so it is rebuilt when next asked for.
+	 */
+	private void rebuildIndex() {
+		this.courseIndex = new HashMap<String, Course>();
+		this.conflicts = null;
+		this.meetings.clear();
+		for (int i = 0; i < catalog.size(); i++) {
+			Course course = catalog.get(i);
+			courseIndex.putIfAbsent(indexKey(course.getName(), course.getSection()), course);
+			meetings.add(course);
+		}
+	}
+	
+	/**
+	 * Returns the key a course with the given name and section is indexed under.
+	 * @param name the name of the course
+	 * @param section the section of the course
+	 * @return the index key for the course
+	 */
+	private static String indexKey(String name, String section) {
+		return name + "-" + section;
+	}
+	
 	/**
 	 * Adds a course to the course catalog. 
 	 * @param name name of the course 
@@ -66,12 +173,17 @@ public class CourseCatalog {
 	public boolean addCourseToCatalog(String name, String title, String section, int credits, String instructorId, int enrollmentCap, String meetingDays, int startTime, int endTime) {
 			 
 		Course newCourse = new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays, startTime, endTime);
-		for(int i = 0; i < catalog.size(); i++) {
-			if(catalog.get(i).getName().equals(newCourse.getName()) && catalog.get(i).getSection().equals(newCourse.getSection())) {
-				return false;
-			}
+		String key = indexKey(newCourse.getName(), newCourse.getSection());
+		if (courseIndex.containsKey(key)) {
+			return false;
+		}
+		this.catalog.add(newCourse);
+		courseIndex.put(key, newCourse);
+		ConflictGraph graph = conflicts;
+		if (graph != null) {
+			graph.add(newCourse);
 		}
-		this.catalog.add(new Course(name, title, section, credits, instructorId, enrollmentCap, meetingDays, startTime, endTime));
+		meetings.add(newCourse);
 		return true;
 	}
 	
@@ -82,14 +194,17 @@ public class CourseCatalog {
 	 * @return true if a course is in the catalog and false otherwise 
 	 */
 	public boolean removeCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < this.catalog.size(); i++) {
-			Course course = this.catalog.get(i);
-			if (course.getName().equals(name) && course.getSection().equals(section)) {
-				this.catalog.remove(i);
-				return true;
-			}
+		Course course = courseIndex.remove(indexKey(name, section));
+		if (course == null) {
+			return false;
 		}
-		return false;
+		this.catalog.remove(this.catalog.indexOf(course));
+		ConflictGraph graph = conflicts;
+		if (graph != null) {
+			graph.remove(course);
+		}
+		meetings.remove(course);
+		return true;
 	}
 	
 	/**
@@ -99,18 +214,37 @@ public class CourseCatalog {
 	 * @return course if it is present in catalog and returns null otherwise  
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for (int i = 0; i < this.catalog.size(); i++) {
-			Course course = this.catalog.get(i);
-			if (course.getName().equals(name) && course.getSection().equals(section)) {
-				return this.catalog.get(i);
+		return courseIndex.get(indexKey(name, section));
+	}
+	
+	/**
+	 * Returns the sections of the course with the given name, in section order. The
+	 * catalog is sorted by name first, so the sections are found by a binary search for
+	 * the first of them rather than by checking every course.
+	 * @param name the name of the course, such as CSC216
+	 * @return sections of the course, or an empty list if the catalog has none
+	 */
+	public List<Course> getSections(String name) {
+		int low = 0;
+		int high = catalog.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (catalog.get(mid).getName().compareTo(name) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
 			}
 		}
-		return null;
+		List<Course> sections = new ArrayList<Course>();
+		for (int i = low; i < catalog.size() && catalog.get(i).getName().equals(name); i++) {
+			sections.add(catalog.get(i));
+		}
+		return sections;
 	}
 	
 	/**
 	 * Gets the entire course catalog with information about course names, sections, and
-	 * titles.
+	 * titles. Open seats are read from each roll's seat counter, without locking the roll.
 	 * @return courseCatalog a 2d array that contains courses in catalog and course name, section, and title.
 	 */
 	public String[][] getCourseCatalog() {
@@ -127,13 +261,15 @@ public class CourseCatalog {
 	}
 	
 	/**
-	 * Saves the course catalog to a given file.
+	 * Saves the course catalog to a given file.  If the catalog was last saved to the
+	 * same file, only the part of the file from the first changed course onward is
+	 * rewritten.
 	 * @param filename the file where the course catalog will be saved
 	 * @throws IllegalArgumentException if unable to save file
 	 */
 	public void saveCourseCatalog(String filename) {
 		try {
-			CourseRecordIO.writeCourseRecords(filename, catalog);
+			writer.write(filename, catalog);
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + filename);
 		}
@@ -0,0 +1,431 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Indexes courses by the days and times they meet, so the courses meeting on a day
+ * during a range of times can be found without checking every course in the catalog.
+ * Each weekday has an interval tree of the courses meeting that day, built as a treap
+ * ordered by start time in which every node also holds the latest end time below it.
+ * A search skips any subtree that ends before the range starts or starts after it ends,
+ * so it takes time in proportion to the height of the tree, expected to be logarithmic,
+ * plus the courses found. Arranged courses have no meeting times and are kept in a
+ * separate list.
+ *
+ * Times are given as in Course, in military time such as 1330, and ranges include
+ * their endpoints, the same as Activity.conflictsWith. Queries on a single day return
+ * courses in order of start time. The index records a course's meeting times when it is added, so a course whose
+ * meeting days or times change must be removed and added again.
+ */
+public class MeetingIndex {
+
+	/** Letters of the weekdays a course can meet, in order */
+	private static final String WEEKDAYS = "MTWHF";
+	/** Meeting days of an arranged course */
+	private static final String ARRANGED = "A";
+
+	/** Root of the tree of courses meeting on each weekday */
+	private final Node[] days = new Node[WEEKDAYS.length()];
+	/** Arranged courses in the order they were added */
+	private final List<Course> arranged = new ArrayList<Course>();
+	/** Id given to each course in the index, which orders courses with the same start time */
+	private final IdentityHashMap<Course, Integer> ids = new IdentityHashMap<Course, Integer>();
+	/** Id given to the next course added */
+	private int nextId;
+	/** Source of node priorities */
+	private final Random random = new Random();
+
+	/**
+	 * A block of time on one or more weekdays, such as a student's free time.
+	 */
+	public static final class Block {
+		/** Days of the block as weekday letters */
+		private final String days;
+		/** Start of the block in minutes after midnight */
+		private final int startMinute;
+		/** End of the block in minutes after midnight */
+		private final int endMinute;
+
+		/**
+		 * Creates a block.
+		 * @param days weekday letters, from MTWHF
+		 * @param startTime start of the block in military time
+		 * @param endTime end of the block in military time
+		 * @throws IllegalArgumentException if the days or times are invalid
+		 */
+		public Block(String days, int startTime, int endTime) {
+			if (days == null || days.isEmpty() || startTime > endTime) {
+				throw new IllegalArgumentException("Invalid meeting days and times.");
+			}
+			for (int i = 0; i < days.length(); i++) {
+				weekday(days.charAt(i));
+			}
+			this.days = days;
+			this.startMinute = minutes(startTime);
+			this.endMinute = minutes(endTime);
+		}
+	}
+
+	/**
+	 * A course in the tree for one weekday.
+	 */
+	private static final class Node {
+		/** Course meeting on the weekday */
+		private final Course course;
+		/** Start of the meeting in minutes after midnight */
+		private final int start;
+		/** End of the meeting in minutes after midnight */
+		private final int end;
+		/** Id of the course, which orders nodes with the same start */
+		private final int id;
+		/** Heap priority of the node */
+		private final int priority;
+		/** Latest end of the meetings in this subtree */
+		private int maxEnd;
+		/** Courses starting earlier */
+		private Node left;
+		/** Courses starting later */
+		private Node right;
+
+		/**
+		 * Creates a node.
+		 * @param course course meeting on the weekday
+		 * @param id id of the course
+		 * @param priority heap priority of the node
+		 */
+		Node(Course course, int id, int priority) {
+			this.course = course;
+			this.start = course.getStartMinute();
+			this.end = course.getEndMinute();
+			this.id = id;
+			this.priority = priority;
+			this.maxEnd = end;
+		}
+	}
+
+	/**
+	 * Adds a course to the index.
+	 * @param course course to add
+	 * @return true if the course was added, false if it was already in the index
+	 */
+	public boolean add(Course course) {
+		if (ids.containsKey(course)) {
+			return false;
+		}
+		int id = nextId++;
+		ids.put(course, id);
+		if (ARRANGED.equals(course.getMeetingDays())) {
+			arranged.add(course);
+			return true;
+		}
+		String meetingDays = course.getMeetingDays();
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = weekday(meetingDays.charAt(i));
+			days[day] = insert(days[day], new Node(course, id, random.nextInt()));
+		}
+		return true;
+	}
+
+	/**
+	 * Removes a course from the index.
+	 * @param course course to remove
+	 * @return true if the course was removed, false if it was not in the index
+	 */
+	public boolean remove(Course course) {
+		Integer id = ids.remove(course);
+		if (id == null) {
+			return false;
+		}
+		if (ARRANGED.equals(course.getMeetingDays())) {
+			arranged.remove(course);
+			return true;
+		}
+		String meetingDays = course.getMeetingDays();
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = weekday(meetingDays.charAt(i));
+			days[day] = delete(days[day], course.getStartMinute(), id);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes every course from the index.
+	 */
+	public void clear() {
+		for (int i = 0; i < days.length; i++) {
+			days[i] = null;
+		}
+		arranged.clear();
+		ids.clear();
+	}
+
+	/**
+	 * Returns the number of courses in the index.
+	 * @return number of courses
+	 */
+	public int size() {
+		return ids.size();
+	}
+
+	/**
+	 * Returns the arranged courses in the index.
+	 * @return arranged courses, in the order they were added
+	 */
+	public List<Course> getArrangedCourses() {
+		return new ArrayList<Course>(arranged);
+	}
+
+	/**
+	 * Returns the courses meeting on a day at any time between the start and end times.
+	 * @param day weekday letter, from MTWHF
+	 * @param startTime start of the range in military time
+	 * @param endTime end of the range in military time
+	 * @return courses whose meeting overlaps the range, in order of start time
+	 * @throws IllegalArgumentException if the day is not a weekday
+	 */
+	public List<Course> getCoursesMeeting(char day, int startTime, int endTime) {
+		List<Course> result = new ArrayList<Course>();
+		overlapping(days[weekday(day)], minutes(startTime), minutes(endTime), result);
+		return result;
+	}
+
+	/**
+	 * Returns the courses meeting on a day that start and end between the start and end times.
+	 * @param day weekday letter, from MTWHF
+	 * @param startTime start of the range in military time
+	 * @param endTime end of the range in military time
+	 * @return courses whose meeting is within the range, in order of start time
+	 * @throws IllegalArgumentException if the day is not a weekday
+	 */
+	public List<Course> getCoursesWithin(char day, int startTime, int endTime) {
+		List<Course> result = new ArrayList<Course>();
+		within(days[weekday(day)], minutes(startTime), minutes(endTime), result);
+		return result;
+	}
+
+	/**
+	 * Returns the courses that only meet during the given blocks, such as the sections a
+	 * student can take in their free time. A course fits if, on every day it meets, its
+	 * meeting is within one of the blocks for that day. Courses are listed in order of
+	 * the first block on their first meeting day that they fit in; arranged courses always
+	 * fit and are listed last.
+	 * @param blocks blocks of time the courses must meet within
+	 * @return courses meeting only during the blocks
+	 */
+	public List<Course> getCoursesFitting(Block... blocks) {
+		IdentityHashMap<Course, Integer> daysCovered = new IdentityHashMap<Course, Integer>();
+		List<Course> order = new ArrayList<Course>();
+		for (int day = 0; day < days.length; day++) {
+			Set<Course> covered = Collections.newSetFromMap(new IdentityHashMap<Course, Boolean>());
+			List<Course> found = new ArrayList<Course>();
+			for (Block block : blocks) {
+				if (block.days.indexOf(WEEKDAYS.charAt(day)) >= 0) {
+					within(days[day], block.startMinute, block.endMinute, found);
+				}
+			}
+			for (Course course : found) {
+				if (covered.add(course)) {
+					Integer count = daysCovered.get(course);
+					if (count == null) {
+						order.add(course);
+					}
+					daysCovered.put(course, count == null ? 1 : count + 1);
+				}
+			}
+		}
+		List<Course> result = new ArrayList<Course>();
+		for (Course course : order) {
+			if (daysCovered.get(course) == course.getMeetingDays().length()) {
+				result.add(course);
+			}
+		}
+		result.addAll(arranged);
+		return result;
+	}
+
+	/**
+	 * Adds the courses in a subtree whose meeting overlaps a range to a list.
+	 * @param node root of the subtree
+	 * @param start start of the range in minutes
+	 * @param end end of the range in minutes
+	 * @param result list to add to, in order of start time
+	 */
+	private static void overlapping(Node node, int start, int end, List<Course> result) {
+		if (node == null || node.maxEnd < start) {
+			return;
+		}
+		overlapping(node.left, start, end, result);
+		if (node.start <= end) {
+			if (node.end >= start) {
+				result.add(node.course);
+			}
+			overlapping(node.right, start, end, result);
+		}
+	}
+
+	/**
+	 * Adds the courses in a subtree whose meeting is within a range to a list.
+	 * @param node root of the subtree
+	 * @param start start of the range in minutes
+	 * @param end end of the range in minutes
+	 * @param result list to add to, in order of start time
+	 */
+	private static void within(Node node, int start, int end, List<Course> result) {
+		if (node == null || node.maxEnd < start) {
+			return;
+		}
+		if (node.start >= start) {
+			within(node.left, start, end, result);
+		}
+		if (node.start <= end) {
+			if (node.start >= start && node.end <= end) {
+				result.add(node.course);
+			}
+			within(node.right, start, end, result);
+		}
+	}
+
+	/**
+	 * Inserts a node into a subtree.
+	 * @param root root of the subtree
+	 * @param node node to insert
+	 * @return new root of the subtree
+	 */
+	private static Node insert(Node root, Node node) {
+		if (root == null) {
+			return node;
+		}
+		if (compare(node.start, node.id, root) < 0) {
+			root.left = insert(root.left, node);
+			if (root.left.priority > root.priority) {
+				root = rotateRight(root);
+			}
+		} else {
+			root.right = insert(root.right, node);
+			if (root.right.priority > root.priority) {
+				root = rotateLeft(root);
+			}
+		}
+		update(root);
+		return root;
+	}
+
+	/**
+	 * Deletes the node with the given start and id from a subtree.
+	 * @param root root of the subtree
+	 * @param start start of the node's meeting in minutes
+	 * @param id id of the node's course
+	 * @return new root of the subtree
+	 */
+	private static Node delete(Node root, int start, int id) {
+		if (root == null) {
+			return null;
+		}
+		int cmp = compare(start, id, root);
+		if (cmp < 0) {
+			root.left = delete(root.left, start, id);
+		} else if (cmp > 0) {
+			root.right = delete(root.right, start, id);
+		} else if (root.left == null) {
+			return root.right;
+		} else if (root.right == null) {
+			return root.left;
+		} else if (root.left.priority > root.right.priority) {
+			root = rotateRight(root);
+			root.right = delete(root.right, start, id);
+		} else {
+			root = rotateLeft(root);
+			root.left = delete(root.left, start, id);
+		}
+		update(root);
+		return root;
+	}
+
+	/**
+	 * Compares a start and id to the position of a node.
+	 * @param start start in minutes
+	 * @param id id of a course
+	 * @param node node to compare to
+	 * @return negative if the start and id order before the node, 0 if they are the
+	 * node's, and positive if they order after it
+	 */
+	private static int compare(int start, int id, Node node) {
+		if (start != node.start) {
+			return Integer.compare(start, node.start);
+		}
+		return Integer.compare(id, node.id);
+	}
+
+	/**
+	 * Rotates a subtree right, lifting its left child.
+	 * @param root root of the subtree
+	 * @return new root of the subtree
+	 */
+	private static Node rotateRight(Node root) {
+		Node left = root.left;
+		root.left = left.right;
+		left.right = root;
+		update(root);
+		update(left);
+		return left;
+	}
+
+	/**
+	 * Rotates a subtree left, lifting its right child.
+	 * @param root root of the subtree
+	 * @return new root of the subtree
+	 */
+	private static Node rotateLeft(Node root) {
+		Node right = root.right;
+		root.right = right.left;
+		right.left = root;
+		update(root);
+		update(right);
+		return right;
+	}
+
+	/**
+	 * Recomputes the latest end below a node from its children.
+	 * @param node node to update
+	 */
+	private static void update(Node node) {
+		int maxEnd = node.end;
+		if (node.left != null && node.left.maxEnd > maxEnd) {
+			maxEnd = node.left.maxEnd;
+		}
+		if (node.right != null && node.right.maxEnd > maxEnd) {
+			maxEnd = node.right.maxEnd;
+		}
+		node.maxEnd = maxEnd;
+	}
+
+	/**
+	 * Returns the index of a weekday letter.
+	 * @param day weekday letter
+	 * @return index of the weekday in MTWHF
+	 * @throws IllegalArgumentException if the letter is not a weekday
+	 */
+	private static int weekday(char day) {
+		int index = WEEKDAYS.indexOf(day);
+		if (index < 0) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+		return index;
+	}
+
+	/**
+	 * Converts a military time to minutes after midnight.
+	 * @param time time such as 1330
+	 * @return minutes after midnight
+	 */
+	private static int minutes(int time) {
+		return time / 100 * 60 + time % 100;
+	}
+}
@@ -14,6 +14,16 @@ public abstract class Activity implements Conflict {
 	private int startTime;
 	/** Course's ending time */
 	private int endTime;
+	/** Bit for each of the Course's meeting days, or 0 if the meeting is arranged */
+	private long dayMask;
+	/** Course's starting time as minutes after midnight */
+	private int startMinute;
+	/** Course's ending time as minutes after midnight */
+	private int endMinute;
+	/** Meeting day letters, in the order of their bits in the day mask */
+	private static final String MEETING_DAYS = "MTWHF";
+	/** Minutes in an hour */
+	private static final int MINUTES_PER_HOUR = 60;
 	/** The upper end of a Course's start or end hour */
 	private static final int UPPER_HOUR = 23;
 	/** The upper end of a Course's start or end minute */
@@ -38,24 +48,22 @@ public abstract class Activity implements Conflict {
 	 */
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
-		if (this.meetingDays.equals(Character.toString('A')) || possibleConflictingActivity.meetingDays.equals(Character.toString('A'))) {
-			return;
+		if (conflictsWith(possibleConflictingActivity)) {
+			throw new ConflictException("Schedule conflict.");
 		}
-		for (char thisCharacter : this.meetingDays.toCharArray()) {
-			for (char possibleCharacter : possibleConflictingActivity.meetingDays.toCharArray()) {
-				if (thisCharacter == possibleCharacter) {
-					if (this.startTime == possibleConflictingActivity.startTime ||  this.startTime == possibleConflictingActivity.endTime || this.endTime == possibleConflictingActivity.startTime || this.endTime == possibleConflictingActivity.endTime) {
-						throw new ConflictException("Schedule conflict.");
-					} else if (possibleConflictingActivity.startTime < this.endTime && possibleConflictingActivity.startTime > this.startTime || possibleConflictingActivity.endTime < this.endTime && possibleConflictingActivity.endTime > this.startTime) {
-						throw new ConflictException("Schedule conflict.");
-					} else if (this.startTime < possibleConflictingActivity.endTime && this.startTime > possibleConflictingActivity.startTime || this.endTime < possibleConflictingActivity.endTime && this.endTime > possibleConflictingActivity.startTime) {
-						throw new ConflictException("Schedule conflict.");
-					}
-				}
-			}
-		}
-		
-		
+	}
+
+	/**
+	 * Returns true if the two Activities meet on a common day at overlapping times,
+	 * including when one ends in the same minute the other starts. Arranged Activities
+	 * never conflict.
+	 * @param possibleConflictingActivity Activity to check against
+	 * @return true if the Activities conflict
+	 */
+	public boolean conflictsWith(Activity possibleConflictingActivity) {
+		return (this.dayMask & possibleConflictingActivity.dayMask) != 0
+				&& this.startMinute <= possibleConflictingActivity.endMinute
+				&& possibleConflictingActivity.startMinute <= this.endMinute;
 	}
 
 	/**
@@ -153,11 +161,64 @@ public abstract class Activity implements Conflict {
 			 }
 			 
 			 
+			 long mask = dayMask(meetingDays);
+			 
 			//everything is valid and works together!
 			 this.meetingDays = meetingDays;
 			 this.startTime = startTime;
 			 this.endTime = endTime; 			 
+			 this.dayMask = mask;
+			 this.startMinute = startHour * MINUTES_PER_HOUR + startMin;
+			 this.endMinute = endHour * MINUTES_PER_HOUR + endMin;
 		}
+
+	/**
+	 * Returns a bit for each meeting day, so two Activities share a day exactly when
+	 * their masks share a bit. Each weekday letter has its own bit, given by its position
+	 * in MTWHF; an arranged meeting has none.
+	 * @param meetingDays meeting days as a series of chars
+	 * @return mask of the meeting days
+	 * @throws IllegalArgumentException if a letter is not a weekday from MTWHF
+	 */
+	private static long dayMask(String meetingDays) {
+		if (meetingDays == null || "A".equals(meetingDays)) {
+			return 0;
+		}
+		long mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = MEETING_DAYS.indexOf(meetingDays.charAt(i));
+			if (day < 0) {
+				throw new IllegalArgumentException("Invalid meeting days and times.");
+			}
+			mask |= 1L << day;
+		}
+		return mask;
+	}
+
+	/**
+	 * Returns a bit for each of the Course's meeting days, with Monday through Friday in
+	 * bits 0 through 4. Arranged Courses have no bits set.
+	 * @return the meeting day mask
+	 */
+	public long getMeetingDayMask() {
+		return dayMask;
+	}
+
+	/**
+	 * Returns the Course's start time as minutes after midnight.
+	 * @return the start minute
+	 */
+	public int getStartMinute() {
+		return startMinute;
+	}
+
+	/**
+	 * Returns the Course's end time as minutes after midnight.
+	 * @return the end minute
+	 */
+	public int getEndMinute() {
+		return endMinute;
+	}
 		
 
 	/**
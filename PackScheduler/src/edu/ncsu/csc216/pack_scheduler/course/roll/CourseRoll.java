@@ -3,6 +3,10 @@
  */
 package edu.ncsu.csc216.pack_scheduler.course.roll;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
@@ -11,9 +15,20 @@ import edu.ncsu.csc216.pack_scheduler.util.LinkedAbstractList;
 /**
  * Constructs CourseRoll object with parameter enrollmentCap. Can get and set enrollmentCap. Gets number of 
  * open seats in course. Enrolls and drops students in course. Determines whether a student can enroll within the course.
+ * 
+ * Each roll has its own lock, held by every method, so students can enroll in and drop
+ * different courses at the same time. Callers that also change a Schedule take the roll's
+ * lock first; promoting a student from the waitlist in drop takes that student's
+ * Schedule lock while the roll's lock is held.
+ * 
+ * Seats are handed out through an atomic counter of open seats. An enroll claims a seat
+ * with reserveSeat, a single compare-and-set, before taking the lock, so when a section
+ * and its waitlist are full the request is turned away without locking or touching
+ * the roll. The claimed seat is then either filled by enroll or handed back with
+ * releaseSeat, which promotes the next waitlisted student into it.
  */
 public class CourseRoll {
-	/** A custom LinkedAbsractList of Student s */
+	/** A custom LinkedAbsractList of Student s, indexed by student id */
 	LinkedAbstractList<Student> roll;
 	
 	/** Roll's enrollment capacity */
@@ -34,6 +49,15 @@ public class CourseRoll {
 	/** Course object */
 	private Course course;
 	
+	/** Lock held while the roll or waitlist is read or changed */
+	private final ReentrantLock lock = new ReentrantLock();
+	
+	/** Seats neither taken by an enrolled student nor reserved by a pending enroll */
+	private final AtomicInteger openSeats = new AtomicInteger();
+	
+	/** Number of students on the waitlist, readable without the lock */
+	private volatile int waitlistCount;
+	
 	/**
 	 * Constructs CourseRoll object. Sets roll to a new LinkedAbstractList and sets enrollment cap.
 	 * @param enrollmentCap enrollment capacity
@@ -43,9 +67,9 @@ public class CourseRoll {
 		if(course == null) {
 			throw new IllegalArgumentException();
 		}
-		roll = new LinkedAbstractList<Student>(enrollmentCap);
+		roll = new LinkedAbstractList<Student>(enrollmentCap, Student::getId);
 		setEnrollmentCap(enrollmentCap);
-		waitlist = new ArrayList<Student>();
+		waitlist = new ArrayList<Student>(Student::getId);
 		this.course = course;
 	}
 	
@@ -55,25 +79,70 @@ public class CourseRoll {
 	 * @throws IllegalArgumentException if enrollmentCap is less than 10 or more than 250
 	 */
 	public void setEnrollmentCap(int enrollmentCap) {
-		if (enrollmentCap < MIN_ENROLLMENT || enrollmentCap > MAX_ENROLLMENT) {
-			throw new IllegalArgumentException("Invalid enrollment cap.");
-		}
+		lock.lock();
+		try {
+			if (enrollmentCap < MIN_ENROLLMENT || enrollmentCap > MAX_ENROLLMENT) {
+				throw new IllegalArgumentException("Invalid enrollment cap.");
+			}
 		
-		if (enrollmentCap >= roll.size()) {
-			this.enrollmentCap = enrollmentCap;
-			roll.setCapacity(enrollmentCap);
-		} else {
-			throw new IllegalArgumentException();
-		}	
+			if (enrollmentCap >= roll.size()) {
+				openSeats.addAndGet(enrollmentCap - this.enrollmentCap);
+				this.enrollmentCap = enrollmentCap;
+				roll.setCapacity(enrollmentCap);
+			} else {
+				throw new IllegalArgumentException();
+			}	
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
-	 * Returns number of current open seats in a course
+	 * Returns number of current open seats in a course, not counting seats reserved by
+	 * enrolls in progress. Reads the seat counter without taking the lock.
 	 * @return number of open seats
 	 */
 	public int getOpenSeats() {
-		
-		return enrollmentCap - roll.size();
+		return Math.max(0, openSeats.get());
+	}
+	
+	/**
+	 * Claims an open seat for a student about to enroll. Returns false without waiting
+	 * if no seat is open. A claimed seat must be passed to enroll or handed back with
+	 * releaseSeat.
+	 * @return true if a seat was claimed
+	 */
+	public boolean reserveSeat() {
+		int seats = openSeats.get();
+		while (seats > 0) {
+			if (openSeats.compareAndSet(seats, seats - 1)) {
+				return true;
+			}
+			seats = openSeats.get();
+		}
+		return false;
+	}
+	
+	/**
+	 * Hands back a seat claimed with reserveSeat that was not filled, and promotes the
+	 * next student on the waitlist into it.
+	 */
+	public void releaseSeat() {
+		lock.lock();
+		try {
+			openSeats.incrementAndGet();
+			promote();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns true if the waitlist is full. Reads the waitlist size without taking the lock.
+	 * @return true if no more students can be waitlisted
+	 */
+	public boolean isWaitlistFull() {
+		return waitlistCount >= WAITLIST_SIZE;
 	}
 	
 	/**
@@ -81,8 +150,13 @@ public class CourseRoll {
 	 * @return enrollmentCap
 	 */
 	public int getEnrollmentCap() {
-		return enrollmentCap;
+		lock.lock();
+		try {
+			return enrollmentCap;
 		
+		} finally {
+			lock.unlock();
+		}
 	}
 	
 	/**
@@ -91,18 +165,52 @@ public class CourseRoll {
 	 * @throws IllegalArgumentException if student is null or the roll size is greater than 250
 	 */
 	public void enroll(Student s) {
-		if (s == null) {
-			throw new IllegalArgumentException();
+		boolean reserved = reserveSeat();
+		try {
+			enroll(s, reserved);
+		} catch (IllegalArgumentException e) {
+			if (reserved) {
+				releaseSeat();
+			}
+			throw e;
 		}
+	}
+	
+	/**
+	 * Enrolls student in course using a seat claimed with reserveSeat, or puts the
+	 * student on the waitlist if no seat was claimed. If the student cannot enroll, the
+	 * claimed seat is not used and the caller must hand it back with releaseSeat.
+	 * @param s student being enrolled
+	 * @param reserved true if the caller claimed a seat for the student
+	 * @throws IllegalArgumentException if student is null, is already enrolled or
+	 * waitlisted, or no seat was claimed and the waitlist is full
+	 */
+	public void enroll(Student s, boolean reserved) {
+		lock.lock();
+		try {
+			if (s == null) {
+				throw new IllegalArgumentException();
+			}
 		
-		if (!canEnroll(s)) {
-			throw new IllegalArgumentException();
-		}
+			if (!canEnroll(s)) {
+				throw new IllegalArgumentException();
+			}
 		
-		if (roll.size() == enrollmentCap) {
-			waitlist.add(waitlist.size(), s);
-		} else {
-			roll.add(s);
+			if (reserved && roll.size() < enrollmentCap) {
+				roll.add(s);
+			} else {
+				if (waitlist.size() >= WAITLIST_SIZE || waitlist.contains(s)) {
+					throw new IllegalArgumentException();
+				}
+				if (reserved) {
+					// The cap was lowered below the seat while it was claimed
+					openSeats.incrementAndGet();
+				}
+				waitlist.add(waitlist.size(), s);
+				waitlistCount = waitlist.size();
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 	
@@ -112,20 +220,20 @@ public class CourseRoll {
 	 * @return true if can enroll, false if not
 	 */
 	public boolean canEnroll(Student s) {
-		if (roll.size() >= enrollmentCap) {
-			if (waitlist.size() >= WAITLIST_SIZE) {
-				return false;
-			} else if (waitlist.contains(s)) {
-				return false;
+		lock.lock();
+		try {
+			if (roll.size() >= enrollmentCap) {
+				if (waitlist.size() >= WAITLIST_SIZE) {
+					return false;
+				} else if (waitlist.contains(s)) {
+					return false;
+				}
 			}
-		}
 		
-		for (int i = 0; i < roll.size(); i++) {
-			if (roll.get(i).equals(s)){
-				return false;
-			}
+		return !roll.contains(s);
+		} finally {
+			lock.unlock();
 		}
-	return true;
 	}
 	
 	/**
@@ -134,23 +242,64 @@ public class CourseRoll {
 	 * @throws IllegalArgumentException if student is null
 	 */
 	public void drop(Student s) {
-		if (s == null) {
-			throw new IllegalArgumentException();
-		}
+		lock.lock();
+		try {
+			if (s == null) {
+				throw new IllegalArgumentException();
+			}
+		
+			if(roll.contains(s)) {
+				roll.remove(s);
+				openSeats.incrementAndGet();
+				promote();
+			} else if(waitlist.contains(s)) {
+				waitlist.remove(s);
+				waitlistCount = waitlist.size();
+			}
 		
-		if(roll.contains(s)) {
 			roll.remove(s);
-			for(int i = 0; i < getNumberOnWaitlist(); i++) {
-				if(this.canEnroll(waitlist.get(i))) {
-					waitlist.get(i).getSchedule().addCourseToSchedule(this.course);
-					roll.add(waitlist.remove(i));
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Moves students from the front of the waitlist onto the roll while open seats are
+	 * left. Must be called with the lock held.
+	 * @throws IllegalArgumentException if the course cannot be added to a promoted
+	 * student's schedule
+	 */
+	private void promote() {
+		for(int i = 0; i < waitlist.size(); i++) {
+			if(this.canEnroll(waitlist.get(i)) && reserveSeat()) {
+				try {
+					// Students waitlisted through RegistrationManager already have the course scheduled
+					if (!isScheduled(waitlist.get(i))) {
+						waitlist.get(i).getSchedule().addCourseToSchedule(this.course);
+					}
+				} catch (IllegalArgumentException e) {
+					openSeats.incrementAndGet();
+					throw e;
 				}
+				roll.add(waitlist.remove(i));
+				waitlistCount = waitlist.size();
+				i--;
 			}
-		} else if(waitlist.contains(s)) {
-			waitlist.remove(s);
 		}
-		
-		roll.remove(s);
+	}
+	
+	/**
+	 * Returns true if the Student's schedule already holds this roll's course.
+	 * @param s student to check
+	 * @return true if the course is in the student's schedule
+	 */
+	private boolean isScheduled(Student s) {
+		for (Course c : s.getSchedule().getCourses()) {
+			if (c == course) {
+				return true;
+			}
+		}
+		return false;
 	}
 	
 	/**
@@ -158,7 +307,120 @@ public class CourseRoll {
 	 * @return number of students on waitlist
 	 */
 	public int getNumberOnWaitlist() {
-		return this.waitlist.size();
+		lock.lock();
+		try {
+			return this.waitlist.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns the enrolled Students in the order they enrolled.
+	 * @return array of enrolled Students
+	 */
+	public Student[] getEnrolledStudents() {
+		lock.lock();
+		try {
+			Student[] students = new Student[roll.size()];
+			for (int i = 0; i < roll.size(); i++) {
+				students[i] = roll.get(i);
+			}
+			return students;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns the Students on the waitlist in waitlist order.
+	 * @return array of waitlisted Students
+	 */
+	public Student[] getWaitlistedStudents() {
+		lock.lock();
+		try {
+			Student[] students = new Student[waitlist.size()];
+			for (int i = 0; i < waitlist.size(); i++) {
+				students[i] = waitlist.get(i);
+			}
+			return students;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Replaces the roll and waitlist with the given Students, such as when restoring
+	 * a snapshot. The Students' schedules are not changed.
+	 * @param enrolled Students to enroll, in order
+	 * @param waitlisted Students to put on the waitlist, in order
+	 * @throws IllegalArgumentException if there are more enrolled Students than the
+	 * enrollment cap or more waitlisted Students than the waitlist holds
+	 */
+	public void restore(Student[] enrolled, Student[] waitlisted) {
+		lock.lock();
+		try {
+			replace(enrolled, waitlisted);
+			openSeats.set(enrollmentCap - enrolled.length);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Puts the roll and waitlist back to an earlier state returned by getEnrolledStudents
+	 * and getWaitlistedStudents, such as when changes made since then could not be
+	 * journaled. Unlike restore, seats claimed with reserveSeat in the meantime stay
+	 * claimed. No student is promoted and the Students' schedules are not changed.
+	 * @param enrolled Students that were enrolled, in order
+	 * @param waitlisted Students that were on the waitlist, in order
+	 * @throws IllegalArgumentException if there are more enrolled Students than the
+	 * enrollment cap or more waitlisted Students than the waitlist holds
+	 */
+	public void rollback(Student[] enrolled, Student[] waitlisted) {
+		lock.lock();
+		try {
+			int size = roll.size();
+			replace(enrolled, waitlisted);
+			openSeats.addAndGet(size - enrolled.length);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Replaces the roll and waitlist with the given Students without changing the open
+	 * seats. Must be called with the lock held.
+	 * @param enrolled Students to enroll, in order
+	 * @param waitlisted Students to put on the waitlist, in order
+	 * @throws IllegalArgumentException if there are more enrolled Students than the
+	 * enrollment cap or more waitlisted Students than the waitlist holds
+	 */
+	private void replace(Student[] enrolled, Student[] waitlisted) {
+		if (enrolled.length > enrollmentCap || waitlisted.length > WAITLIST_SIZE) {
+			throw new IllegalArgumentException();
+		}
+		LinkedAbstractList<Student> newRoll = new LinkedAbstractList<Student>(enrollmentCap, Student::getId);
+		for (Student s : enrolled) {
+			newRoll.add(s);
+		}
+		ArrayList<Student> newWaitlist = new ArrayList<Student>(Student::getId);
+		for (Student s : waitlisted) {
+			newWaitlist.add(s);
+		}
+		roll = newRoll;
+		waitlist = newWaitlist;
+		waitlistCount = waitlisted.length;
+	}
+	
+	/**
+	 * Returns the lock held while the roll is read or changed. Callers take it to make
+	 * several calls, such as canEnroll followed by enroll, without another thread
+	 * changing the roll in between.
+	 * @return the roll's lock
+	 */
+	public Lock getLock() {
+		return lock;
 	}
 	
 }
@@ -10,6 +10,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
 import edu.ncsu.csc216.pack_scheduler.io.FacultyRecordIO;
+import edu.ncsu.csc216.pack_scheduler.io.IncrementalRecordWriter;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.User;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
@@ -26,6 +27,10 @@ public class FacultyDirectory {
 	private static final String HASH_ALGORITHM = "SHA-256";
 	/** Doubly Linked List for storing faculty users */
 	private LinkedList<Faculty> facultyDirectory;
+	/** Index of the faculty in the directory by id */
+	private UserIndex<Faculty> facultyIndex;
+	/** Writer that saves the directory, rewriting only the faculty that changed */
+	private IncrementalRecordWriter writer = new IncrementalRecordWriter();
 	
 	/**
 	 * FacultyDirectory constructor
@@ -39,6 +44,7 @@ public class FacultyDirectory {
 	 */
 	public void newFacultyDirectory() {
 		facultyDirectory = new LinkedList<Faculty>();
+		facultyIndex = new UserIndex<Faculty>();
 	}
 	
 	/**
@@ -47,12 +53,34 @@ public class FacultyDirectory {
 	 */
 	public void loadFacultyFromFile(String fileName) {
 		try {
-			facultyDirectory = FacultyRecordIO.readFacultyRecords(fileName);
+			loadFaculty(FacultyRecordIO.readFacultyRecords(fileName));
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
 	}
 	
+	/**
+	 * Replaces the faculty in the directory with the given list, such as one
+	 * read from a snapshot.
+	 * @param faculty list of faculty to use as the directory
+	 */
+	public void loadFaculty(LinkedList<Faculty> faculty) {
+		facultyDirectory = faculty;
+		facultyIndex = new UserIndex<Faculty>();
+		for (Faculty f : facultyDirectory) {
+			facultyIndex.add(f);
+		}
+	}
+	
+	/**
+	 * Returns the list of faculty backing the directory, such as for writing a
+	 * snapshot. The list must not be modified.
+	 * @return list of faculty in the directory
+	 */
+	public LinkedList<Faculty> getFacultyList() {
+		return facultyDirectory;
+	}
+	
 	/**
 	 * Hashes a String according to the SHA-256 algorithm, and outputs the digest in base64 encoding.
 	 * This allows the encoded digest to be safely copied, as it only uses [a-zA-Z0-9+/=].
@@ -105,11 +133,8 @@ public class FacultyDirectory {
 			faculty = new Faculty(firstName, lastName, id, email, hashPW, maxCourses);
 		}
 		
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			User s = facultyDirectory.get(i);
-			if (s.getId().equals(faculty.getId())) {
-				return false;
-			}
+		if (!facultyIndex.add(faculty)) {
+			return false;
 		}
 		return facultyDirectory.add(faculty);
 	}
@@ -120,14 +145,11 @@ public class FacultyDirectory {
 	 * @return true if user is removed, false otherwise
 	 */
 	public boolean removeFaculty(String facultyId) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			User f = facultyDirectory.get(i);
-			if (f.getId().equals(facultyId)) {
-				facultyDirectory.remove(i);
-				return true;
-			}
+		Faculty f = facultyIndex.remove(facultyId);
+		if (f == null) {
+			return false;
 		}
-		return false;
+		return facultyDirectory.remove(f);
 	}
 	
 	/**
@@ -146,13 +168,14 @@ public class FacultyDirectory {
 	}
 	
 	/**
-	 * output faculty directory to file
+	 * output faculty directory to file, rewriting only from the first changed faculty
+	 * onward if the directory was last saved to the same file
 	 * @param outputName name of output file
 	 */
 	
 	public void saveFacultyDirectory(String outputName) {
 		try {
-			FacultyRecordIO.writeFacultyRecords(outputName, facultyDirectory);
+			writer.write(outputName, facultyDirectory);
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + outputName);
 		}
@@ -164,11 +187,6 @@ public class FacultyDirectory {
 	 * @return faculty user with given id
 	 */
 	public Faculty getFacultyById(String facultyId) {
-		for (int i = 0; i < facultyDirectory.size(); i++) {
-			if (facultyDirectory.get(i).getId().equals(facultyId)) {
-				return facultyDirectory.get(i);
-			}
-		}
-		return null;
+		return facultyIndex.get(facultyId);
 	}
 }
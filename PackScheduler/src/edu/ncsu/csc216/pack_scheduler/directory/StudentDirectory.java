@@ -7,10 +7,11 @@ import java.security.NoSuchAlgorithmException;
 
 import java.util.Base64;
 
+import edu.ncsu.csc216.pack_scheduler.io.IncrementalRecordWriter;
 import edu.ncsu.csc216.pack_scheduler.io.StudentRecordIO;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
 
 /**
  * Maintains a directory of all students enrolled at NC State.
@@ -21,6 +22,10 @@ public class StudentDirectory {
 	
 	/** List of students in the directory */
 	private SortedList<Student> studentDirectory;
+	/** Index of the students in the directory by id */
+	private UserIndex<Student> studentIndex;
+	/** Writer that saves the directory, rewriting only the students that changed */
+	private IncrementalRecordWriter writer = new IncrementalRecordWriter();
 	/** Hashing algorithm */
 	private static final String HASH_ALGORITHM = "SHA-256";
 	
@@ -37,6 +42,7 @@ public class StudentDirectory {
 	 */
 	public void newStudentDirectory() {
 		studentDirectory = new SortedList<Student>();
+		studentIndex = new UserIndex<Student>();
 	}
 	
 	/**
@@ -47,13 +53,48 @@ public class StudentDirectory {
 	 * @throws IllegalArgumentException if it is not able to read the file given
 	 */
 	public void loadStudentsFromFile(String fileName) {
+		loadStudentsFromFile(fileName, false);
+	}
+	
+	/**
+	 * Constructs the student directory by reading in student information
+	 * from the given file.  If parallel is true, the file is parsed in chunks
+	 * on the fork-join pool.  Throws an IllegalArgumentException if the 
+	 * file cannot be found.
+	 * @param fileName file containing list of students
+	 * @param parallel true to parse the file in parallel
+	 * @throws IllegalArgumentException if it is not able to read the file given
+	 */
+	public void loadStudentsFromFile(String fileName, boolean parallel) {
 		try {
-			studentDirectory = StudentRecordIO.readStudentRecords(fileName);
+			loadStudents(StudentRecordIO.readStudentRecords(fileName, parallel));
 		} catch (FileNotFoundException e) {
 			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
 	}
 	
+	/**
+	 * Replaces the students in the directory with the given list, such as one
+	 * read from a snapshot.
+	 * @param students list of students to use as the directory
+	 */
+	public void loadStudents(SortedList<Student> students) {
+		studentDirectory = students;
+		studentIndex = new UserIndex<Student>();
+		for (int i = 0; i < studentDirectory.size(); i++) {
+			studentIndex.add(studentDirectory.get(i));
+		}
+	}
+	
+	/**
+	 * Returns the list of students backing the directory, such as for writing a
+	 * snapshot. The list must not be modified.
+	 * @return list of students in the directory
+	 */
+	public SortedList<Student> getStudentList() {
+		return studentDirectory;
+	}
+	
 	/**
 	 * Adds a Student to the directory.  Returns true if the student is added and false if
 	 * the student is unable to be added because their id matches another student's id.
@@ -94,11 +135,8 @@ public class StudentDirectory {
 			student = new Student(firstName, lastName, id, email, hashPW, maxCredits);
 		}
 		
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			User s = studentDirectory.get(i);
-			if (s.getId().equals(student.getId())) {
-				return false;
-			}
+		if (!studentIndex.add(student)) {
+			return false;
 		}
 		return studentDirectory.add(student);
 	}
@@ -128,14 +166,12 @@ public class StudentDirectory {
 	 * @return true if removed
 	 */
 	public boolean removeStudent(String studentId) {
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			User s = studentDirectory.get(i);
-			if (s.getId().equals(studentId)) {
-				studentDirectory.remove(i);
-				return true;
-			}
+		Student s = studentIndex.remove(studentId);
+		if (s == null) {
+			return false;
 		}
-		return false;
+		studentDirectory.remove(studentDirectory.indexOf(s));
+		return true;
 	}
 	
 	/**
@@ -154,13 +190,15 @@ public class StudentDirectory {
 	}
 	
 	/**
-	 * Saves all students in the directory to a file.
+	 * Saves all students in the directory to a file.  If the directory was last saved to
+	 * the same file, only the part of the file from the first changed student onward is
+	 * rewritten.
 	 * @param fileName name of file to save students to.
 	 * @throws IllegalArgumentException if unable to save the file
 	 */
 	public void saveStudentDirectory(String fileName) {
 		try {
-			StudentRecordIO.writeStudentRecords(fileName, studentDirectory);
+			writer.write(fileName, studentDirectory);
 		} catch (IOException e) {
 			throw new IllegalArgumentException("Unable to write to file " + fileName);
 		}
@@ -172,12 +210,7 @@ public class StudentDirectory {
 	 * @return student with same id
 	 */
 	public Student getStudentById(String id) {
-		for (int i = 0; i < studentDirectory.size(); i++) {
-			if (studentDirectory.get(i).getId().equals(id)) {
-				return studentDirectory.get(i);
-			}
-		}
-		return null;
+		return studentIndex.get(id);
 	}
 	
 
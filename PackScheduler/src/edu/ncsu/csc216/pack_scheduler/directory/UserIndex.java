@@ -0,0 +1,76 @@
+package edu.ncsu.csc216.pack_scheduler.directory;
+
+import java.util.HashMap;
+
+import edu.ncsu.csc216.pack_scheduler.user.User;
+
+/**
+ * Index of Users keyed by id. Used by StudentDirectory and FacultyDirectory so that
+ * looking up a user by id, such as when a user logs in, takes a single hash lookup
+ * instead of a walk over the directory's list. The first user indexed under an id
+ * is kept until it is removed.
+ * @param <U> type of User held in the index
+ */
+public class UserIndex<U extends User> {
+
+	/** Users keyed by their id */
+	private HashMap<String, U> users;
+
+	/**
+	 * Creates an empty index.
+	 */
+	public UserIndex() {
+		clear();
+	}
+
+	/**
+	 * Removes all users from the index.
+	 */
+	public void clear() {
+		users = new HashMap<String, U>();
+	}
+
+	/**
+	 * Adds a user to the index if no user with the same id is already indexed.
+	 * @param user user to add
+	 * @return true if the user was added, false if the id is already taken
+	 */
+	public boolean add(U user) {
+		return users.putIfAbsent(user.getId(), user) == null;
+	}
+
+	/**
+	 * Returns the user with the given id.
+	 * @param id id of the user
+	 * @return the user with the given id, or null if there is none
+	 */
+	public U get(String id) {
+		return users.get(id);
+	}
+
+	/**
+	 * Returns true if a user with the given id is indexed.
+	 * @param id id of the user
+	 * @return true if a user with the id is indexed
+	 */
+	public boolean contains(String id) {
+		return users.containsKey(id);
+	}
+
+	/**
+	 * Removes the user with the given id from the index.
+	 * @param id id of the user to remove
+	 * @return the removed user, or null if there was none
+	 */
+	public U remove(String id) {
+		return users.remove(id);
+	}
+
+	/**
+	 * Returns the number of users in the index.
+	 * @return number of indexed users
+	 */
+	public int size() {
+		return users.size();
+	}
+}
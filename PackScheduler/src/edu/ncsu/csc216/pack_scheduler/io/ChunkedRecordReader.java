@@ -0,0 +1,202 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+
+/**
+ * Reads a record file in parallel. The file is split into chunks that each end on a
+ * line boundary, and the chunks are parsed on the common fork-join pool. The records
+ * of all chunks are returned in the order they appear in the file, so callers can apply
+ * the same first-occurrence rules as a sequential read.
+ */
+class ChunkedRecordReader {
+
+	/** Default number of bytes in a chunk */
+	static final int CHUNK_SIZE = 1 << 23;
+	/** Number of bytes read at a time while looking for the end of a line */
+	private static final int SCAN_SIZE = 1 << 12;
+
+	/**
+	 * Reads every valid record of a file using chunks of the default size.
+	 * @param <T> type of object a record is parsed into
+	 * @param fileName file to read records from
+	 * @param parser parses the current record of a tokenizer, throwing an
+	 * IllegalArgumentException if the record is invalid
+	 * @return the valid records in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	static <T> ArrayList<T> readRecords(String fileName, Function<RecordTokenizer, T> parser) throws FileNotFoundException {
+		return readRecords(fileName, parser, CHUNK_SIZE);
+	}
+
+	/**
+	 * Reads every valid record of a file using chunks of about the given size.
+	 * @param <T> type of object a record is parsed into
+	 * @param fileName file to read records from
+	 * @param parser parses the current record of a tokenizer, throwing an
+	 * IllegalArgumentException if the record is invalid
+	 * @param chunkSize number of bytes to put in a chunk before looking for the end of a line
+	 * @return the valid records in file order
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	static <T> ArrayList<T> readRecords(String fileName, Function<RecordTokenizer, T> parser, int chunkSize) throws FileNotFoundException {
+		FileInputStream in = new FileInputStream(fileName);
+		try (FileChannel channel = in.getChannel()) {
+			long[] bounds = chunkBounds(channel, chunkSize);
+			return ForkJoinPool.commonPool().invoke(new ChunkTask<T>(channel, bounds, 0, bounds.length - 1, parser));
+		} catch (IOException | UncheckedIOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+
+	/**
+	 * Returns the offsets the chunks of a file start at, followed by the size of the file.
+	 * Every chunk other than the last ends just after a '\n'.
+	 * @param channel channel of the file to split
+	 * @param chunkSize number of bytes to put in a chunk before looking for the end of a line
+	 * @return chunk start offsets followed by the file size
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long[] chunkBounds(FileChannel channel, int chunkSize) throws IOException {
+		long size = channel.size();
+		ArrayList<Long> bounds = new ArrayList<Long>();
+		ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+		long start = 0;
+		while (start < size) {
+			bounds.add(start);
+			long end = start + chunkSize;
+			while (end < size) {
+				scan.clear();
+				int read = channel.read(scan, end);
+				if (read < 0) {
+					end = size;
+					break;
+				}
+				int i = 0;
+				while (i < read && scan.get(i) != '\n') {
+					i++;
+				}
+				end += i;
+				if (i < read) {
+					end++;
+					break;
+				}
+			}
+			start = Math.min(end, size);
+		}
+		long[] result = new long[bounds.size() + 1];
+		for (int i = 0; i < bounds.size(); i++) {
+			result[i] = bounds.get(i);
+		}
+		result[bounds.size()] = size;
+		return result;
+	}
+
+	/**
+	 * Sorts the given elements once and loads them into a SortedList in linear time.
+	 * Elements that compare as equal keep their relative order, matching the order adding
+	 * them one at a time would give.
+	 * @param <E> type of element
+	 * @param elements elements to sort, which must not contain two equal elements
+	 * @return a SortedList of the elements
+	 * @throws IllegalArgumentException if two elements are equal
+	 */
+	static <E extends Comparable<E>> SortedList<E> toSortedList(List<E> elements) {
+		Collections.sort(elements);
+		return SortedList.fromSorted(elements);
+	}
+	
+	/**
+	 * Parses a range of chunks, splitting the range in half until a single chunk remains.
+	 * @param <T> type of object a record is parsed into
+	 */
+	private static class ChunkTask<T> extends RecursiveTask<ArrayList<T>> {
+
+		/** Serial version UID */
+		private static final long serialVersionUID = 1L;
+		/** Channel of the file being read */
+		private final FileChannel channel;
+		/** Chunk start offsets followed by the file size */
+		private final long[] bounds;
+		/** Index of the first chunk in the range */
+		private final int from;
+		/** Index one past the last chunk in the range */
+		private final int to;
+		/** Parser for a single record */
+		private final Function<RecordTokenizer, T> parser;
+
+		/**
+		 * Creates a task parsing the chunks from index from up to but not including index to.
+		 * @param channel channel of the file being read
+		 * @param bounds chunk start offsets followed by the file size
+		 * @param from index of the first chunk
+		 * @param to index one past the last chunk
+		 * @param parser parser for a single record
+		 */
+		ChunkTask(FileChannel channel, long[] bounds, int from, int to, Function<RecordTokenizer, T> parser) {
+			this.channel = channel;
+			this.bounds = bounds;
+			this.from = from;
+			this.to = to;
+			this.parser = parser;
+		}
+
+		@Override
+		protected ArrayList<T> compute() {
+			if (to - from <= 1) {
+				return from == to ? new ArrayList<T>() : parseChunk(bounds[from], bounds[from + 1]);
+			}
+			int mid = (from + to) >>> 1;
+			ChunkTask<T> left = new ChunkTask<T>(channel, bounds, from, mid, parser);
+			ChunkTask<T> right = new ChunkTask<T>(channel, bounds, mid, to, parser);
+			right.fork();
+			ArrayList<T> records = left.compute();
+			records.addAll(right.join());
+			return records;
+		}
+
+		/**
+		 * Parses the records in the bytes from start up to but not including end.
+		 * @param start offset of the first byte of the chunk
+		 * @param end offset one past the last byte of the chunk
+		 * @return the valid records of the chunk in order
+		 */
+		private ArrayList<T> parseChunk(long start, long end) {
+			ArrayList<T> records = new ArrayList<T>();
+			ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+			try {
+				while (bytes.hasRemaining()) {
+					if (channel.read(bytes, start + bytes.position()) < 0) {
+						break;
+					}
+				}
+				RecordTokenizer tokens = new ReaderRecordTokenizer(new ByteArrayInputStream(bytes.array(), 0, bytes.position()));
+				while (tokens.nextRecord()) {
+					try {
+						records.add(parser.apply(tokens));
+					} catch (IllegalArgumentException e) {
+						// Invalid line, skip it.
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return records;
+		}
+	}
+}
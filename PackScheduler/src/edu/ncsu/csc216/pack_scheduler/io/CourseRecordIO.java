@@ -1,16 +1,18 @@
 package edu.ncsu.csc216.pack_scheduler.io;
+import java.io.BufferedOutputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
-import java.util.Scanner;
 import java.io.FileInputStream;
-import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
 
 /**
  * Reads Course records from text files.  Writes a set of CourseRecords to a file.
@@ -22,104 +24,152 @@ public class CourseRecordIO {
 	/**
      * Reads course records from a file and generates a list of valid Courses.  Any invalid
      * Courses are ignored.  If the file to read cannot be found or the permissions are incorrect
-     * a File NotFoundException is thrown.
+     * a File NotFoundException is thrown.  Courses are assigned to the instructors listed in
+     * the file using the RegistrationManager's FacultyDirectory.
      * @param fileName file to read Course records from
      * @return a list of valid Courses
      * @throws FileNotFoundException if the file cannot be found or read
      */
 	public static SortedList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
-	    SortedList<Course> courses = new SortedList<Course>(); //Create an empty array of Course objects
-	    while (fileReader.hasNextLine()) { //While we have more lines in the file
-	        try { //Attempt to do the following
-	            //Read the line, process it in readCourse, and get the object
-	            //If trying to construct a Course in readCourse() results in an exception, flow of control will transfer to the catch block, below
-	            Course course = readCourse(fileReader.nextLine()); 
-
-	            //Create a flag to see if the newly created Course is a duplicate of something already in the list  
-	            boolean duplicate = false;
-	            //Look at all the courses in our list
-	            for (int i = 0; i < courses.size(); i++) {
-	                //Get the course at index i
-	                Course current = courses.get(i);
-	                //Check if the name and section are the same
-	                if (course.getName().equals(current.getName()) &&
-	                        course.getSection().equals(current.getSection())) {
-	                    //It's a duplicate!
-	                    duplicate = true;
-	                    break; //We can break out of the loop, no need to continue searching
-	                }
-	            }
-	            //If the course is NOT a duplicate
-	            if (!duplicate) {
-	                courses.add(course); //Add to the ArrayList!
-	            } //Otherwise ignore
-	        } catch (IllegalArgumentException e) {
-	            //The line is invalid b/c we couldn't create a course, skip it!
-	        }
-	    }
-	    //Close the Scanner b/c we're responsible with our file handles
-	    fileReader.close();
-	    //Return the ArrayList with all the courses we read!
-	    return courses;
+		return readCourseRecords(fileName, RegistrationManager.getInstance().getFacultyDirectory());
+	}
+	
+	/**
+	 * Reads course records from a file and generates a list of valid Courses.  All lines are
+	 * parsed first, then the instructor ids of the parsed courses are resolved in file order
+	 * against the given FacultyDirectory and each course is added to its instructor's schedule.
+	 * A course that cannot be added to its instructor's schedule is ignored like any other
+	 * invalid line, and only the first course with a given name and section is kept.
+	 * @param fileName file to read Course records from
+	 * @param facultyDirectory directory used to resolve instructor ids, or null to read the
+	 * courses without assigning instructors
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, FacultyDirectory facultyDirectory) throws FileNotFoundException {
+		return readCourseRecords(fileName, facultyDirectory, false);
+	}
+	
+	/**
+	 * Reads course records from a file and generates a list of valid Courses in the same way as
+	 * readCourseRecords(String, FacultyDirectory).  If parallel is true, the file is split into
+	 * line-aligned chunks that are parsed on the fork-join pool.  Instructors are still resolved
+	 * in file order, so the result and the instructors' schedules are the same either way.
+	 * @param fileName file to read Course records from
+	 * @param facultyDirectory directory used to resolve instructor ids, or null to read the
+	 * courses without assigning instructors
+	 * @param parallel true to parse the file in parallel chunks
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, FacultyDirectory facultyDirectory, boolean parallel) throws FileNotFoundException {
+		ArrayList<CourseRecord> records = parallel ? ChunkedRecordReader.readRecords(fileName, CourseRecordIO::readCourse)
+				: parseCourseRecords(new ReaderRecordTokenizer(new FileInputStream(fileName)), fileName);
+		return resolveCourseRecords(records, facultyDirectory);
+	}
+	
+	/**
+	 * Reads every record of the given tokenizer and generates a list of valid Courses in the
+	 * same way as readCourseRecords(String, FacultyDirectory), closing the tokenizer when done.
+	 * @param tokens tokenizer to read Course records from
+	 * @param fileName name of the file being read
+	 * @param facultyDirectory directory used to resolve instructor ids, or null to read the
+	 * courses without assigning instructors
+	 * @return a list of valid Courses
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	static SortedList<Course> readCourseRecords(RecordTokenizer tokens, String fileName, FacultyDirectory facultyDirectory) {
+		return resolveCourseRecords(parseCourseRecords(tokens, fileName), facultyDirectory);
+	}
+	
+	/**
+	 * Parses every record of the given tokenizer into a CourseRecord without assigning
+	 * instructors, closing the tokenizer when done. Invalid lines are skipped.
+	 * @param tokens tokenizer to read Course records from
+	 * @param fileName name of the file being read
+	 * @return the parsed records in file order
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	private static ArrayList<CourseRecord> parseCourseRecords(RecordTokenizer tokens, String fileName) {
+		ArrayList<CourseRecord> records = new ArrayList<CourseRecord>();
+		try (tokens) {
+			while (tokens.nextRecord()) {
+				try {
+					records.add(readCourse(tokens));
+				} catch (IllegalArgumentException e) {
+					//The line is invalid b/c we couldn't create a course, skip it!
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		return records;
 	}
 	
 	/**
-	 * Reads through the passed in String and creates a new Course object based
-	 * on the details found in the String. If there are unnecessary tokens found
-	 * in the String, an IllegalArgumentException will be thrown. If any exceptions
-	 * are thrown while reading through the String, it will be caught and a IllegalArgumentException
+	 * Assigns parsed courses to their instructors in file order and collects the courses
+	 * into a sorted list, skipping courses that cannot be assigned and duplicate courses.
+	 * @param records parsed course records in file order
+	 * @param facultyDirectory directory used to resolve instructor ids, or null to skip assignment
+	 * @return a list of valid Courses
+	 */
+	private static SortedList<Course> resolveCourseRecords(ArrayList<CourseRecord> records, FacultyDirectory facultyDirectory) {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		HashSet<String> seen = new HashSet<String>();
+		for (CourseRecord record : records) {
+			Course course = record.course;
+			Faculty faculty = facultyDirectory == null ? null : facultyDirectory.getFacultyById(record.instructorId);
+			try {
+				if (faculty != null) {
+					faculty.getSchedule().addCourseToSchedule(course);
+				}
+			} catch (IllegalArgumentException e) {
+				//The course conflicts with its instructor's schedule, skip it!
+				continue;
+			}
+			//Only the first course with a name and section is kept
+			if (seen.add(course.getName() + "-" + course.getSection())) {
+				courses.add(course);
+			}
+		}
+		return ChunkedRecordReader.toSortedList(courses);
+	}
+	
+	/**
+	 * Reads through the current record of the tokenizer and creates a new CourseRecord based
+	 * on the details found in the record. If there are unnecessary tokens found
+	 * in the record, an IllegalArgumentException will be thrown. If any exceptions
+	 * are thrown while reading through the record, it will be caught and a IllegalArgumentException
 	 * will be thrown.
-	 * @param line a line separated by commas containing details of the Course
+	 * @param tokens tokenizer positioned at a record separated by commas containing details of the Course
 	 * @throws IllegalArgumentException if a line is invalid
-	 * @return Course a new Course object that contains all details found in line
+	 * @return CourseRecord a new Course object that contains all details found in the record, along
+	 * with the id of its instructor
 	 */
-	private static Course readCourse(String line) {
-		Scanner scanner = new Scanner(line);
-		scanner.useDelimiter(",");
+	private static CourseRecord readCourse(RecordTokenizer tokens) {
 		try {
-			String name = scanner.next();
-			String title = scanner.next();
-			String section = scanner.next();
-			int creditHours = Integer.parseInt(scanner.next());
-			String instructor = scanner.next();
-			int enrollmentCap = Integer.parseInt(scanner.next());
-			String meetingDay = scanner.next();
-			
-			RegistrationManager manager = RegistrationManager.getInstance();
-			FacultyDirectory directory = manager.getFacultyDirectory();
-			Faculty faculty = directory.getFacultyById(instructor);
+			String name = tokens.nextField();
+			String title = tokens.nextField();
+			String section = tokens.nextField();
+			int creditHours = tokens.nextInt();
+			String instructor = tokens.nextField();
+			int enrollmentCap = tokens.nextInt();
+			String meetingDay = tokens.nextField();
 
 			if ("A".equals(meetingDay)) {
-				if (scanner.hasNext()) {
-					scanner.close();
+				if (tokens.hasNextField()) {
 					throw new IllegalArgumentException("Invalid line.");
-				} else {
-					scanner.close();
-					Course course = new Course(name, title, section, creditHours, null, enrollmentCap, meetingDay);
-					if (faculty != null) {
-						faculty.getSchedule().addCourseToSchedule(course);
-					}
-					return course;
 				}
+				return new CourseRecord(new Course(name, title, section, creditHours, null, enrollmentCap, meetingDay), instructor);
 			} else {
-				int startTime = Integer.parseInt(scanner.next());
-				int endTime = Integer.parseInt(scanner.next());
-				if (scanner.hasNext()) {
-					scanner.close();
+				int startTime = tokens.nextInt();
+				int endTime = tokens.nextInt();
+				if (tokens.hasNextField()) {
 					throw new IllegalArgumentException("Invalid line.");
 				}
-				Course course = new Course(name, title, section, creditHours, null, enrollmentCap, meetingDay, startTime, endTime);
-				if (faculty != null) {
-					faculty.getSchedule().addCourseToSchedule(course);
-					scanner.close();
-				}
-				scanner.close();
-				return course;
-
+				return new CourseRecord(new Course(name, title, section, creditHours, null, enrollmentCap, meetingDay, startTime, endTime), instructor);
 			}	
 		} catch (Exception e){
-			scanner.close();
 			throw new IllegalArgumentException("Invalid line.");
 		}
 	}
@@ -131,7 +181,7 @@ public class CourseRecordIO {
      * @throws IOException if cannot write to file
      */
 	public static void writeCourseRecords(String fileName, SortedList<Course> courses) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+		PrintStream fileWriter = new PrintStream(new BufferedOutputStream(new FileOutputStream(fileName)));
 
 		for (int i = 0; i < courses.size(); i++) {
 		    fileWriter.println(courses.get(i).toString());
@@ -140,5 +190,25 @@ public class CourseRecordIO {
 		fileWriter.close();
 		
 	}
+	
+	/**
+	 * A Course read from a file along with the id of the instructor listed for it.
+	 */
+	private static class CourseRecord {
+		/** Course read from the file */
+		private Course course;
+		/** Instructor id listed for the course */
+		private String instructorId;
+		
+		/**
+		 * Creates a record for a parsed course.
+		 * @param course course read from the file
+		 * @param instructorId instructor id listed for the course
+		 */
+		public CourseRecord(Course course, String instructorId) {
+			this.course = course;
+			this.instructorId = instructorId;
+		}
+	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,408 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the changes made to course rolls and schedules between
+ * snapshots. Each change is written as a record holding a sequence number, the type
+ * of change, the id of the user it applies to, and the course it applies to. Records
+ * are framed with their length and a CRC32 checksum, so a record torn by a crash is
+ * detected and dropped when the journal is opened again.
+ *
+ * Appending is split into log, which buffers a record in memory, and sync, which waits
+ * until the record is on disk. The first thread to sync writes every buffered record
+ * and forces the file once for all of them, while other threads wait for that write
+ * instead of forcing the file themselves.
+ */
+public class EnrollmentJournal implements Closeable {
+
+	/** A student enrolled in a course */
+	public static final byte ENROLL = 1;
+	/** A student dropped a course */
+	public static final byte DROP = 2;
+	/** A student's schedule was reset */
+	public static final byte RESET = 3;
+	/** A faculty member was assigned to a course */
+	public static final byte ASSIGN_FACULTY = 4;
+	/** A faculty member was removed from a course */
+	public static final byte REMOVE_FACULTY = 5;
+	/** A faculty member's schedule was reset */
+	public static final byte RESET_FACULTY = 6;
+
+	/** Bytes in a record header, the payload length followed by its checksum */
+	private static final int HEADER_SIZE = 8;
+	/** Largest payload a record may have */
+	private static final int MAX_PAYLOAD = 1 << 16;
+
+	/** Name of the journal file */
+	private final String fileName;
+	/** Channel records are appended to */
+	private final FileChannel channel;
+	/** Entries read from the file when it was opened */
+	private final ArrayList<Entry> entries = new ArrayList<Entry>();
+	/** Lock guarding the fields below */
+	private final Object lock = new Object();
+	/** Records logged but not yet written */
+	private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+	/** Sequence number of the last record logged */
+	private long lastSequence;
+	/** Sequence number of the last record known to be on disk */
+	private long durableSequence;
+	/** True while a thread is writing and forcing a batch */
+	private boolean flushing;
+	/** Error from the last failed write, after which the journal cannot be used */
+	private IOException failure;
+	/** True once the journal is closed */
+	private boolean closed;
+
+	/**
+	 * Opens a journal, creating the file if it does not exist. The valid entries already
+	 * in the file are read and made available through getEntries. If the file ends in a
+	 * torn or corrupt record, it is truncated to the last valid record.
+	 * @param fileName journal file
+	 * @param lastSequence sequence number new records must follow, such as the sequence
+	 * number stored in the last snapshot
+	 * @throws IOException if the file cannot be read or opened
+	 */
+	public EnrollmentJournal(String fileName, long lastSequence) throws IOException {
+		this.fileName = fileName;
+		Path path = Paths.get(fileName);
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			long valid = readEntries(Files.readAllBytes(path));
+			if (valid < channel.size()) {
+				channel.truncate(valid);
+				channel.force(false);
+			}
+			channel.position(valid);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		this.lastSequence = lastSequence;
+		for (Entry entry : entries) {
+			this.lastSequence = Math.max(this.lastSequence, entry.sequence);
+		}
+		this.durableSequence = this.lastSequence;
+	}
+
+	/**
+	 * Reads the valid records at the start of the given file contents into entries.
+	 * @param bytes contents of the journal file
+	 * @return number of bytes taken up by valid records
+	 */
+	private long readEntries(byte[] bytes) {
+		ByteBuffer buf = ByteBuffer.wrap(bytes);
+		CRC32 crc = new CRC32();
+		while (buf.remaining() >= HEADER_SIZE) {
+			int start = buf.position();
+			int length = buf.getInt();
+			int checksum = buf.getInt();
+			if (length < 0 || length > MAX_PAYLOAD || length > buf.remaining()) {
+				return start;
+			}
+			crc.reset();
+			crc.update(bytes, buf.position(), length);
+			if ((int) crc.getValue() != checksum) {
+				return start;
+			}
+			try {
+				DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, buf.position(), length));
+				entries.add(new Entry(in.readLong(), in.readByte(), in.readUTF(), readNullable(in), readNullable(in)));
+			} catch (IOException e) {
+				return start;
+			}
+			buf.position(buf.position() + length);
+		}
+		return buf.position();
+	}
+
+	/**
+	 * Returns the entries that were in the file when the journal was opened, in the
+	 * order they were logged.
+	 * @return entries read from the file
+	 */
+	public ArrayList<Entry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Returns the sequence number of the last record logged.
+	 * @return last sequence number
+	 */
+	public long getLastSequence() {
+		synchronized (lock) {
+			return lastSequence;
+		}
+	}
+
+	/**
+	 * Logs a record and waits until it is on disk.
+	 * @param type type of change
+	 * @param userId id of the student or faculty member the change applies to
+	 * @param name name of the course, or null
+	 * @param section section of the course, or null
+	 * @return sequence number of the record
+	 * @throws IOException if the record cannot be written
+	 */
+	public long append(byte type, String userId, String name, String section) throws IOException {
+		long sequence = log(type, userId, name, section);
+		sync(sequence);
+		return sequence;
+	}
+
+	/**
+	 * Buffers a record without waiting for it to be written. Records are written in the
+	 * order they are logged.
+	 * @param type type of change
+	 * @param userId id of the student or faculty member the change applies to
+	 * @param name name of the course, or null
+	 * @param section section of the course, or null
+	 * @return sequence number of the record
+	 * @throws IOException if the journal is closed or a previous write failed
+	 */
+	public long log(byte type, String userId, String name, String section) throws IOException {
+		synchronized (lock) {
+			checkOpen();
+			long sequence = lastSequence + 1;
+			ByteArrayOutputStream payload = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(payload);
+			out.writeLong(sequence);
+			out.writeByte(type);
+			out.writeUTF(userId);
+			writeNullable(out, name);
+			writeNullable(out, section);
+			byte[] bytes = payload.toByteArray();
+			CRC32 crc = new CRC32();
+			crc.update(bytes);
+			DataOutputStream record = new DataOutputStream(pending);
+			record.writeInt(bytes.length);
+			record.writeInt((int) crc.getValue());
+			record.write(bytes);
+			lastSequence = sequence;
+			return sequence;
+		}
+	}
+
+	/**
+	 * Waits until the record with the given sequence number, and every record before
+	 * it, is on disk. If no other thread is writing, this thread writes and forces every
+	 * buffered record in one batch.
+	 * @param sequence sequence number to wait for
+	 * @throws IOException if the records cannot be written
+	 */
+	public void sync(long sequence) throws IOException {
+		byte[] batch;
+		long batchEnd;
+		synchronized (lock) {
+			while (true) {
+				// Records already on disk stay there even if a later write failed
+				if (durableSequence >= sequence) {
+					return;
+				}
+				if (failure != null) {
+					throw new IOException("Unable to write to file " + fileName, failure);
+				}
+				if (!flushing) {
+					break;
+				}
+				try {
+					lock.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted waiting for " + fileName);
+				}
+			}
+			checkOpen();
+			flushing = true;
+			batch = pending.toByteArray();
+			batchEnd = lastSequence;
+			pending = new ByteArrayOutputStream();
+		}
+		IOException error = null;
+		try {
+			ByteBuffer buf = ByteBuffer.wrap(batch);
+			while (buf.hasRemaining()) {
+				channel.write(buf);
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			error = e;
+		}
+		synchronized (lock) {
+			flushing = false;
+			if (error == null) {
+				durableSequence = batchEnd;
+			} else {
+				failure = error;
+			}
+			lock.notifyAll();
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+	/**
+	 * Empties the journal file if every record in it has a sequence number of at most
+	 * throughSequence, such as after a snapshot holding those changes has been written.
+	 * Otherwise the file is left as is, since replay skips the records a snapshot holds.
+	 * @param throughSequence sequence number of the last record the snapshot holds
+	 * @throws IOException if the file cannot be truncated
+	 */
+	public void truncate(long throughSequence) throws IOException {
+		synchronized (lock) {
+			checkOpen();
+			if (flushing || pending.size() > 0 || durableSequence != throughSequence) {
+				return;
+			}
+			channel.truncate(0);
+			channel.force(false);
+			channel.position(0);
+		}
+	}
+
+	/**
+	 * Writes any buffered records and closes the journal.
+	 * @throws IOException if the records cannot be written or the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		boolean flush;
+		synchronized (lock) {
+			flush = !closed && failure == null;
+		}
+		try {
+			if (flush) {
+				sync(getLastSequence());
+			}
+		} finally {
+			synchronized (lock) {
+				closed = true;
+			}
+			channel.close();
+		}
+	}
+
+	/**
+	 * Throws an IOException if the journal can no longer be written.
+	 * @throws IOException if the journal is closed or a previous write failed
+	 */
+	private void checkOpen() throws IOException {
+		if (closed) {
+			throw new IOException("Journal " + fileName + " is closed");
+		}
+		if (failure != null) {
+			throw new IOException("Unable to write to file " + fileName, failure);
+		}
+	}
+
+	/**
+	 * Writes a String that may be null.
+	 * @param out stream to write to
+	 * @param value String to write
+	 * @throws IOException if the stream cannot be written
+	 */
+	private static void writeNullable(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	/**
+	 * Reads a String written by writeNullable.
+	 * @param in stream to read from
+	 * @return the String, or null
+	 * @throws IOException if the stream cannot be read
+	 */
+	private static String readNullable(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	/**
+	 * A change read back from the journal.
+	 */
+	public static class Entry {
+		/** Sequence number of the change */
+		private final long sequence;
+		/** Type of change */
+		private final byte type;
+		/** Id of the student or faculty member the change applies to */
+		private final String userId;
+		/** Name of the course, or null */
+		private final String name;
+		/** Section of the course, or null */
+		private final String section;
+
+		/**
+		 * Creates an entry.
+		 * @param sequence sequence number of the change
+		 * @param type type of change
+		 * @param userId id of the user the change applies to
+		 * @param name name of the course, or null
+		 * @param section section of the course, or null
+		 */
+		Entry(long sequence, byte type, String userId, String name, String section) {
+			this.sequence = sequence;
+			this.type = type;
+			this.userId = userId;
+			this.name = name;
+			this.section = section;
+		}
+
+		/**
+		 * Returns the sequence number of the change.
+		 * @return the sequence number
+		 */
+		public long getSequence() {
+			return sequence;
+		}
+
+		/**
+		 * Returns the type of change.
+		 * @return the type
+		 */
+		public byte getType() {
+			return type;
+		}
+
+		/**
+		 * Returns the id of the user the change applies to.
+		 * @return the user id
+		 */
+		public String getUserId() {
+			return userId;
+		}
+
+		/**
+		 * Returns the name of the course the change applies to.
+		 * @return the course name, or null
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Returns the section of the course the change applies to.
+		 * @return the course section, or null
+		 */
+		public String getSection() {
+			return section;
+		}
+	}
+}
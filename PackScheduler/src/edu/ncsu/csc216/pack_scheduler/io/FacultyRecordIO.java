@@ -1,11 +1,11 @@
 package edu.ncsu.csc216.pack_scheduler.io;
 
-import java.io.File;
+import java.io.BufferedOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
-import java.util.Scanner;
 
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
@@ -23,42 +23,52 @@ public class FacultyRecordIO {
 	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static LinkedList<Faculty> readFacultyRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));
+		return readFacultyRecords(new ReaderRecordTokenizer(new FileInputStream(fileName)), fileName);
+	}
+	
+	/**
+	 * Reads every record of the given tokenizer and generates a list of valid Faculty,
+	 * closing the tokenizer when done.
+	 * @param tokens tokenizer to read Faculty records from
+	 * @param fileName name of the file being read
+	 * @return a list of valid Faculty
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	static LinkedList<Faculty> readFacultyRecords(RecordTokenizer tokens, String fileName) {
 		LinkedList<Faculty> records = new LinkedList<Faculty>();
-		while (fileReader.hasNextLine()) {
-			try {
-				Faculty faculty = processFaculty(fileReader.nextLine());
-				records.add(faculty);
-			} catch (IllegalArgumentException IAE) {
-				// Invalid line, skip it.
+		try (tokens) {
+			while (tokens.nextRecord()) {
+				try {
+					Faculty faculty = processFaculty(tokens);
+					records.add(faculty);
+				} catch (IllegalArgumentException IAE) {
+					// Invalid line, skip it.
+				}
 			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
-		fileReader.close();
 		return records;
 	}
 	
 	/**
-	 * Reads a line from a file to gather information about a Faculty and return it.
-	 * Throws an IllegalArgumentException if a line in the file is invalid.
-	 * @param line a line separated by commas containing details of the Faculty
-	 * @return Faculty a new Faculty object that contains all details found in line
-	 * @throws IllegalArgumentException if the line is invalid
+	 * Reads the current record of the tokenizer to gather information about a Faculty and return it.
+	 * Throws an IllegalArgumentException if the record is invalid.
+	 * @param tokens tokenizer positioned at a record containing details of the Faculty
+	 * @return Faculty a new Faculty object that contains all details found in the record
+	 * @throws IllegalArgumentException if the record is invalid
 	 */
-	private static Faculty processFaculty(String line) {
-		Scanner scanner = new Scanner(line);
-		scanner.useDelimiter(",");
+	private static Faculty processFaculty(RecordTokenizer tokens) {
 		try {
-			String firstName = scanner.next();
-			String lastName = scanner.next();
-			String id = scanner.next();
-			String email = scanner.next();
-			String password = scanner.next();
-			int maxCourses = Integer.parseInt(scanner.next());    
-			scanner.close();
+			String firstName = tokens.nextField();
+			String lastName = tokens.nextField();
+			String id = tokens.nextField();
+			String email = tokens.nextField();
+			String password = tokens.nextField();
+			int maxCourses = tokens.nextInt();
 			return new Faculty(firstName, lastName, id, email, password, maxCourses);
 			
 		} catch (Exception e) {
-			scanner.close();
 			throw new IllegalArgumentException("Invalid line.");
 		}
 	}
@@ -70,7 +80,7 @@ public class FacultyRecordIO {
 	 * @throws IOException if unable to write to file
 	 */
 	public static void writeFacultyRecords(String fileName, LinkedList<Faculty> facultyDirectory) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+		PrintStream fileWriter = new PrintStream(new BufferedOutputStream(new FileOutputStream(fileName)));
 		for (int i = 0; i < facultyDirectory.size(); i++) {
 			fileWriter.println(facultyDirectory.get(i).toString());
 		}
@@ -0,0 +1,188 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+
+/**
+ * Writes records to a file one per line, as their toString, and remembers what it
+ * wrote so that saving the same file again only rewrites what changed. Each save
+ * compares every record against the hash of the line written for the same position
+ * last time; the file is kept up to the first record that differs and rewritten from
+ * there. Since record files are in sorted order, adding a record near the end, or
+ * changing one, rewrites only the tail of the file instead of all of it, and saving
+ * an unchanged list writes nothing.
+ *
+ * A save starts over with a full rewrite if it targets a different file than the last
+ * save, or if the file's length or modification time no longer match what this writer
+ * left, such as after another program wrote it.
+ */
+public class IncrementalRecordWriter {
+
+	/** Bytes buffered before writing to the file */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** FNV-1a 64 bit offset basis */
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	/** FNV-1a 64 bit prime */
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	/** Charset lines are written in, the same one PrintStream uses */
+	private final Charset charset = Charset.defaultCharset();
+	/** Separator written after every line */
+	private final String lineSeparator = System.lineSeparator();
+	/** Absolute path of the file last written, or null if nothing has been written */
+	private String fileName;
+	/** Length of the file after the last save */
+	private long length;
+	/** Modification time of the file after the last save */
+	private long lastModified;
+	/** Number of lines written by the last save */
+	private int count;
+	/** Hash of each line written by the last save */
+	private long[] hashes = new long[0];
+	/** Offset of the start of each line written by the last save, followed by the file length */
+	private long[] offsets = new long[] {0};
+
+	/**
+	 * Saves the records in a SortedList to the given file.
+	 * @param fileName file to write to
+	 * @param records records to write, one per line
+	 * @return number of lines written, 0 if the file was already up to date
+	 * @throws IOException if the file cannot be written
+	 */
+	public int write(String fileName, SortedList<?> records) throws IOException {
+		return write(fileName, records.size(), new Iterator<Object>() {
+			/** Index of the next record */
+			private int next;
+
+			@Override
+			public boolean hasNext() {
+				return next < records.size();
+			}
+
+			@Override
+			public Object next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return records.get(next++);
+			}
+		});
+	}
+
+	/**
+	 * Saves the records in a List to the given file.
+	 * @param fileName file to write to
+	 * @param records records to write, one per line
+	 * @return number of lines written, 0 if the file was already up to date
+	 * @throws IOException if the file cannot be written
+	 */
+	public int write(String fileName, List<?> records) throws IOException {
+		return write(fileName, records.size(), records.iterator());
+	}
+
+	/**
+	 * Saves records to the given file, keeping the lines before the first record that
+	 * changed since the last save to the same file.
+	 * @param fileName file to write to
+	 * @param size number of records
+	 * @param records records to write, one per line
+	 * @return number of lines written
+	 * @throws IOException if the file cannot be written
+	 */
+	private int write(String fileName, int size, Iterator<?> records) throws IOException {
+		File file = new File(fileName);
+		String path = file.getAbsolutePath();
+		boolean diverged = !path.equals(this.fileName) || !file.isFile() || file.length() != length
+				|| file.lastModified() != lastModified;
+		long[] newHashes = new long[size];
+		long[] newOffsets = new long[size + 1];
+		int written = 0;
+		FileChannel channel = null;
+		OutputStream out = null;
+		// Forget the previous save until this one finishes, so a failed save is followed by a full rewrite
+		this.fileName = null;
+		try {
+			for (int i = 0; i < size; i++) {
+				String line = records.next().toString();
+				newHashes[i] = hash(line);
+				if (!diverged && i < count && hashes[i] == newHashes[i]) {
+					newOffsets[i + 1] = offsets[i + 1];
+					continue;
+				}
+				if (channel == null) {
+					diverged = true;
+					channel = open(fileName, newOffsets[i]);
+					out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+				}
+				byte[] bytes = (line + lineSeparator).getBytes(charset);
+				out.write(bytes);
+				newOffsets[i + 1] = newOffsets[i] + bytes.length;
+				written++;
+			}
+			if (channel == null && (diverged || count != size)) {
+				channel = open(fileName, newOffsets[size]);
+			}
+			if (out != null) {
+				out.flush();
+			}
+		} finally {
+			if (channel != null) {
+				channel.close();
+			}
+		}
+		this.fileName = path;
+		this.count = size;
+		this.hashes = newHashes;
+		this.offsets = newOffsets;
+		this.length = file.length();
+		this.lastModified = file.lastModified();
+		return written;
+	}
+
+	/**
+	 * Opens the file for writing, creating it if needed, and cuts it off at the given
+	 * offset.
+	 * @param fileName file to open
+	 * @param offset offset to truncate the file to and start writing at
+	 * @return channel positioned at offset
+	 * @throws IOException if the file cannot be opened or truncated
+	 */
+	private static FileChannel open(String fileName, long offset) throws IOException {
+		FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		try {
+			channel.truncate(offset);
+			channel.position(offset);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		return channel;
+	}
+
+	/**
+	 * Returns the 64 bit FNV-1a hash of a line.
+	 * @param line line to hash
+	 * @return hash of the line
+	 */
+	private static long hash(String line) {
+		long h = FNV_OFFSET;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			h = (h ^ (c & 0xff)) * FNV_PRIME;
+			h = (h ^ (c >>> 8)) * FNV_PRIME;
+		}
+		return h;
+	}
+}
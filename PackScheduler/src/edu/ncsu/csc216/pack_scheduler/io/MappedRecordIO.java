@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+
+/**
+ * Reads Course, Student, and Faculty records from UTF-8 files through a memory mapping
+ * instead of a stream. Each method returns the same list as the matching method of
+ * CourseRecordIO, StudentRecordIO, or FacultyRecordIO, and skips invalid lines in the
+ * same way.
+ */
+public class MappedRecordIO {
+
+	/**
+	 * Reads course records from a mapped file and generates a list of valid Courses.
+	 * Courses are assigned to the instructors listed in the file using the
+	 * RegistrationManager's FacultyDirectory.
+	 * @param fileName file to read Course records from
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
+		return readCourseRecords(fileName, RegistrationManager.getInstance().getFacultyDirectory());
+	}
+
+	/**
+	 * Reads course records from a mapped file and generates a list of valid Courses.
+	 * @param fileName file to read Course records from
+	 * @param facultyDirectory directory used to resolve instructor ids, or null to read the
+	 * courses without assigning instructors
+	 * @return a list of valid Courses
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static SortedList<Course> readCourseRecords(String fileName, FacultyDirectory facultyDirectory) throws FileNotFoundException {
+		return CourseRecordIO.readCourseRecords(open(fileName), fileName, facultyDirectory);
+	}
+
+	/**
+	 * Reads student records from a mapped file and generates a list of valid Students.
+	 * @param fileName file to read Student records from
+	 * @return a list of valid Students
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static SortedList<Student> readStudentRecords(String fileName) throws FileNotFoundException {
+		return StudentRecordIO.readStudentRecords(open(fileName), fileName);
+	}
+
+	/**
+	 * Reads faculty records from a mapped file and generates a list of valid Faculty.
+	 * @param fileName file to read Faculty records from
+	 * @return a list of valid Faculty
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static LinkedList<Faculty> readFacultyRecords(String fileName) throws FileNotFoundException {
+		return FacultyRecordIO.readFacultyRecords(open(fileName), fileName);
+	}
+
+	/**
+	 * Maps the given file for reading.
+	 * @param fileName file to map
+	 * @return a tokenizer over the mapped file
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file cannot be mapped
+	 */
+	private static RecordTokenizer open(String fileName) throws FileNotFoundException {
+		try {
+			return new MappedRecordTokenizer(fileName);
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * RecordTokenizer that reads a UTF-8 record file through a memory mapping instead of
+ * a stream. Lines are found by scanning the mapped bytes, and a field is only decoded
+ * into a String when it is asked for, so no characters are decoded for the rest of the
+ * line. Integer fields are parsed straight from the mapped bytes.
+ *
+ * Files are mapped in windows of at most WINDOW_SIZE bytes so that files larger than a
+ * single mapping can be read. When a record runs past the end of a window, the next
+ * window is mapped starting at that record.
+ */
+class MappedRecordTokenizer extends RecordTokenizer {
+
+	/** Largest number of bytes mapped at once */
+	static final int WINDOW_SIZE = 1 << 30;
+
+	/** Channel of the file being read */
+	private FileChannel channel;
+	/** Size of the file */
+	private long size;
+	/** Largest number of bytes mapped at once by this tokenizer */
+	private int windowSize;
+	/** Currently mapped window of the file */
+	private MappedByteBuffer buf;
+	/** File offset of the first byte in buf */
+	private long base;
+	/** Number of bytes in buf */
+	private int limit;
+	/** Index one past the last byte of the current record, not counting the line terminator */
+	private int lineEnd;
+	/** Index of the first byte after the current record's line terminator */
+	private int next;
+	/** Position of the field cursor in the current record */
+	private int pos;
+	/** Scratch space used to copy a field's bytes out of the mapping for decoding */
+	private byte[] scratch = new byte[64];
+
+	/**
+	 * Creates a tokenizer that maps the given file.
+	 * @param fileName file to read records from
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException if the file cannot be mapped
+	 */
+	MappedRecordTokenizer(String fileName) throws IOException {
+		this(fileName, WINDOW_SIZE);
+	}
+
+	/**
+	 * Creates a tokenizer that maps the given file in windows of at most windowSize bytes.
+	 * @param fileName file to read records from
+	 * @param windowSize largest number of bytes to map at once
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IOException if the file cannot be mapped
+	 */
+	MappedRecordTokenizer(String fileName, int windowSize) throws IOException {
+		this.channel = new RandomAccessFile(fileName, "r").getChannel();
+		this.windowSize = windowSize;
+		try {
+			this.size = channel.size();
+			map(0);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Maps the window of the file starting at the given offset.
+	 * @param offset file offset of the first byte to map
+	 * @throws IOException if the file cannot be mapped
+	 */
+	private void map(long offset) throws IOException {
+		base = offset;
+		buf = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(size - offset, windowSize));
+		limit = buf.limit();
+	}
+
+	/**
+	 * Maps the next window of the file, starting at index keepFrom of the current window.
+	 * @param keepFrom index of the first byte that must still be mapped
+	 * @return the number of positions the kept bytes moved toward the front
+	 * @throws IOException if the record starting at keepFrom is longer than a window
+	 * or the file cannot be mapped
+	 */
+	private int remap(int keepFrom) throws IOException {
+		if (keepFrom == 0) {
+			throw new IOException("Record longer than " + windowSize + " bytes");
+		}
+		map(base + keepFrom);
+		return keepFrom;
+	}
+
+	/**
+	 * Returns true if there are bytes in the file after the current window.
+	 * @return true if the file continues past the window
+	 */
+	private boolean hasMoreWindows() {
+		return base + limit < size;
+	}
+
+	@Override
+	boolean nextRecord() throws IOException {
+		int start = next;
+		int i = start;
+		while (true) {
+			for (; i < limit; i++) {
+				byte b = buf.get(i);
+				if (b == '\n') {
+					setRecord(start, i, i + 1);
+					return true;
+				} else if (b == '\r') {
+					if (i + 1 == limit && hasMoreWindows()) {
+						int shift = remap(start);
+						start -= shift;
+						i -= shift;
+					}
+					setRecord(start, i, i + 1 < limit && buf.get(i + 1) == '\n' ? i + 2 : i + 1);
+					return true;
+				}
+			}
+			if (!hasMoreWindows()) {
+				if (start == limit) {
+					setRecord(limit, limit, limit);
+					return false;
+				}
+				setRecord(start, limit, limit);
+				return true;
+			}
+			int shift = remap(start);
+			start -= shift;
+			i -= shift;
+		}
+	}
+
+	/**
+	 * Sets the bounds of the current record and moves the field cursor to its start.
+	 * @param start index of the first byte of the record
+	 * @param end index one past the last byte of the record
+	 * @param after index of the first byte after the line terminator
+	 */
+	private void setRecord(int start, int end, int after) {
+		lineEnd = end;
+		next = after;
+		pos = start;
+	}
+
+	@Override
+	boolean hasNextField() {
+		return fieldStart() < lineEnd;
+	}
+
+	/**
+	 * Returns the index the next field starts at, skipping the delimiter that
+	 * ends the previous field.
+	 * @return start index of the next field, or lineEnd if there is none
+	 */
+	private int fieldStart() {
+		int p = pos;
+		if (p < lineEnd && buf.get(p) == DELIMITER) {
+			p++;
+		}
+		return p;
+	}
+
+	/**
+	 * Moves the cursor to the start of the next field.
+	 * @return start index of the next field
+	 * @throws NoSuchElementException if the record has no more fields
+	 */
+	private int startField() {
+		int start = fieldStart();
+		if (start >= lineEnd) {
+			throw new NoSuchElementException();
+		}
+		pos = start;
+		while (pos < lineEnd && buf.get(pos) != DELIMITER) {
+			pos++;
+		}
+		return start;
+	}
+
+	@Override
+	String nextField() {
+		int start = startField();
+		return decode(start, pos);
+	}
+
+	/**
+	 * Decodes the bytes from start up to but not including end as UTF-8.
+	 * @param start index of the first byte
+	 * @param end index one past the last byte
+	 * @return the decoded String
+	 */
+	private String decode(int start, int end) {
+		int length = end - start;
+		if (length > scratch.length) {
+			scratch = Arrays.copyOf(scratch, Math.max(length, scratch.length * 2));
+		}
+		buf.get(start, scratch, 0, length);
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	int nextInt() {
+		int i = startField();
+		int end = pos;
+		if (i == end) {
+			throw new NumberFormatException("Empty field");
+		}
+		int start = i;
+		boolean negative = false;
+		int limitValue = -Integer.MAX_VALUE;
+		byte first = buf.get(i);
+		if (first == '-' || first == '+') {
+			if (first == '-') {
+				negative = true;
+				limitValue = Integer.MIN_VALUE;
+			}
+			i++;
+			if (i == end) {
+				throw new NumberFormatException("Missing digits");
+			}
+		}
+		int multMin = limitValue / 10;
+		int result = 0;
+		for (; i < end; i++) {
+			byte b = buf.get(i);
+			if (b < 0) {
+				// Non-ASCII digits are left to Integer.parseInt
+				return Integer.parseInt(decode(start, end));
+			}
+			int digit = b - '0';
+			if (digit < 0 || digit > 9 || result < multMin) {
+				throw new NumberFormatException("Invalid int field");
+			}
+			result *= 10;
+			if (result < limitValue + digit) {
+				throw new NumberFormatException("Invalid int field");
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Closes the file. The current mapping stays valid until it is garbage collected.
+	 * @throws IOException if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,229 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming RecordTokenizer that reads records one line at a time through a large
+ * character buffer. Integer fields are parsed straight out of the buffer, so only
+ * the String fields of a record are allocated.
+ */
+class ReaderRecordTokenizer extends RecordTokenizer {
+
+	/** Initial size of the character buffer */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** Source of the records */
+	private Reader in;
+	/** Buffered characters from the source */
+	private char[] buf;
+	/** Number of valid characters in buf */
+	private int limit;
+	/** True once the source has no more characters */
+	private boolean eof;
+	/** Index one past the last character of the current record, not counting the line terminator */
+	private int lineEnd;
+	/** Index of the first character after the current record's line terminator */
+	private int next;
+	/** Position of the field cursor in the current record */
+	private int pos;
+
+	/**
+	 * Creates a tokenizer reading records from the given stream using the default charset.
+	 * @param in stream to read records from
+	 */
+	ReaderRecordTokenizer(InputStream in) {
+		this(new InputStreamReader(in));
+	}
+
+	/**
+	 * Creates a tokenizer reading records from the given reader.
+	 * @param in reader to read records from
+	 */
+	ReaderRecordTokenizer(Reader in) {
+		this.in = in;
+		this.buf = new char[BUFFER_SIZE];
+	}
+
+	/**
+	 * Advances to the next record. Lines may end in "\n", "\r\n", or "\r".
+	 * @return true if there is another record, false at the end of the input
+	 * @throws IOException if the source cannot be read
+	 */
+	@Override
+	boolean nextRecord() throws IOException {
+		int start = next;
+		int i = start;
+		while (true) {
+			for (; i < limit; i++) {
+				char c = buf[i];
+				if (c == '\n') {
+					setRecord(start, i, i + 1);
+					return true;
+				} else if (c == '\r') {
+					if (i + 1 == limit && !eof) {
+						int shift = fill(start);
+						start -= shift;
+						i -= shift;
+					}
+					setRecord(start, i, i + 1 < limit && buf[i + 1] == '\n' ? i + 2 : i + 1);
+					return true;
+				}
+			}
+			if (eof) {
+				if (start == limit) {
+					setRecord(limit, limit, limit);
+					return false;
+				}
+				setRecord(start, limit, limit);
+				return true;
+			}
+			int shift = fill(start);
+			start -= shift;
+			i -= shift;
+		}
+	}
+
+	/**
+	 * Sets the bounds of the current record and moves the field cursor to its start.
+	 * @param start index of the first character of the record
+	 * @param end index one past the last character of the record
+	 * @param after index of the first character after the line terminator
+	 */
+	private void setRecord(int start, int end, int after) {
+		lineEnd = end;
+		next = after;
+		pos = start;
+	}
+
+	/**
+	 * Moves the unread characters starting at keepFrom to the front of the buffer,
+	 * growing the buffer if a single record fills it, and reads more characters
+	 * from the source.
+	 * @param keepFrom index of the first character that must be kept
+	 * @return the number of positions the kept characters were moved toward the front
+	 * @throws IOException if the source cannot be read
+	 */
+	private int fill(int keepFrom) throws IOException {
+		int kept = limit - keepFrom;
+		if (keepFrom > 0) {
+			System.arraycopy(buf, keepFrom, buf, 0, kept);
+		} else if (kept == buf.length) {
+			buf = Arrays.copyOf(buf, buf.length * 2);
+		}
+		limit = kept;
+		int read = in.read(buf, limit, buf.length - limit);
+		if (read < 0) {
+			eof = true;
+		} else {
+			limit += read;
+		}
+		return keepFrom;
+	}
+
+	/**
+	 * Returns true if the current record has another field.
+	 * @return true if there is another field
+	 */
+	@Override
+	boolean hasNextField() {
+		return fieldStart() < lineEnd;
+	}
+
+	/**
+	 * Returns the index the next field starts at, skipping the delimiter that
+	 * ends the previous field.
+	 * @return start index of the next field, or lineEnd if there is none
+	 */
+	private int fieldStart() {
+		int p = pos;
+		if (p < lineEnd && buf[p] == DELIMITER) {
+			p++;
+		}
+		return p;
+	}
+
+	/**
+	 * Moves the cursor to the start of the next field.
+	 * @return start index of the next field
+	 * @throws NoSuchElementException if the record has no more fields
+	 */
+	private int startField() {
+		int start = fieldStart();
+		if (start >= lineEnd) {
+			throw new NoSuchElementException();
+		}
+		pos = start;
+		while (pos < lineEnd && buf[pos] != DELIMITER) {
+			pos++;
+		}
+		return start;
+	}
+
+	/**
+	 * Returns the next field of the current record.
+	 * @return the next field
+	 * @throws NoSuchElementException if the record has no more fields
+	 */
+	@Override
+	String nextField() {
+		int start = startField();
+		return new String(buf, start, pos - start);
+	}
+
+	/**
+	 * Parses the next field of the current record as a base 10 int, accepting the
+	 * same input as Integer.parseInt without creating a String.
+	 * @return the value of the next field
+	 * @throws NoSuchElementException if the record has no more fields
+	 * @throws NumberFormatException if the field is not a valid int
+	 */
+	@Override
+	int nextInt() {
+		int i = startField();
+		int end = pos;
+		if (i == end) {
+			throw new NumberFormatException("Empty field");
+		}
+		boolean negative = false;
+		int limitValue = -Integer.MAX_VALUE;
+		char first = buf[i];
+		if (first == '-' || first == '+') {
+			if (first == '-') {
+				negative = true;
+				limitValue = Integer.MIN_VALUE;
+			}
+			i++;
+			if (i == end) {
+				throw new NumberFormatException("Missing digits");
+			}
+		}
+		int multMin = limitValue / 10;
+		int result = 0;
+		for (; i < end; i++) {
+			int digit = Character.digit(buf[i], 10);
+			if (digit < 0 || result < multMin) {
+				throw new NumberFormatException("Invalid int field");
+			}
+			result *= 10;
+			if (result < limitValue + digit) {
+				throw new NumberFormatException("Invalid int field");
+			}
+			result -= digit;
+		}
+		return negative ? result : -result;
+	}
+
+	/**
+	 * Closes the underlying source.
+	 * @throws IOException if the source cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
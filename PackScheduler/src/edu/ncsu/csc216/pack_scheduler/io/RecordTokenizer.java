@@ -0,0 +1,49 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Tokenizer for the comma separated record files read by the io package. Records are
+ * read one line at a time, and the fields of the current record are returned in order.
+ * Lines may end in "\n", "\r\n", or "\r".
+ *
+ * Fields are split the same way a Scanner using "," as its delimiter splits a line:
+ * empty fields between two commas are returned as empty Strings, while a single
+ * leading or trailing comma does not start a field.
+ */
+abstract class RecordTokenizer implements Closeable {
+
+	/** Field delimiter */
+	static final char DELIMITER = ',';
+
+	/**
+	 * Advances to the next record.
+	 * @return true if there is another record, false at the end of the input
+	 * @throws IOException if the source cannot be read
+	 */
+	abstract boolean nextRecord() throws IOException;
+
+	/**
+	 * Returns true if the current record has another field.
+	 * @return true if there is another field
+	 */
+	abstract boolean hasNextField();
+
+	/**
+	 * Returns the next field of the current record.
+	 * @return the next field
+	 * @throws NoSuchElementException if the record has no more fields
+	 */
+	abstract String nextField();
+
+	/**
+	 * Parses the next field of the current record as a base 10 int, accepting the
+	 * same input as Integer.parseInt.
+	 * @return the value of the next field
+	 * @throws NoSuchElementException if the record has no more fields
+	 * @throws NumberFormatException if the field is not a valid int
+	 */
+	abstract int nextInt();
+}
@@ -0,0 +1,345 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+
+/**
+ * Reads and writes binary snapshots of the course catalog, student directory, and
+ * faculty directory. A snapshot holds everything the CSV records do, plus the roll
+ * and waitlist of every course and the schedule of every student and faculty member,
+ * so all three can be restored together without parsing text.
+ *
+ * A snapshot starts with MAGIC and VERSION, followed by the sequence number of the last
+ * EnrollmentJournal entry it holds (added in version 2), then the faculty, the students,
+ * and the courses in directory order. Courses refer to students, and schedules refer to
+ * courses, by their position in the snapshot. CSV files remain the interchange format;
+ * snapshots are only meant to be read back by the same version of PackScheduler.
+ */
+public class SnapshotIO {
+
+	/** Bytes every snapshot starts with, "PSNP" */
+	public static final int MAGIC = 0x50534E50;
+	/** Version of the snapshot format written by this class */
+	public static final int VERSION = 2;
+	/** Oldest version of the snapshot format this class can read */
+	private static final int MIN_VERSION = 1;
+
+	/**
+	 * Writes a snapshot of the given courses, students, and faculty to a file.
+	 * @param fileName file to write the snapshot to
+	 * @param courses courses in the catalog
+	 * @param students students in the directory
+	 * @param faculty faculty in the directory
+	 * @throws IOException if the file cannot be written
+	 * @throws IllegalArgumentException if a roll or schedule refers to a course or
+	 * student that is not in the snapshot
+	 */
+	public static void writeSnapshot(String fileName, SortedList<Course> courses, SortedList<Student> students,
+			LinkedList<Faculty> faculty) throws IOException {
+		writeSnapshot(fileName, courses, students, faculty, 0);
+	}
+
+	/**
+	 * Writes a snapshot of the given courses, students, and faculty to a file, recording
+	 * the sequence number of the last journal entry the snapshot holds. The snapshot is
+	 * written to a temporary file that then replaces fileName, so a crash while writing
+	 * leaves the previous snapshot in place.
+	 * @param fileName file to write the snapshot to
+	 * @param courses courses in the catalog
+	 * @param students students in the directory
+	 * @param faculty faculty in the directory
+	 * @param journalSequence sequence number of the last EnrollmentJournal entry applied
+	 * to the courses, students, and faculty
+	 * @throws IOException if the file cannot be written
+	 * @throws IllegalArgumentException if a roll or schedule refers to a course or
+	 * student that is not in the snapshot
+	 */
+	public static void writeSnapshot(String fileName, SortedList<Course> courses, SortedList<Student> students,
+			LinkedList<Faculty> faculty, long journalSequence) throws IOException {
+		IdentityHashMap<Student, Integer> studentIndex = new IdentityHashMap<Student, Integer>();
+		for (int i = 0; i < students.size(); i++) {
+			studentIndex.put(students.get(i), i);
+		}
+		IdentityHashMap<Course, Integer> courseIndex = new IdentityHashMap<Course, Integer>();
+		for (int i = 0; i < courses.size(); i++) {
+			courseIndex.put(courses.get(i), i);
+		}
+
+		Path target = Paths.get(fileName).toAbsolutePath();
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		try (FileOutputStream file = new FileOutputStream(temp.toFile());
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(journalSequence);
+
+			out.writeInt(faculty.size());
+			for (Faculty f : faculty) {
+				writeUser(out, f.getFirstName(), f.getLastName(), f.getId(), f.getEmail(), f.getPassword());
+				out.writeInt(f.getMaxCourses());
+			}
+
+			out.writeInt(students.size());
+			for (int i = 0; i < students.size(); i++) {
+				Student s = students.get(i);
+				writeUser(out, s.getFirstName(), s.getLastName(), s.getId(), s.getEmail(), s.getPassword());
+				out.writeInt(s.getMaxCredits());
+				out.writeUTF(s.getSchedule().getTitle());
+			}
+
+			out.writeInt(courses.size());
+			for (int i = 0; i < courses.size(); i++) {
+				Course c = courses.get(i);
+				out.writeUTF(c.getName());
+				out.writeUTF(c.getTitle());
+				out.writeUTF(c.getSection());
+				out.writeInt(c.getCredits());
+				writeNullable(out, c.getInstructorId());
+				out.writeInt(c.getCourseRoll().getEnrollmentCap());
+				out.writeUTF(c.getMeetingDays());
+				out.writeInt(c.getStartTime());
+				out.writeInt(c.getEndTime());
+				writeIndexes(out, c.getCourseRoll().getEnrolledStudents(), studentIndex);
+				writeIndexes(out, c.getCourseRoll().getWaitlistedStudents(), studentIndex);
+			}
+
+			for (Faculty f : faculty) {
+				writeIndexes(out, f.getSchedule().getCourses(), courseIndex);
+			}
+			for (int i = 0; i < students.size(); i++) {
+				writeIndexes(out, students.get(i).getSchedule().getCourses(), courseIndex);
+			}
+			out.flush();
+			file.getFD().sync();
+		}
+		try {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Reads a snapshot written by writeSnapshot. Every object is created through its
+	 * constructor, so a damaged snapshot cannot produce an invalid Course or User.
+	 * @param fileName file to read the snapshot from
+	 * @return the courses, students, and faculty in the snapshot
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 * @throws IllegalArgumentException if the file is not a snapshot this version can
+	 * read or cannot be read
+	 */
+	public static Snapshot readSnapshot(String fileName) throws FileNotFoundException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+			if (in.readInt() != MAGIC) {
+				throw new IllegalArgumentException("Unable to read file " + fileName);
+			}
+			int version = in.readInt();
+			if (version < MIN_VERSION || version > VERSION) {
+				throw new IllegalArgumentException("Unable to read file " + fileName);
+			}
+			long journalSequence = version >= 2 ? in.readLong() : 0;
+
+			Faculty[] faculty = new Faculty[in.readInt()];
+			for (int i = 0; i < faculty.length; i++) {
+				faculty[i] = new Faculty(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readInt());
+			}
+
+			Student[] students = new Student[in.readInt()];
+			for (int i = 0; i < students.length; i++) {
+				students[i] = new Student(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(), in.readInt());
+				students[i].getSchedule().setTitle(in.readUTF());
+			}
+
+			Course[] courses = new Course[in.readInt()];
+			String[] instructorIds = new String[courses.length];
+			for (int i = 0; i < courses.length; i++) {
+				String name = in.readUTF();
+				String title = in.readUTF();
+				String section = in.readUTF();
+				int credits = in.readInt();
+				instructorIds[i] = readNullable(in);
+				int enrollmentCap = in.readInt();
+				String meetingDays = in.readUTF();
+				int startTime = in.readInt();
+				int endTime = in.readInt();
+				courses[i] = new Course(name, title, section, credits, null, enrollmentCap, meetingDays, startTime, endTime);
+				courses[i].getCourseRoll().restore(readIndexes(in, students, new Student[0]), readIndexes(in, students, new Student[0]));
+			}
+
+			for (Faculty f : faculty) {
+				for (Course c : readIndexes(in, courses, new Course[0])) {
+					f.getSchedule().addCourseToSchedule(c);
+				}
+			}
+			for (int i = 0; i < courses.length; i++) {
+				if (courses[i].getInstructorId() == null && instructorIds[i] != null) {
+					courses[i].setInstructorId(instructorIds[i]);
+				}
+			}
+			for (Student s : students) {
+				for (Course c : readIndexes(in, courses, new Course[0])) {
+					s.getSchedule().addCourseToSchedule(c);
+				}
+			}
+
+			Snapshot snapshot = new Snapshot();
+			snapshot.journalSequence = journalSequence;
+			for (Faculty f : faculty) {
+				snapshot.faculty.add(f);
+			}
+			snapshot.students = SortedList.fromSorted(Arrays.asList(students));
+			snapshot.courses = SortedList.fromSorted(Arrays.asList(courses));
+			return snapshot;
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+	}
+
+	/**
+	 * Writes the fields shared by every User.
+	 * @param out stream to write to
+	 * @param firstName user's first name
+	 * @param lastName user's last name
+	 * @param id user's id
+	 * @param email user's email
+	 * @param password user's hashed password
+	 * @throws IOException if the stream cannot be written
+	 */
+	private static void writeUser(DataOutputStream out, String firstName, String lastName, String id, String email,
+			String password) throws IOException {
+		out.writeUTF(firstName);
+		out.writeUTF(lastName);
+		out.writeUTF(id);
+		out.writeUTF(email);
+		out.writeUTF(password);
+	}
+
+	/**
+	 * Writes a String that may be null.
+	 * @param out stream to write to
+	 * @param value String to write
+	 * @throws IOException if the stream cannot be written
+	 */
+	private static void writeNullable(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	/**
+	 * Reads a String written by writeNullable.
+	 * @param in stream to read from
+	 * @return the String, or null
+	 * @throws IOException if the stream cannot be read
+	 */
+	private static String readNullable(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	/**
+	 * Writes the snapshot positions of the given elements, preceded by their count.
+	 * @param <T> type of element
+	 * @param out stream to write to
+	 * @param elements elements to write
+	 * @param index position of each element in the snapshot
+	 * @throws IOException if the stream cannot be written
+	 * @throws IllegalArgumentException if an element is not in the snapshot
+	 */
+	private static <T> void writeIndexes(DataOutputStream out, T[] elements, IdentityHashMap<T, Integer> index) throws IOException {
+		out.writeInt(elements.length);
+		for (T element : elements) {
+			Integer i = index.get(element);
+			if (i == null) {
+				throw new IllegalArgumentException("Snapshot refers to an element it does not contain.");
+			}
+			out.writeInt(i);
+		}
+	}
+
+	/**
+	 * Reads a list of positions written by writeIndexes and returns the elements at them.
+	 * @param <T> type of element
+	 * @param in stream to read from
+	 * @param all elements in snapshot order
+	 * @param type empty array used for the type of the result
+	 * @return the elements at the positions read
+	 * @throws IOException if the stream cannot be read
+	 */
+	private static <T> T[] readIndexes(DataInputStream in, T[] all, T[] type) throws IOException {
+		T[] elements = Arrays.copyOf(type, in.readInt());
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = all[in.readInt()];
+		}
+		return elements;
+	}
+
+	/**
+	 * The courses, students, and faculty read from a snapshot, with rolls and schedules
+	 * already linked.
+	 */
+	public static class Snapshot {
+		/** Courses in the snapshot */
+		private SortedList<Course> courses;
+		/** Students in the snapshot */
+		private SortedList<Student> students;
+		/** Faculty in the snapshot */
+		private LinkedList<Faculty> faculty = new LinkedList<Faculty>();
+		/** Sequence number of the last journal entry the snapshot holds */
+		private long journalSequence;
+
+		/**
+		 * Returns the courses in the snapshot.
+		 * @return the courses
+		 */
+		public SortedList<Course> getCourses() {
+			return courses;
+		}
+
+		/**
+		 * Returns the students in the snapshot.
+		 * @return the students
+		 */
+		public SortedList<Student> getStudents() {
+			return students;
+		}
+
+		/**
+		 * Returns the faculty in the snapshot.
+		 * @return the faculty
+		 */
+		public LinkedList<Faculty> getFaculty() {
+			return faculty;
+		}
+
+		/**
+		 * Returns the sequence number of the last EnrollmentJournal entry the snapshot
+		 * holds, or 0 if it holds none.
+		 * @return the journal sequence number
+		 */
+		public long getJournalSequence() {
+			return journalSequence;
+		}
+	}
+}
@@ -1,14 +1,16 @@
 package edu.ncsu.csc216.pack_scheduler.io;
-import java.util.Scanner;
+import java.io.BufferedOutputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 
 import edu.ncsu.csc216.pack_scheduler.user.Student;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
 
 import java.io.FileInputStream;
 import java.io.PrintStream;
-import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
 
 
 /**
@@ -27,42 +29,76 @@ public class StudentRecordIO {
 	 * @throws FileNotFoundException if the file cannot be found or read
 	 */
 	public static SortedList<Student> readStudentRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));
+		return readStudentRecords(new ReaderRecordTokenizer(new FileInputStream(fileName)), fileName);
+	}
+	
+	/**
+	 * Reads every record of the given tokenizer and generates a list of valid Students,
+	 * closing the tokenizer when done.
+	 * @param tokens tokenizer to read Student records from
+	 * @param fileName name of the file being read
+	 * @return a list of valid Students
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	static SortedList<Student> readStudentRecords(RecordTokenizer tokens, String fileName) {
 		SortedList<Student> records = new SortedList<Student>();
-		while (fileReader.hasNextLine()) {
-			try {
-				Student student = processStudent(fileReader.nextLine());
-				records.add(student);
-			} catch (IllegalArgumentException IAE) {
-				// Invalid line, skip it.
+		try (tokens) {
+			while (tokens.nextRecord()) {
+				try {
+					Student student = processStudent(tokens);
+					records.add(student);
+				} catch (IllegalArgumentException IAE) {
+					// Invalid line, skip it.
+				}
 			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
 		}
-		fileReader.close();
 		return records;
 	}
 	
 	/**
-	 * Reads a line from a file to gather information about a Student and return it.
-	 * Throws an IllegalArgumentException if a line in the file is invalid.
-	 * @param line a line separated by commas containing details of the Student
-	 * @return Student a new Student object that contains all details found in line
-	 * @throws IllegalArgumentException if the line is invalid
+	 * Reads student records from a file and generates a list of valid Students in the same way
+	 * as readStudentRecords(String).  If parallel is true, the file is split into line-aligned
+	 * chunks that are parsed on the fork-join pool, duplicate records are dropped keeping the
+	 * first one in the file, and the Students are sorted once.
+	 * @param fileName file to read Student records from
+	 * @param parallel true to parse the file in parallel chunks
+	 * @return a list of valid Students
+	 * @throws FileNotFoundException if the file cannot be found or read
+	 */
+	public static SortedList<Student> readStudentRecords(String fileName, boolean parallel) throws FileNotFoundException {
+		if (!parallel) {
+			return readStudentRecords(fileName);
+		}
+		ArrayList<Student> students = new ArrayList<Student>();
+		HashSet<Student> seen = new HashSet<Student>();
+		for (Student student : ChunkedRecordReader.readRecords(fileName, StudentRecordIO::processStudent)) {
+			if (seen.add(student)) {
+				students.add(student);
+			}
+		}
+		return ChunkedRecordReader.toSortedList(students);
+	}
+	
+	/**
+	 * Reads the current record of the tokenizer to gather information about a Student and return it.
+	 * Throws an IllegalArgumentException if the record is invalid.
+	 * @param tokens tokenizer positioned at a record containing details of the Student
+	 * @return Student a new Student object that contains all details found in the record
+	 * @throws IllegalArgumentException if the record is invalid
 	 */
-	private static Student processStudent(String line) {
-		Scanner scanner = new Scanner(line);
-		scanner.useDelimiter(",");
+	private static Student processStudent(RecordTokenizer tokens) {
 		try {
-			String firstName = scanner.next();
-			String lastName = scanner.next();
-			String id = scanner.next();
-			String email = scanner.next();
-			String password = scanner.next();
-			int maxCredits = Integer.parseInt(scanner.next());    
-			scanner.close();
+			String firstName = tokens.nextField();
+			String lastName = tokens.nextField();
+			String id = tokens.nextField();
+			String email = tokens.nextField();
+			String password = tokens.nextField();
+			int maxCredits = tokens.nextInt();
 			return new Student(firstName, lastName, id, email, password, maxCredits);
 			
 		} catch (Exception e) {
-			scanner.close();
 			throw new IllegalArgumentException("Invalid line.");
 		}
 	}
@@ -74,7 +110,7 @@ public class StudentRecordIO {
 	 * @throws IOException if unable to write to file
 	 */
 	public static void writeStudentRecords(String fileName, SortedList<Student> studentDirectory) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
+		PrintStream fileWriter = new PrintStream(new BufferedOutputStream(new FileOutputStream(fileName)));
 		for (int i = 0; i < studentDirectory.size(); i++) {
 			fileWriter.println(studentDirectory.get(i).toString());
 		}
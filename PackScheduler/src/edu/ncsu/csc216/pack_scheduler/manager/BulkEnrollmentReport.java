@@ -0,0 +1,110 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+/**
+ * Result of each row of a bulk enrollment run by RegistrationManager.bulkEnroll, in the
+ * order the rows were given.
+ */
+public class BulkEnrollmentReport {
+
+	/** The student was enrolled in the course */
+	public static final int ENROLLED = 0;
+	/** The section was full and the student was put on its waitlist */
+	public static final int WAITLISTED = 1;
+	/** The student could not add the course, or the section and its waitlist were full */
+	public static final int NOT_ENROLLED = 2;
+	/** No student has the row's id */
+	public static final int UNKNOWN_STUDENT = 3;
+	/** No course has the row's name and section */
+	public static final int UNKNOWN_COURSE = 4;
+	/** The row does not have a student id, course name, and section */
+	public static final int INVALID_ROW = 5;
+	/** Applying the row raised an exception */
+	public static final int FAILED = 6;
+
+	/** Names of the statuses, indexed by status */
+	private static final String[] STATUS_NAMES = {"Enrolled", "Waitlisted", "Not enrolled", "Unknown student",
+			"Unknown course", "Invalid row", "Failed"};
+
+	/** Status of each row */
+	private final int[] statuses;
+	/** Message of the exception raised by each failed row */
+	private final String[] messages;
+
+	/**
+	 * Creates a report for the given number of rows.
+	 * @param rows number of rows
+	 */
+	BulkEnrollmentReport(int rows) {
+		this.statuses = new int[rows];
+		this.messages = new String[rows];
+	}
+
+	/**
+	 * Sets the status of a row.
+	 * @param row index of the row
+	 * @param status status of the row
+	 */
+	void setStatus(int row, int status) {
+		statuses[row] = status;
+	}
+
+	/**
+	 * Marks a row as failed.
+	 * @param row index of the row
+	 * @param message message of the exception the row raised
+	 */
+	void setFailed(int row, String message) {
+		statuses[row] = FAILED;
+		messages[row] = message;
+	}
+
+	/**
+	 * Returns the number of rows in the report.
+	 * @return number of rows
+	 */
+	public int size() {
+		return statuses.length;
+	}
+
+	/**
+	 * Returns the status of a row.
+	 * @param row index of the row
+	 * @return one of the status constants
+	 */
+	public int getStatus(int row) {
+		return statuses[row];
+	}
+
+	/**
+	 * Returns the message of the exception a failed row raised.
+	 * @param row index of the row
+	 * @return the message, or null if the row did not fail
+	 */
+	public String getMessage(int row) {
+		return messages[row];
+	}
+
+	/**
+	 * Returns the number of rows with the given status.
+	 * @param status one of the status constants
+	 * @return number of rows with the status
+	 */
+	public int getCount(int status) {
+		int count = 0;
+		for (int s : statuses) {
+			if (s == status) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the name of a status, such as "Waitlisted".
+	 * @param status one of the status constants
+	 * @return name of the status
+	 */
+	public static String getStatusName(int status) {
+		return STATUS_NAMES[status];
+	}
+}
@@ -0,0 +1,226 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Accepts enroll and drop requests from any number of threads and applies them in
+ * batches. Requests are sharded by course, and each shard has a single writer thread
+ * that drains its queue, applies the requests for each course in the order they arrived
+ * while holding that course's roll lock once, syncs the enrollment journal for the
+ * course's requests before releasing the lock, and then completes each request's
+ * future. Since every request for a course goes through the same writer, the writers
+ * never contend with each other for a roll, and a burst of enrolls in a popular section
+ * costs one lock and one journal sync per batch instead of one per request.
+ *
+ * Requests are checked and applied by RegistrationManager exactly as
+ * enrollStudentInCourse and dropStudentFromCourse check and apply them.
+ */
+public class EnrollmentPipeline implements AutoCloseable {
+
+	/** Most requests a writer applies in one batch */
+	private static final int MAX_BATCH = 256;
+	/** Request queued to tell a writer to stop */
+	private static final EnrollmentRequest STOP = new EnrollmentRequest(false, null, null);
+
+	/** Manager requests are applied through */
+	private final RegistrationManager manager;
+	/** Shards requests are divided between by course */
+	private final Shard[] shards;
+	/** True once close has been called */
+	private volatile boolean closed;
+
+	/**
+	 * Creates a pipeline with one shard per available processor.
+	 * @param manager manager to apply requests through
+	 */
+	public EnrollmentPipeline(RegistrationManager manager) {
+		this(manager, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a pipeline with the given number of shards and starts their writer threads.
+	 * @param manager manager to apply requests through
+	 * @param shardCount number of shards
+	 * @throws IllegalArgumentException if manager is null or shardCount is less than 1
+	 */
+	public EnrollmentPipeline(RegistrationManager manager, int shardCount) {
+		if (manager == null || shardCount < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.manager = manager;
+		this.shards = new Shard[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			shards[i] = new Shard(i);
+		}
+	}
+
+	/**
+	 * Queues a request to enroll the student the session belongs to in a course.
+	 * @param session session of the student
+	 * @param c course to enroll in
+	 * @return future completed with true if the student was enrolled or waitlisted, or
+	 * completed exceptionally if the session is not an open student session, the course
+	 * is null, the change cannot be journaled, or the pipeline is closed
+	 */
+	public CompletableFuture<Boolean> enroll(Session session, Course c) {
+		return submit(true, session, c);
+	}
+
+	/**
+	 * Queues a request to drop a course for the student the session belongs to.
+	 * @param session session of the student
+	 * @param c course to drop
+	 * @return future completed with true if the course was dropped, or completed
+	 * exceptionally if the session is not an open student session, the course is null,
+	 * the change cannot be journaled, or the pipeline is closed
+	 */
+	public CompletableFuture<Boolean> drop(Session session, Course c) {
+		return submit(false, session, c);
+	}
+
+	/**
+	 * Checks a request and queues it on its course's shard.
+	 * @param enroll true to enroll, false to drop
+	 * @param session session of the student
+	 * @param c course the request is for
+	 * @return future for the request
+	 */
+	private CompletableFuture<Boolean> submit(boolean enroll, Session session, Course c) {
+		CompletableFuture<Boolean> future = new CompletableFuture<Boolean>();
+		if (closed) {
+			future.completeExceptionally(new IllegalStateException("Enrollment pipeline is closed"));
+			return future;
+		}
+		EnrollmentRequest request;
+		try {
+			if (c == null) {
+				throw new IllegalArgumentException("Illegal Action");
+			}
+			request = new EnrollmentRequest(enroll, manager.studentOf(session), c, future);
+		} catch (IllegalArgumentException e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+		Shard shard = shards[Math.floorMod(31 * c.getName().hashCode() + c.getSection().hashCode(), shards.length)];
+		shard.queue.add(request);
+		// If close raced with this request, take it back unless the writer already has it
+		if (closed && shard.queue.remove(request)) {
+			future.completeExceptionally(new IllegalStateException("Enrollment pipeline is closed"));
+		}
+		return future;
+	}
+
+	/**
+	 * Stops accepting requests, waits for the writers to apply every request already
+	 * queued, and stops the writer threads.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		for (Shard shard : shards) {
+			shard.queue.add(STOP);
+		}
+		boolean interrupted = false;
+		for (Shard shard : shards) {
+			while (shard.thread.isAlive()) {
+				try {
+					shard.thread.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Applies a batch of requests and completes their futures.
+	 * @param batch requests to apply, in the order they arrived
+	 */
+	private void process(List<EnrollmentRequest> batch) {
+		IdentityHashMap<Course, List<EnrollmentRequest>> byCourse = new IdentityHashMap<Course, List<EnrollmentRequest>>();
+		List<Course> courses = new ArrayList<Course>();
+		for (EnrollmentRequest request : batch) {
+			List<EnrollmentRequest> requests = byCourse.get(request.course);
+			if (requests == null) {
+				requests = new ArrayList<EnrollmentRequest>();
+				byCourse.put(request.course, requests);
+				courses.add(request.course);
+			}
+			requests.add(request);
+		}
+
+		for (Course c : courses) {
+			List<EnrollmentRequest> requests = byCourse.get(c);
+			try {
+				manager.applyBatch(c, requests);
+			} catch (RuntimeException e) {
+				for (EnrollmentRequest request : requests) {
+					if (request.error == null && request.sequence == 0) {
+						request.error = e;
+					}
+				}
+			}
+		}
+
+		for (EnrollmentRequest request : batch) {
+			if (request.error != null) {
+				request.future.completeExceptionally(request.error);
+			} else {
+				request.future.complete(request.result);
+			}
+		}
+	}
+
+	/**
+	 * A queue of requests and the writer thread that applies them.
+	 */
+	private class Shard implements Runnable {
+		/** Requests waiting to be applied */
+		private final LinkedBlockingQueue<EnrollmentRequest> queue = new LinkedBlockingQueue<EnrollmentRequest>();
+		/** Writer thread */
+		private final Thread thread;
+
+		/**
+		 * Creates a shard and starts its writer thread.
+		 * @param index index of the shard
+		 */
+		Shard(int index) {
+			thread = new Thread(this, "enrollment-shard-" + index);
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		/**
+		 * Applies batches of requests until told to stop and the queue is empty.
+		 */
+		@Override
+		public void run() {
+			List<EnrollmentRequest> batch = new ArrayList<EnrollmentRequest>();
+			boolean stopping = false;
+			while (!stopping || !queue.isEmpty()) {
+				batch.clear();
+				try {
+					batch.add(queue.take());
+				} catch (InterruptedException e) {
+					stopping = true;
+				}
+				queue.drainTo(batch, MAX_BATCH - batch.size());
+				while (batch.remove(STOP)) {
+					stopping = true;
+				}
+				if (!batch.isEmpty()) {
+					process(batch);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import java.util.concurrent.CompletableFuture;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * A request to enroll a student in, or drop a student from, a course. RegistrationManager
+ * fills in the outcome when it applies the request, either right away or as part of a
+ * batch from an EnrollmentPipeline shard.
+ */
+class EnrollmentRequest {
+
+	/** True to enroll the student, false to drop the course */
+	final boolean enroll;
+	/** Student making the request */
+	final Student student;
+	/** Course the request is for */
+	final Course course;
+	/** Future completed with the result, or null if the caller waits for the result directly */
+	final CompletableFuture<Boolean> future;
+	/** True if a seat was claimed for an enroll request before it was applied */
+	boolean reserved;
+	/** True if the student was enrolled or the course was dropped */
+	boolean result;
+	/** True if the student was put on the waitlist rather than enrolled */
+	boolean waitlisted;
+	/** Journal sequence number of the change, or 0 if it was not journaled */
+	long sequence;
+	/** Exception raised while applying the request, or null */
+	RuntimeException error;
+
+	/**
+	 * Creates a request whose result is read directly by the caller.
+	 * @param enroll true to enroll, false to drop
+	 * @param student student making the request
+	 * @param course course the request is for
+	 */
+	EnrollmentRequest(boolean enroll, Student student, Course course) {
+		this(enroll, student, course, null);
+	}
+
+	/**
+	 * Creates a request whose result is reported through a future.
+	 * @param enroll true to enroll, false to drop
+	 * @param student student making the request
+	 * @param course course the request is for
+	 * @param future future to complete with the result
+	 */
+	EnrollmentRequest(boolean enroll, Student student, Course course, CompletableFuture<Boolean> future) {
+		this.enroll = enroll;
+		this.student = student;
+		this.course = course;
+		this.future = future;
+	}
+}
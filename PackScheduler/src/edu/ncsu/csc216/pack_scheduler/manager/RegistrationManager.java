@@ -1,18 +1,34 @@
 package edu.ncsu.csc216.pack_scheduler.manager;
 
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.course.roll.CourseRoll;
 import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+import edu.ncsu.csc216.pack_scheduler.io.EnrollmentJournal;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO.Snapshot;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
 import edu.ncsu.csc216.pack_scheduler.user.User;
@@ -24,6 +40,19 @@ import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
  * the parameters first name, last name, id, email, and password. Creates an instance of registration manager for use. Can get the instance, 
  * the course catalog, the student directory, and the current user. Lets you login and logout of the registrar. Can clear all data within the 
  * course catalog and student directory.
+ *
+ * Besides the single current user set by login, any number of users can be logged in at
+ * once through startSession, each holding a Session that is passed to the enroll, drop,
+ * and faculty assignment methods. A session that goes unused for longer than the session
+ * timeout is ended, and a user opening more than MAX_SESSIONS_PER_USER sessions ends
+ * their least recently used one, so clients that never log out do not keep sessions
+ * forever. The manager can be called from many threads at once.
+ * Operations that replace or save all data, such as clearData, loadSnapshot, and
+ * openJournal, hold the write half of a read-write lock; changes to rolls and schedules
+ * hold the read half, so they wait for those operations but not for each other. A
+ * student's change then takes the lock of each CourseRoll it touches, in catalog order,
+ * followed by the student's Schedule lock, so changes to different courses run in
+ * parallel. Faculty assignments are rare and are applied one at a time.
  * @author Christian Goga
  * @author Ken Ogura
  * @author Tyler Davis
@@ -31,21 +60,46 @@ import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
 public class RegistrationManager {
 	
 	/** Represents the singleton for RegistrationManager */
-	private static RegistrationManager instance;
+	private static volatile RegistrationManager instance;
 	/** Represents the catalog for courses */
-    private CourseCatalog courseCatalog = new CourseCatalog();
+    private volatile CourseCatalog courseCatalog = new CourseCatalog();
     /** Represents the directory for students */
-	private StudentDirectory studentDirectory = new StudentDirectory();
+	private volatile StudentDirectory studentDirectory = new StudentDirectory();
 	/** Represents the directory for faculty */
-	private FacultyDirectory facultyDirectory;
+	private volatile FacultyDirectory facultyDirectory;
 	/** Represents a registrar that can look at course and student registration*/
 	private User registrar;
 	/** Represents the current user for the registration manager*/
-	private User currentUser;
+	private volatile User currentUser;
+	/** Open sessions keyed by token */
+	private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<String, Session>();
+	/** Open sessions of each user keyed by user id, oldest first; updated with compute so each user's sessions change one at a time */
+	private final ConcurrentHashMap<String, List<Session>> userSessions = new ConcurrentHashMap<String, List<Session>>();
+	/** Most sessions one user can have open at once */
+	private static final int MAX_SESSIONS_PER_USER = 16;
+	/** Nanoseconds a session can go unused before it is ended */
+	private volatile long sessionTimeout = TimeUnit.MINUTES.toNanos(30);
+	/** System.nanoTime of the last sweep for idle sessions */
+	private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+	/** Source of session tokens */
+	private final SecureRandom tokenSource = new SecureRandom();
+	/** Held for writing while all data is replaced or saved, and for reading while rolls and schedules change */
+	private final ReentrantReadWriteLock dataLock = new ReentrantReadWriteLock();
+	/** Order course rolls are locked in: by name and section, then by identity for equal courses */
+	private static final Comparator<Course> COURSE_LOCK_ORDER = Comparator.<Course>naturalOrder()
+			.thenComparingInt(System::identityHashCode);
+	/** Most rows of one course a bulk enrollment applies under a single hold of the course's roll lock */
+	private static final int BULK_CHUNK = 256;
+	/** Held while a faculty schedule changes, so that faculty assignments are applied one at a time */
+	private final ReentrantLock facultyLock = new ReentrantLock();
 	/** Hashing algorithm */
 	private static final String HASH_ALGORITHM = "SHA-256";
 	/** The properties file for the registrar*/
 	private static final String PROP_FILE = "registrar.properties";
+	/** Journal of roll and schedule changes since the last snapshot, or null if none is open */
+	private volatile EnrollmentJournal journal;
+	/** Sequence number of the last journal entry reflected in the loaded courses and users */
+	private long appliedSequence;
 	
 	/**
 	 * Represents the inner class for registrar and contains the constructor for registrar. 
@@ -80,15 +134,50 @@ public class RegistrationManager {
 	 * 
 	 */
 	public boolean addFacultyToCourse(Course course, Faculty faculty) {
-		if(currentUser != registrar) {
+		return addFacultyToCourse(currentUser, course, faculty);
+	}
+	
+	/**
+	 * Adds a course to the faculty's schedule if the session belongs to the Registrar.
+	 * @param session session of the user making the change
+	 * @param course the course that will be added to the faculty's schedule
+	 * @param faculty the faculty whose schedule will be modified by adding a course
+	 * @return true if the faculty is added to the course
+	 * @throws IllegalArgumentException if the session is not an open registrar session
+	 */
+	public boolean addFacultyToCourse(Session session, Course course, Faculty faculty) {
+		return addFacultyToCourse(userOf(session), course, faculty);
+	}
+	
+	/**
+	 * Adds a course to the faculty's schedule if the user is the Registrar.
+	 * @param user user making the change
+	 * @param course the course that will be added to the faculty's schedule
+	 * @param faculty the faculty whose schedule will be modified by adding a course
+	 * @return true if the faculty is added to the course
+	 * @throws IllegalArgumentException if the change cannot be journaled, in which case
+	 * it is undone
+	 */
+	private boolean addFacultyToCourse(User user, Course course, Faculty faculty) {
+		if (user == null || user != registrar) {
 			throw new IllegalArgumentException();
 		}
-		if (currentUser != null && currentUser == registrar) {
-			FacultySchedule schedule = faculty.getSchedule();
-			return schedule.addCourseToSchedule(course);
-			
+		boolean added;
+		lockFaculty();
+		try {
+			added = faculty.getSchedule().addCourseToSchedule(course);
+			if (added) {
+				try {
+					sync(log(EnrollmentJournal.ASSIGN_FACULTY, faculty.getId(), course));
+				} catch (IllegalArgumentException e) {
+					faculty.getSchedule().removeCourseFromSchedule(course);
+					throw e;
+				}
+			}
+		} finally {
+			unlockFaculty();
 		}
-		return false; 
+		return added;
 	}
 	
 	/**
@@ -98,14 +187,50 @@ public class RegistrationManager {
 	 * @return true if the course is removed from the faculty's schedule 
 	 */
 	public boolean removeFacultyFromCourse(Course course, Faculty faculty) {
-		if(currentUser != registrar) {
+		return removeFacultyFromCourse(currentUser, course, faculty);
+	}
+	
+	/**
+	 * Removes the course from the faculty's schedule if the session belongs to the Registrar.
+	 * @param session session of the user making the change
+	 * @param course the course that will be removed from the faculty's schedule
+	 * @param faculty the faculty whose schedule will be modified by removing a course
+	 * @return true if the course is removed from the faculty's schedule
+	 * @throws IllegalArgumentException if the session is not an open registrar session
+	 */
+	public boolean removeFacultyFromCourse(Session session, Course course, Faculty faculty) {
+		return removeFacultyFromCourse(userOf(session), course, faculty);
+	}
+	
+	/**
+	 * Removes the course from the faculty's schedule if the user is the Registrar.
+	 * @param user user making the change
+	 * @param course the course that will be removed from the faculty's schedule
+	 * @param faculty the faculty whose schedule will be modified by removing a course
+	 * @return true if the course is removed from the faculty's schedule
+	 * @throws IllegalArgumentException if the change cannot be journaled, in which case
+	 * it is undone
+	 */
+	private boolean removeFacultyFromCourse(User user, Course course, Faculty faculty) {
+		if (user == null || user != registrar) {
 			throw new IllegalArgumentException();
 		}
-		if (currentUser != null && currentUser == registrar) {
-			FacultySchedule schedule = faculty.getSchedule();
-			return schedule.removeCourseFromSchedule(course);
+		boolean removed;
+		lockFaculty();
+		try {
+			removed = faculty.getSchedule().removeCourseFromSchedule(course);
+			if (removed) {
+				try {
+					sync(log(EnrollmentJournal.REMOVE_FACULTY, faculty.getId(), course));
+				} catch (IllegalArgumentException e) {
+					faculty.getSchedule().addCourseToSchedule(course);
+					throw e;
+				}
+			}
+		} finally {
+			unlockFaculty();
 		}
-		return false;
+		return removed;
 	}
 	
 	/**
@@ -113,12 +238,45 @@ public class RegistrationManager {
 	 * @param faculty the faculty whose schedule will be reset 
 	 */
 	public void resetFacultySchedule(Faculty faculty) {
-		if(currentUser != registrar) {
+		resetFacultySchedule(currentUser, faculty);
+	}
+	
+	/**
+	 * Resets the faculty's schedule if the session belongs to the Registrar.
+	 * @param session session of the user making the change
+	 * @param faculty the faculty whose schedule will be reset
+	 * @throws IllegalArgumentException if the session is not an open registrar session
+	 */
+	public void resetFacultySchedule(Session session, Faculty faculty) {
+		resetFacultySchedule(userOf(session), faculty);
+	}
+	
+	/**
+	 * Resets the faculty's schedule if the user is the Registrar.
+	 * @param user user making the change
+	 * @param faculty the faculty whose schedule will be reset
+	 * @throws IllegalArgumentException if the change cannot be journaled, in which case
+	 * it is undone
+	 */
+	private void resetFacultySchedule(User user, Faculty faculty) {
+		if (user == null || user != registrar) {
 			throw new IllegalArgumentException();
 		}
-		if (currentUser != null && currentUser == registrar) {
+		lockFaculty();
+		try {
 			FacultySchedule schedule = faculty.getSchedule();
+			Course[] courses = schedule.getCourses();
 			schedule.resetSchedule();
+			try {
+				sync(log(EnrollmentJournal.RESET_FACULTY, faculty.getId(), null));
+			} catch (IllegalArgumentException e) {
+				for (Course c : courses) {
+					schedule.addCourseToSchedule(c);
+				}
+				throw e;
+			}
+		} finally {
+			unlockFaculty();
 		}
 	}
 	
@@ -162,10 +320,17 @@ public class RegistrationManager {
 	 * @return instance the single instance of RegistrationManager
 	 */
 	public static RegistrationManager getInstance() {
-		if (instance == null) {
-			instance = new RegistrationManager();
+		RegistrationManager manager = instance;
+		if (manager == null) {
+			synchronized (RegistrationManager.class) {
+				manager = instance;
+				if (manager == null) {
+					manager = new RegistrationManager();
+					instance = manager;
+				}
+			}
 		}
-		return instance;
+		return manager;
 	}
 	
 	/**
@@ -205,7 +370,7 @@ public class RegistrationManager {
 	public boolean login(String id, String password) {
 		String localHashPW = hashPW(password);
 		Student s = studentDirectory.getStudentById(id);
-		Faculty f = facultyDirectory.getFacultyById(id);
+		Faculty f = s == null ? facultyDirectory.getFacultyById(id) : null;
         if (registrar.getId().equals(id)) {
 			if (registrar.getPassword().hashCode() == localHashPW.hashCode() && !(currentUser instanceof Student)) {
 				currentUser = registrar;
@@ -233,6 +398,140 @@ public class RegistrationManager {
 		}
 	}
 
+	/**
+	 * Logs a user in without changing the current user, and returns a session that
+	 * identifies them to the enroll, drop, and faculty assignment methods. Any number of
+	 * sessions can be open at once, including more than one for the same user.
+	 * @param id the id of the user logging in
+	 * @param password the password of the user logging in
+	 * @return session for the user, or null if the password is incorrect
+	 * @throws IllegalArgumentException if no user has the given id
+	 */
+	public Session startSession(String id, String password) {
+		String localHashPW = hashPW(password);
+		User user;
+		if (registrar.getId().equals(id)) {
+			user = registrar;
+		} else {
+			user = studentDirectory.getStudentById(id);
+			if (user == null) {
+				user = facultyDirectory.getFacultyById(id);
+			}
+		}
+		if (user == null) {
+			throw new IllegalArgumentException("User doesn't exist.");
+		}
+		if (!user.getPassword().equals(localHashPW)) {
+			return null;
+		}
+		byte[] bytes = new byte[16];
+		tokenSource.nextBytes(bytes);
+		Session session = new Session(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), user);
+		userSessions.compute(user.getId(), (key, open) -> {
+			List<Session> list = open == null ? new ArrayList<Session>() : open;
+			if (list.size() >= MAX_SESSIONS_PER_USER) {
+				Session oldest = list.get(0);
+				for (Session s : list) {
+					if (s.getLastAccess() - oldest.getLastAccess() < 0) {
+						oldest = s;
+					}
+				}
+				list.remove(oldest);
+				sessions.remove(oldest.getToken(), oldest);
+			}
+			list.add(session);
+			sessions.put(session.getToken(), session);
+			return list;
+		});
+		sweepSessions(System.nanoTime());
+		return session;
+	}
+	
+	/**
+	 * Sets how long a session can go unused before it is ended. Sessions already open
+	 * are held to the new timeout.
+	 * @param millis milliseconds a session can go unused
+	 * @throws IllegalArgumentException if millis is not positive
+	 */
+	public void setSessionTimeout(long millis) {
+		if (millis <= 0) {
+			throw new IllegalArgumentException("Invalid session timeout.");
+		}
+		sessionTimeout = TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+	
+	/**
+	 * Ends every session that has gone unused for longer than the session timeout, at
+	 * most once per timeout, so a sweep's cost is spread over the sessions started in
+	 * between. Only the thread that claims the sweep runs it.
+	 * @param now System.nanoTime to check sessions against
+	 */
+	private void sweepSessions(long now) {
+		long last = lastSweep.get();
+		if (now - last < sessionTimeout || !lastSweep.compareAndSet(last, now)) {
+			return;
+		}
+		for (Session session : sessions.values()) {
+			if (now - session.getLastAccess() > sessionTimeout) {
+				endSession(session);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the open session with the given token.
+	 * @param token token of the session
+	 * @return the session, or null if no open session has the token or the session has
+	 * gone unused for longer than the session timeout
+	 */
+	public Session getSession(String token) {
+		Session session = token == null ? null : sessions.get(token);
+		return session != null && use(session) ? session : null;
+	}
+	
+	/**
+	 * Ends a session. Later calls made with the session are rejected.
+	 * @param session session to end
+	 */
+	public void endSession(Session session) {
+		if (session != null) {
+			userSessions.computeIfPresent(session.getUser().getId(), (key, open) -> {
+				open.remove(session);
+				return open.isEmpty() ? null : open;
+			});
+			sessions.remove(session.getToken(), session);
+		}
+	}
+	
+	/**
+	 * Records a use of an open session, or ends the session if it has gone unused for
+	 * longer than the session timeout.
+	 * @param session open session being used
+	 * @return true if the session can still be used
+	 */
+	private boolean use(Session session) {
+		long now = System.nanoTime();
+		if (now - session.getLastAccess() > sessionTimeout) {
+			endSession(session);
+			return false;
+		}
+		session.touch(now);
+		return true;
+	}
+	
+	/**
+	 * Returns the user of an open session.
+	 * @param session session to check
+	 * @return user of the session
+	 * @throws IllegalArgumentException if the session is null, has been ended, or has expired
+	 */
+	private User userOf(Session session) {
+		if (session == null || sessions.get(session.getToken()) != session || !use(session)) {
+			throw new IllegalArgumentException("Illegal Action");
+		}
+		return session.getUser();
+	}
+
 	/**
 	 * Lets the user logout by setting the current user to null. 
 	 */
@@ -249,13 +548,71 @@ public class RegistrationManager {
 		return currentUser;
 	}
 	
+	/**
+	 * Saves the course catalog, student directory, and faculty directory, including
+	 * rolls, waitlists, and schedules, to a binary snapshot. If a journal is open, the
+	 * snapshot records the last journal entry it holds and the journal is emptied.
+	 * @param fileName file to write the snapshot to
+	 * @throws IllegalArgumentException if the file cannot be written
+	 */
+	public void saveSnapshot(String fileName) {
+		dataLock.writeLock().lock();
+		try {
+			long sequence = journal == null ? appliedSequence : journal.getLastSequence();
+			SnapshotIO.writeSnapshot(fileName, courseCatalog.getCourseList(), studentDirectory.getStudentList(),
+					facultyDirectory.getFacultyList(), sequence);
+			appliedSequence = sequence;
+			if (journal != null) {
+				journal.truncate(sequence);
+			}
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to write to file " + fileName);
+		} finally {
+			dataLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Replaces the course catalog, student directory, and faculty directory with the
+	 * contents of a binary snapshot written by saveSnapshot.
+	 * @param fileName file to read the snapshot from
+	 * @throws IllegalArgumentException if the file cannot be read
+	 */
+	public void loadSnapshot(String fileName) {
+		Snapshot snapshot;
+		try {
+			snapshot = SnapshotIO.readSnapshot(fileName);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Unable to read file " + fileName);
+		}
+		dataLock.writeLock().lock();
+		try {
+			facultyDirectory.loadFaculty(snapshot.getFaculty());
+			studentDirectory.loadStudents(snapshot.getStudents());
+			courseCatalog.loadCourses(snapshot.getCourses());
+			appliedSequence = snapshot.getJournalSequence();
+		} finally {
+			dataLock.writeLock().unlock();
+		}
+	}
+	
 	/**
 	 * Clears course and student data by resetting courseCatalog and studentDirectory.
+	 * Any open journal is closed and every open session is ended.
 	 */
 	public void clearData() {
-		courseCatalog = new CourseCatalog();
-		studentDirectory = new StudentDirectory();
-		facultyDirectory = new FacultyDirectory();
+		dataLock.writeLock().lock();
+		try {
+			closeJournal();
+			appliedSequence = 0;
+			sessions.clear();
+			userSessions.clear();
+			courseCatalog = new CourseCatalog();
+			studentDirectory = new StudentDirectory();
+			facultyDirectory = new FacultyDirectory();
+		} finally {
+			dataLock.writeLock().unlock();
+		}
 	}
 	
 	/**
@@ -264,17 +621,299 @@ public class RegistrationManager {
 	 * @return true if enrolled
 	 */
 	public boolean enrollStudentInCourse(Course c) {
-	    if (!(currentUser instanceof Student)) {
+	    return enrollStudentInCourse(currentUser, c);
+	}
+	
+	/**
+	 * Enrolls the student the session belongs to in the given course.
+	 * @param session session of the student
+	 * @param c Course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException if the session is not an open student session
+	 */
+	public boolean enrollStudentInCourse(Session session, Course c) {
+	    return enrollStudentInCourse(userOf(session), c);
+	}
+	
+	/**
+	 * Enrolls the user in the given course if they are a student.
+	 * @param user user to enroll
+	 * @param c Course to enroll in
+	 * @return true if enrolled
+	 * @throws IllegalArgumentException if the enroll cannot be journaled, in which case
+	 * it is not made
+	 */
+	private boolean enrollStudentInCourse(User user, Course c) {
+	    if (!(user instanceof Student)) {
 	        throw new IllegalArgumentException("Illegal Action");
 	    }
+	    EnrollmentRequest request = new EnrollmentRequest(true, (Student)user, c);
+	    CourseRoll roll = c.getCourseRoll();
+	    // Claim a seat before locking, and turn the student away at once if the section and waitlist are full
+	    request.reserved = roll.reserveSeat();
+	    if (!request.reserved && roll.isWaitlistFull()) {
+	        return false;
+	    }
+	    applyBatch(c, List.of(request));
+	    if (request.error != null) {
+	        throw request.error;
+	    }
+	    return request.result;
+	}
+	
+	/**
+	 * Applies an enroll request using a seat claimed for it, if any. The change is
+	 * journaled before it is made, so a request that cannot be journaled changes nothing.
+	 * The course's roll must be locked; the student's schedule is locked here.
+	 * @param request request to apply, which is given its result and journal sequence number
+	 * @param reserved true if a seat was claimed for the student
+	 * @throws IllegalArgumentException if the enroll cannot be journaled
+	 */
+	private void applyEnroll(EnrollmentRequest request, boolean reserved) {
+	    Lock scheduleLock = request.student.getSchedule().getLock();
 	    try {
-	        Student s = (Student)currentUser;
-	        Schedule schedule = s.getSchedule();
-	        CourseRoll roll = c.getCourseRoll();
-	        
-	        if (s.canAdd(c) && roll.canEnroll(s)) {
-	            schedule.addCourseToSchedule(c);
-	            roll.enroll(s);
+	        scheduleLock.lock();
+	        try {
+	            if (canEnroll(request.student, request.course, reserved)) {
+	                request.sequence = log(EnrollmentJournal.ENROLL, request.student.getId(), request.course);
+	                request.result = enroll(request.student, request.course, reserved);
+	                // A claimed seat always goes to the student, so without one the student was waitlisted
+	                request.waitlisted = request.result && !reserved;
+	            }
+	        } finally {
+	            scheduleLock.unlock();
+	        }
+	    } finally {
+	        // Hand the seat back after the schedule lock is released, since it may promote another student
+	        if (reserved && !request.result) {
+	            request.course.getCourseRoll().releaseSeat();
+	        }
+	    }
+	}
+	
+	/**
+	 * Applies a batch of enroll and drop requests for one course, in order, taking the
+	 * course's roll lock once for the whole batch. Each request is given its result, its
+	 * journal sequence number, and any exception it raised.
+	 * 
+	 * The roll lock is held until the batch is on disk, so no other thread can build on
+	 * a change that is not. Enrolls are journaled as they are made and synced once at the
+	 * end of the batch; if that sync fails, the roll is put back as it was and the course
+	 * is taken out of each enrolled student's schedule, and those requests fail with the
+	 * journal's exception. A drop is journaled and synced, together with the enrolls
+	 * before it, before it is made, since the course could not safely be put back in the
+	 * student's schedule.
+	 * @param c course every request in the batch is for
+	 * @param batch requests to apply
+	 */
+	void applyBatch(Course c, List<EnrollmentRequest> batch) {
+	    CourseRoll roll = c.getCourseRoll();
+	    Course[] locked = lockCourses(c);
+	    try {
+	        List<EnrollmentRequest> unsynced = new ArrayList<EnrollmentRequest>();
+	        Student[] enrolled = roll.getEnrolledStudents();
+	        Student[] waitlisted = roll.getWaitlistedStudents();
+	        for (EnrollmentRequest request : batch) {
+	            try {
+	                if (!request.enroll) {
+	                    long sequence = log(EnrollmentJournal.DROP, request.student.getId(), c);
+	                    commit(roll, unsynced, enrolled, waitlisted, sequence);
+	                    request.sequence = sequence;
+	                    request.result = drop(request.student, c);
+	                    enrolled = roll.getEnrolledStudents();
+	                    waitlisted = roll.getWaitlistedStudents();
+	                } else {
+	                    boolean reserved = request.reserved || roll.reserveSeat();
+	                    if (reserved || !roll.isWaitlistFull()) {
+	                        applyEnroll(request, reserved);
+	                    }
+	                    if (request.result && request.sequence != 0) {
+	                        unsynced.add(request);
+	                    }
+	                }
+	            } catch (RuntimeException e) {
+	                request.error = e;
+	            }
+	        }
+	        long sequence = 0;
+	        for (EnrollmentRequest request : unsynced) {
+	            sequence = Math.max(sequence, request.sequence);
+	        }
+	        try {
+	            commit(roll, unsynced, enrolled, waitlisted, sequence);
+	        } catch (IllegalArgumentException e) {
+	            // The failed enrolls were marked by commit
+	        }
+	    } finally {
+	        unlockCourses(locked);
+	    }
+	}
+	
+	/**
+	 * Syncs the journal through the given sequence number. If the sync fails, undoes the
+	 * given enrolls, which were made since the roll was in the given state and are
+	 * journaled at or before that sequence number, and marks them failed. The course's
+	 * roll must be locked.
+	 * @param roll roll of the course the enrolls were for
+	 * @param unsynced enrolls made since the last sync, in the order they were made;
+	 * cleared once they are on disk or undone
+	 * @param enrolled Students enrolled before the first of the enrolls
+	 * @param waitlisted Students waitlisted before the first of the enrolls
+	 * @param sequence sequence number to sync through
+	 * @throws IllegalArgumentException if the journal cannot be synced
+	 */
+	private void commit(CourseRoll roll, List<EnrollmentRequest> unsynced, Student[] enrolled, Student[] waitlisted, long sequence) {
+	    try {
+	        sync(sequence);
+	    } catch (IllegalArgumentException e) {
+	        roll.rollback(enrolled, waitlisted);
+	        for (int i = unsynced.size() - 1; i >= 0; i--) {
+	            EnrollmentRequest request = unsynced.get(i);
+	            request.student.getSchedule().removeCourseFromSchedule(request.course);
+	            request.result = false;
+	            request.waitlisted = false;
+	            request.error = e;
+	        }
+	        throw e;
+	    } finally {
+	        unsynced.clear();
+	    }
+	}
+	
+	/**
+	 * Enrolls students in courses in bulk as the logged in registrar.
+	 * @param rows rows of student id, course name, and section
+	 * @return result of each row
+	 */
+	public BulkEnrollmentReport bulkEnroll(String[][] rows) {
+	    return bulkEnroll(currentUser, rows);
+	}
+	
+	/**
+	 * Enrolls students in courses in bulk as the registrar the session belongs to, such
+	 * as for enrolling a cohort of new students.
+	 * @param session session of the registrar
+	 * @param rows rows of student id, course name, and section
+	 * @return result of each row
+	 * @throws IllegalArgumentException if the session is not an open registrar session
+	 */
+	public BulkEnrollmentReport bulkEnroll(Session session, String[][] rows) {
+	    return bulkEnroll(userOf(session), rows);
+	}
+	
+	/**
+	 * Enrolls students in courses in bulk if the user is the registrar. Students and
+	 * courses are looked up through the directory and catalog indexes, and the rows are
+	 * grouped by course. Courses are enrolled in parallel on the common fork-join pool;
+	 * the rows for each course are applied in order in chunks of BULK_CHUNK, each taking
+	 * the course's roll lock once, so other students can enroll between chunks. Each row
+	 * is checked exactly as enrollStudentInCourse checks it. Each chunk is synced to the
+	 * journal before its roll lock is released; rows whose chunk cannot be journaled are
+	 * undone and reported as failed, and the report is still returned.
+	 * @param user user making the change
+	 * @param rows rows of student id, course name, and section
+	 * @return result of each row
+	 */
+	private BulkEnrollmentReport bulkEnroll(User user, String[][] rows) {
+	    if (user == null || user != registrar) {
+	        throw new IllegalArgumentException("Illegal Action");
+	    }
+	    BulkEnrollmentReport report = new BulkEnrollmentReport(rows.length);
+	    EnrollmentRequest[] requests = new EnrollmentRequest[rows.length];
+	    IdentityHashMap<Course, List<EnrollmentRequest>> byCourse = new IdentityHashMap<Course, List<EnrollmentRequest>>();
+	    for (int i = 0; i < rows.length; i++) {
+	        String[] row = rows[i];
+	        if (row == null || row.length != 3 || row[0] == null || row[1] == null || row[2] == null) {
+	            report.setStatus(i, BulkEnrollmentReport.INVALID_ROW);
+	            continue;
+	        }
+	        Student s = studentDirectory.getStudentById(row[0]);
+	        Course c = courseCatalog.getCourseFromCatalog(row[1], row[2]);
+	        if (s == null) {
+	            report.setStatus(i, BulkEnrollmentReport.UNKNOWN_STUDENT);
+	        } else if (c == null) {
+	            report.setStatus(i, BulkEnrollmentReport.UNKNOWN_COURSE);
+	        } else {
+	            requests[i] = new EnrollmentRequest(true, s, c);
+	            byCourse.computeIfAbsent(c, k -> new ArrayList<EnrollmentRequest>()).add(requests[i]);
+	        }
+	    }
+	    byCourse.entrySet().parallelStream().forEach(group -> {
+	        List<EnrollmentRequest> batch = group.getValue();
+	        for (int from = 0; from < batch.size(); from += BULK_CHUNK) {
+	            List<EnrollmentRequest> chunk = batch.subList(from, Math.min(batch.size(), from + BULK_CHUNK));
+	            try {
+	                applyBatch(group.getKey(), chunk);
+	            } catch (RuntimeException e) {
+	                for (EnrollmentRequest request : chunk) {
+	                    if (request.error == null && !request.result) {
+	                        request.error = e;
+	                    }
+	                }
+	            }
+	        }
+	    });
+	    for (int i = 0; i < requests.length; i++) {
+	        EnrollmentRequest request = requests[i];
+	        if (request == null) {
+	            continue;
+	        }
+	        if (request.error != null) {
+	            report.setFailed(i, request.error.getMessage());
+	        } else if (!request.result) {
+	            report.setStatus(i, BulkEnrollmentReport.NOT_ENROLLED);
+	        } else {
+	            report.setStatus(i, request.waitlisted ? BulkEnrollmentReport.WAITLISTED : BulkEnrollmentReport.ENROLLED);
+	        }
+	    }
+	    return report;
+	}
+	
+	/**
+	 * Returns the student a session belongs to.
+	 * @param session session to check
+	 * @return the session's student
+	 * @throws IllegalArgumentException if the session is not an open student session
+	 */
+	Student studentOf(Session session) {
+	    User user = userOf(session);
+	    if (!(user instanceof Student)) {
+	        throw new IllegalArgumentException("Illegal Action");
+	    }
+	    return (Student)user;
+	}
+	
+	/**
+	 * Enrolls the student in the given course, claiming a seat for them first. Used when
+	 * replaying the journal, while no other thread can change the roll.
+	 * @param s Student to enroll
+	 * @param c Course to enroll in
+	 * @return true if enrolled
+	 */
+	private boolean enroll(Student s, Course c) {
+	    CourseRoll roll = c.getCourseRoll();
+	    boolean reserved = roll.reserveSeat();
+	    boolean enrolled = enroll(s, c, reserved);
+	    if (reserved && !enrolled) {
+	        roll.releaseSeat();
+	    }
+	    return enrolled;
+	}
+	
+	/**
+	 * Enrolls the student in the given course if the student can add it and the course
+	 * roll can take the student. The course's roll and the student's schedule must be locked.
+	 * A claimed seat that is not filled is left for the caller to hand back.
+	 * @param s Student to enroll
+	 * @param c Course to enroll in
+	 * @param reserved true if a seat was claimed for the student
+	 * @return true if enrolled
+	 */
+	private boolean enroll(Student s, Course c, boolean reserved) {
+	    try {
+	        if (canEnroll(s, c, reserved)) {
+	            s.getSchedule().addCourseToSchedule(c);
+	            c.getCourseRoll().enroll(s, reserved);
 	            return true;
 	        }
 	        
@@ -283,6 +922,24 @@ public class RegistrationManager {
 	    }
 	    return false;
 	}
+	
+	/**
+	 * Returns true if the student can add the given course and the course roll can take
+	 * the student. The course's roll and the student's schedule must be locked.
+	 * @param s Student to enroll
+	 * @param c Course to enroll in
+	 * @param reserved true if a seat was claimed for the student
+	 * @return true if the student can enroll
+	 */
+	private boolean canEnroll(Student s, Course c, boolean reserved) {
+	    try {
+	        CourseRoll roll = c.getCourseRoll();
+	        // Without a seat the student is waitlisted, even if the roll is short of seats claimed by others
+	        return s.canAdd(c) && roll.canEnroll(s) && (reserved || !roll.isWaitlistFull());
+	    } catch (IllegalArgumentException e) {
+	        return false;
+	    }
+	}
 
 	/**
 	 * Returns true if the logged in student can drop the given course.
@@ -290,11 +947,51 @@ public class RegistrationManager {
 	 * @return true if dropped
 	 */
 	public boolean dropStudentFromCourse(Course c) {
-	    if (!(currentUser instanceof Student)) {
+	    return dropStudentFromCourse(currentUser, c);
+	}
+	
+	/**
+	 * Drops the given course for the student the session belongs to.
+	 * @param session session of the student
+	 * @param c Course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException if the session is not an open student session
+	 */
+	public boolean dropStudentFromCourse(Session session, Course c) {
+	    return dropStudentFromCourse(userOf(session), c);
+	}
+	
+	/**
+	 * Drops the given course for the user if they are a student.
+	 * @param user user dropping the course
+	 * @param c Course to drop
+	 * @return true if dropped
+	 * @throws IllegalArgumentException if the drop cannot be journaled, in which case
+	 * it is not made
+	 */
+	private boolean dropStudentFromCourse(User user, Course c) {
+	    if (!(user instanceof Student)) {
 	        throw new IllegalArgumentException("Illegal Action");
 	    }
+	    EnrollmentRequest request = new EnrollmentRequest(false, (Student)user, c);
+	    applyBatch(c, List.of(request));
+	    if (request.error != null) {
+	        throw request.error;
+	    }
+	    return request.result;
+	}
+	
+	/**
+	 * Drops the student from the given course's roll or waitlist and removes the
+	 * course from the student's schedule. The course's roll must be locked. The
+	 * student's schedule must not be, since the roll takes the schedule lock of any
+	 * student it promotes from the waitlist, and only one schedule lock is held at a time.
+	 * @param s Student to drop
+	 * @param c Course to drop
+	 * @return true if dropped
+	 */
+	private boolean drop(Student s, Course c) {
 	    try {
-	        Student s = (Student)currentUser;
 	        c.getCourseRoll().drop(s);
 	        return s.getSchedule().removeCourseFromSchedule(c);
 	    } catch (IllegalArgumentException e) {
@@ -302,20 +999,148 @@ public class RegistrationManager {
 	    }
 	}
 
+	/**
+	 * Swaps a course in the logged in student's schedule for another section or course.
+	 * @param dropCourse Course to give up
+	 * @param addCourse Course to take in its place
+	 * @return true if swapped
+	 */
+	public boolean swapStudentCourse(Course dropCourse, Course addCourse) {
+	    return swapStudentCourse(currentUser, dropCourse, addCourse);
+	}
+	
+	/**
+	 * Swaps a course in the schedule of the student the session belongs to for another
+	 * section or course.
+	 * @param session session of the student
+	 * @param dropCourse Course to give up
+	 * @param addCourse Course to take in its place
+	 * @return true if swapped
+	 * @throws IllegalArgumentException if the session is not an open student session
+	 */
+	public boolean swapStudentCourse(Session session, Course dropCourse, Course addCourse) {
+	    return swapStudentCourse(userOf(session), dropCourse, addCourse);
+	}
+	
+	/**
+	 * Swaps a course in the user's schedule for another if they are a student. The swap
+	 * only happens if the student gets a seat in the new course, not a waitlist spot,
+	 * and could add the new course to their schedule without the old one. Both rolls are
+	 * locked for the whole swap, and the seat in the new course is claimed before the old
+	 * seat is given up, so no other student can take either seat part way through and the
+	 * student never ends up with neither course. The swap is journaled and synced before
+	 * it is made.
+	 * @param user user swapping courses
+	 * @param dropCourse Course to give up
+	 * @param addCourse Course to take in its place
+	 * @return true if swapped
+	 * @throws IllegalArgumentException if the swap cannot be journaled, in which case
+	 * it is not made
+	 */
+	private boolean swapStudentCourse(User user, Course dropCourse, Course addCourse) {
+	    if (!(user instanceof Student) || dropCourse == null || addCourse == null) {
+	        throw new IllegalArgumentException("Illegal Action");
+	    }
+	    Student s = (Student)user;
+	    CourseRoll addRoll = addCourse.getCourseRoll();
+	    if (dropCourse == addCourse || !addRoll.reserveSeat()) {
+	        return false;
+	    }
+	    boolean swapped = false;
+	    Course[] locked = lockCourses(dropCourse, addCourse);
+	    try {
+	        Lock scheduleLock = s.getSchedule().getLock();
+	        scheduleLock.lock();
+	        try {
+	            if (s.canReplace(dropCourse, addCourse) && addRoll.canEnroll(s)) {
+	                // Replaying the drop first lets the enroll pass the duplicate course check
+	                log(EnrollmentJournal.DROP, s.getId(), dropCourse);
+	                sync(log(EnrollmentJournal.ENROLL, s.getId(), addCourse));
+	                swapped = s.getSchedule().replaceCourse(dropCourse, addCourse);
+	                if (swapped) {
+	                    addRoll.enroll(s, true);
+	                }
+	            }
+	        } finally {
+	            scheduleLock.unlock();
+	            if (!swapped) {
+	                addRoll.releaseSeat();
+	            }
+	        }
+	        if (swapped) {
+	            // The old seat goes to the waitlist only once the new one is taken
+	            try {
+	                dropCourse.getCourseRoll().drop(s);
+	            } catch (IllegalArgumentException e) {
+	                // The student is off the roll; only promoting from the waitlist failed
+	            }
+	        }
+	    } finally {
+	        unlockCourses(locked);
+	    }
+	    return swapped;
+	}
+
 	/**
 	 * Resets the logged in student's schedule by dropping them
 	 * from every course and then resetting the schedule.
 	 */
 	public void resetSchedule() {
-	    if (!(currentUser instanceof Student)) {
+	    resetSchedule(currentUser);
+	}
+	
+	/**
+	 * Resets the schedule of the student the session belongs to by dropping them from
+	 * every course and then resetting the schedule.
+	 * @param session session of the student
+	 * @throws IllegalArgumentException if the session is not an open student session
+	 */
+	public void resetSchedule(Session session) {
+	    resetSchedule(userOf(session));
+	}
+	
+	/**
+	 * Resets the user's schedule if they are a student. The reset is journaled and
+	 * synced before it is made.
+	 * @param user user whose schedule is reset
+	 * @throws IllegalArgumentException if the reset cannot be journaled, in which case
+	 * it is not made
+	 */
+	private void resetSchedule(User user) {
+	    if (!(user instanceof Student)) {
 	        throw new IllegalArgumentException("Illegal Action");
 	    }
+	    Student s = (Student)user;
+	    Schedule schedule = s.getSchedule();
+	    while (true) {
+	        Course[] locked = lockCourses(schedule.getCourses());
+	        schedule.getLock().lock();
+	        try {
+	            // Retry if the student's schedule changed before its courses were locked
+	            if (!sameCourses(locked, schedule.getCourses())) {
+	                continue;
+	            }
+	            sync(log(EnrollmentJournal.RESET, s.getId(), null));
+	            reset(s);
+	            break;
+	        } finally {
+	            schedule.getLock().unlock();
+	            unlockCourses(locked);
+	        }
+	    }
+	}
+	
+	/**
+	 * Drops the student from every course in their schedule and then resets the schedule.
+	 * The rolls of those courses and the student's schedule must be locked. Waitlisted
+	 * courses are in the schedule as well, so no other thread can be promoting the
+	 * student and waiting for the schedule lock.
+	 * @param s Student whose schedule is reset
+	 */
+	private void reset(Student s) {
 	    try {
-	        Student s = (Student)currentUser;
 	        Schedule schedule = s.getSchedule();
-	        String [][] scheduleArray = schedule.getScheduledCourses();
-	        for (int i = 0; i < scheduleArray.length; i++) {
-	            Course c = courseCatalog.getCourseFromCatalog(scheduleArray[i][0], scheduleArray[i][1]);
+	        for (Course c : schedule.getCourses()) {
 	            c.getCourseRoll().drop(s);
 	        }
 	        schedule.resetSchedule();
@@ -323,5 +1148,204 @@ public class RegistrationManager {
 	        //do nothing 
 	    }
 	}
+	
+	/**
+	 * Opens the enrollment journal at the given file, creating it if needed, and replays
+	 * the changes in it that are newer than the loaded snapshot. Every later enroll, drop,
+	 * reset, and faculty assignment is written to the journal before the method making it
+	 * returns, so the current state can be rebuilt after a crash by loading the last
+	 * snapshot and opening the journal again.
+	 * @param fileName journal file
+	 * @throws IllegalArgumentException if the journal cannot be read
+	 */
+	public void openJournal(String fileName) {
+	    dataLock.writeLock().lock();
+	    try {
+	        closeJournal();
+	        EnrollmentJournal opened;
+	        try {
+	            opened = new EnrollmentJournal(fileName, appliedSequence);
+	        } catch (IOException e) {
+	            throw new IllegalArgumentException("Unable to read file " + fileName);
+	        }
+	        for (EnrollmentJournal.Entry entry : opened.getEntries()) {
+	            if (entry.getSequence() > appliedSequence) {
+	                replay(entry);
+	            }
+	        }
+	        appliedSequence = opened.getLastSequence();
+	        journal = opened;
+	    } finally {
+	        dataLock.writeLock().unlock();
+	    }
+	}
+	
+	/**
+	 * Closes the enrollment journal if one is open. Changes made afterward are not journaled.
+	 * @throws IllegalArgumentException if buffered entries cannot be written
+	 */
+	public void closeJournal() {
+	    dataLock.writeLock().lock();
+	    try {
+	        if (journal != null) {
+	            EnrollmentJournal closing = journal;
+	            journal = null;
+	            appliedSequence = closing.getLastSequence();
+	            try {
+	                closing.close();
+	            } catch (IOException e) {
+	                throw new IllegalArgumentException("Unable to write to journal");
+	            }
+	        }
+	    } finally {
+	        dataLock.writeLock().unlock();
+	    }
+	}
+	
+	/**
+	 * Applies a journaled change to the current state. Changes referring to a user or
+	 * course that no longer exists are skipped.
+	 * @param entry change to apply
+	 */
+	private void replay(EnrollmentJournal.Entry entry) {
+	    Course c = entry.getName() == null ? null : courseCatalog.getCourseFromCatalog(entry.getName(), entry.getSection());
+	    switch (entry.getType()) {
+	        case EnrollmentJournal.ENROLL:
+	        case EnrollmentJournal.DROP:
+	        case EnrollmentJournal.RESET:
+	            Student s = studentDirectory.getStudentById(entry.getUserId());
+	            if (s == null) {
+	                return;
+	            }
+	            if (entry.getType() == EnrollmentJournal.RESET) {
+	                reset(s);
+	            } else if (c != null && entry.getType() == EnrollmentJournal.ENROLL) {
+	                enroll(s, c);
+	            } else if (c != null) {
+	                drop(s, c);
+	            }
+	            break;
+	        default:
+	            Faculty f = facultyDirectory.getFacultyById(entry.getUserId());
+	            if (f == null) {
+	                return;
+	            }
+	            try {
+	                if (entry.getType() == EnrollmentJournal.RESET_FACULTY) {
+	                    f.getSchedule().resetSchedule();
+	                } else if (c != null && entry.getType() == EnrollmentJournal.ASSIGN_FACULTY) {
+	                    f.getSchedule().addCourseToSchedule(c);
+	                } else if (c != null && entry.getType() == EnrollmentJournal.REMOVE_FACULTY) {
+	                    f.getSchedule().removeCourseFromSchedule(c);
+	                }
+	            } catch (IllegalArgumentException e) {
+	                // The assignment failed when it was first made as well
+	            }
+	    }
+	}
+	
+	/**
+	 * Takes the read half of the data lock and then the roll locks of the given courses,
+	 * in catalog order so that threads locking more than one course cannot deadlock.
+	 * @param courses courses to lock
+	 * @return the courses in the order they were locked
+	 */
+	private Course[] lockCourses(Course... courses) {
+	    Course[] sorted = courses.clone();
+	    Arrays.sort(sorted, COURSE_LOCK_ORDER);
+	    dataLock.readLock().lock();
+	    for (Course c : sorted) {
+	        c.getCourseRoll().getLock().lock();
+	    }
+	    return sorted;
+	}
+	
+	/**
+	 * Releases the locks taken by lockCourses.
+	 * @param locked courses returned by lockCourses
+	 */
+	private void unlockCourses(Course[] locked) {
+	    for (int i = locked.length - 1; i >= 0; i--) {
+	        locked[i].getCourseRoll().getLock().unlock();
+	    }
+	    dataLock.readLock().unlock();
+	}
+	
+	/**
+	 * Returns true if the two arrays hold the same courses, ignoring order.
+	 * @param locked courses that were locked, in lock order
+	 * @param courses courses to compare
+	 * @return true if the arrays hold the same courses
+	 */
+	private static boolean sameCourses(Course[] locked, Course[] courses) {
+	    if (locked.length != courses.length) {
+	        return false;
+	    }
+	    Course[] sorted = courses.clone();
+	    Arrays.sort(sorted, COURSE_LOCK_ORDER);
+	    for (int i = 0; i < sorted.length; i++) {
+	        if (sorted[i] != locked[i]) {
+	            return false;
+	        }
+	    }
+	    return true;
+	}
+	
+	/**
+	 * Takes the locks held while a faculty schedule changes.
+	 */
+	private void lockFaculty() {
+	    dataLock.readLock().lock();
+	    facultyLock.lock();
+	}
+	
+	/**
+	 * Releases the locks taken by lockFaculty.
+	 */
+	private void unlockFaculty() {
+	    facultyLock.unlock();
+	    dataLock.readLock().unlock();
+	}
+	
+	/**
+	 * Buffers a change in the journal, if one is open. Called while the locks the change
+	 * is made under are held, so changes are journaled in the order they are applied.
+	 * @param type type of change
+	 * @param userId id of the student or faculty member the change applies to
+	 * @param c course the change applies to, or null
+	 * @return sequence number of the change, or 0 if no journal is open
+	 * @throws IllegalArgumentException if the change cannot be written
+	 */
+	private long log(byte type, String userId, Course c) {
+	    EnrollmentJournal j = journal;
+	    if (j == null) {
+	        return 0;
+	    }
+	    try {
+	        return j.log(type, userId, c == null ? null : c.getName(), c == null ? null : c.getSection());
+	    } catch (IOException e) {
+	        throw new IllegalArgumentException("Unable to write to journal");
+	    }
+	}
+	
+	/**
+	 * Waits until a change buffered by log is on disk. Called before the locks the change
+	 * is made under are released, so no other thread can build on a change that is then
+	 * lost; changes buffered by threads holding other locks are forced to disk together
+	 * with this one.
+	 * @param sequence sequence number returned by log
+	 * @throws IllegalArgumentException if the change cannot be written
+	 */
+	void sync(long sequence) {
+	    EnrollmentJournal j = journal;
+	    if (sequence == 0 || j == null) {
+	        return;
+	    }
+	    try {
+	        j.sync(sequence);
+	    } catch (IOException e) {
+	        throw new IllegalArgumentException("Unable to write to journal");
+	    }
+	}
 
 }
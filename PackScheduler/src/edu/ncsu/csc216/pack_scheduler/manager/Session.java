@@ -0,0 +1,65 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import edu.ncsu.csc216.pack_scheduler.user.User;
+
+/**
+ * Handle for a user logged into the RegistrationManager. Any number of sessions can be
+ * open at once, one per user that logged in through RegistrationManager.startSession,
+ * and each is passed back to the manager to enroll, drop, or assign courses as that
+ * user. A session stops being accepted once it is ended, it has gone unused for longer
+ * than the manager's session timeout, its user opens too many newer sessions, or the
+ * manager's data is cleared.
+ */
+public final class Session {
+
+	/** Token identifying the session */
+	private final String token;
+	/** User the session belongs to */
+	private final User user;
+	/** System.nanoTime of the last time the session was used */
+	private volatile long lastAccess;
+
+	/**
+	 * Creates a session for the given user.
+	 * @param token token identifying the session
+	 * @param user user the session belongs to
+	 */
+	Session(String token, User user) {
+		this.token = token;
+		this.user = user;
+		this.lastAccess = System.nanoTime();
+	}
+
+	/**
+	 * Returns the token identifying the session, which can be handed to a client and
+	 * turned back into the session with RegistrationManager.getSession.
+	 * @return the session token
+	 */
+	public String getToken() {
+		return token;
+	}
+
+	/**
+	 * Returns the user the session belongs to.
+	 * @return the user
+	 */
+	public User getUser() {
+		return user;
+	}
+
+	/**
+	 * Returns when the session was last used.
+	 * @return System.nanoTime of the last use
+	 */
+	long getLastAccess() {
+		return lastAccess;
+	}
+
+	/**
+	 * Records that the session was used.
+	 * @param now System.nanoTime of the use
+	 */
+	void touch(long now) {
+		lastAccess = now;
+	}
+}
@@ -0,0 +1,549 @@
+package edu.ncsu.csc216.pack_scheduler.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.manager.EnrollmentPipeline;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+import edu.ncsu.csc216.pack_scheduler.manager.Session;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.user.User;
+import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
+
+/**
+ * Embedded HTTP front end for the RegistrationManager, so PackScheduler can run without
+ * the GUI. Every endpoint answers with JSON. Parameters are read from the query string
+ * and from form encoded request bodies, and every endpoint except login and catalog
+ * needs the token returned by login in an "Authorization: Bearer" header.
+ *
+ * <ul>
+ * <li>POST /login with id and password returns the session token and role</li>
+ * <li>POST /logout ends the session</li>
+ * <li>GET /catalog lists every course with its open seats</li>
+ * <li>POST /enroll and POST /drop with name and section enroll in or drop a course</li>
+ * <li>GET /schedule returns the student's or faculty member's schedule</li>
+ * <li>POST /faculty/assign and POST /faculty/remove with name, section, and faculty
+ * assign a course to, or remove it from, a faculty member's schedule</li>
+ * </ul>
+ *
+ * Requests run on a virtual thread each when the JDK provides them, and on a cached
+ * thread pool otherwise. Enroll and drop requests go through an EnrollmentPipeline, so
+ * a burst of requests for one course is applied in batches. Every response is sent with
+ * its exact length so connections stay open for the client's next request.
+ */
+public class RegistrationServer implements AutoCloseable {
+
+	/** Port the server listens on when none is given */
+	public static final int DEFAULT_PORT = 8080;
+	/** Connections the server lets wait to be accepted */
+	private static final int BACKLOG = 1024;
+	/** Charset of request parameters and response bodies */
+	private static final Charset UTF8 = StandardCharsets.UTF_8;
+	/** Prefix of the Authorization header holding a session token */
+	private static final String BEARER = "Bearer ";
+	/** HTTP status for a successful request */
+	private static final int OK = 200;
+	/** HTTP status for a request with missing or invalid parameters */
+	private static final int BAD_REQUEST = 400;
+	/** HTTP status for a request without an open session */
+	private static final int UNAUTHORIZED = 401;
+	/** HTTP status for a request naming a course or user that does not exist */
+	private static final int NOT_FOUND = 404;
+	/** HTTP status for a request using the wrong method */
+	private static final int METHOD_NOT_ALLOWED = 405;
+	/** HTTP status for a request an endpoint failed on unexpectedly */
+	private static final int INTERNAL_ERROR = 500;
+	/** HTTP status for a request that could not be finished */
+	private static final int UNAVAILABLE = 503;
+
+	/** Manager requests are made against */
+	private final RegistrationManager manager;
+	/** Pipeline enroll and drop requests go through */
+	private final EnrollmentPipeline pipeline;
+	/** Executor requests are handled on */
+	private final ExecutorService executor;
+	/** Underlying JDK server */
+	private final HttpServer server;
+
+	/**
+	 * Creates a server for the manager bound to the given address. The server does not
+	 * accept requests until it is started.
+	 * @param manager manager requests are made against
+	 * @param address address to listen on, with port 0 for any free port
+	 * @throws IOException if the address cannot be bound
+	 */
+	public RegistrationServer(RegistrationManager manager, InetSocketAddress address) throws IOException {
+		this.manager = manager;
+		this.server = HttpServer.create(address, BACKLOG);
+		this.executor = newExecutor();
+		this.pipeline = new EnrollmentPipeline(manager);
+		server.setExecutor(executor);
+		route("/login", "POST", this::login);
+		route("/logout", "POST", this::logout);
+		route("/catalog", "GET", this::catalog);
+		route("/enroll", "POST", this::enroll);
+		route("/drop", "POST", this::drop);
+		route("/schedule", "GET", this::schedule);
+		route("/faculty/assign", "POST", this::assignFaculty);
+		route("/faculty/remove", "POST", this::removeFaculty);
+	}
+
+	/**
+	 * Starts accepting requests.
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Returns the address the server is listening on.
+	 * @return the bound address
+	 */
+	public InetSocketAddress getAddress() {
+		return server.getAddress();
+	}
+
+	/**
+	 * Stops accepting requests, lets the requests in progress finish, and stops the
+	 * enrollment pipeline.
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdown();
+		pipeline.close();
+	}
+
+	/**
+	 * Returns an executor that runs each task on a new virtual thread, or a cached thread
+	 * pool if the JDK does not have virtual threads.
+	 * @return executor for requests
+	 */
+	private static ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * Handles the requests for one path and method.
+	 */
+	private interface Endpoint {
+		/**
+		 * Handles a request.
+		 * @param exchange the request
+		 * @param params query and form parameters of the request
+		 * @return JSON body of the response
+		 */
+		String handle(HttpExchange exchange, Map<String, String> params);
+	}
+
+	/**
+	 * Signals that a request fails with the given HTTP status.
+	 */
+	private static class StatusException extends RuntimeException {
+		/** ID used for serialization */
+		private static final long serialVersionUID = 1L;
+		/** HTTP status of the response */
+		private final int status;
+
+		/**
+		 * Creates the exception.
+		 * @param status HTTP status of the response
+		 * @param message error reported to the client
+		 */
+		StatusException(int status, String message) {
+			super(message);
+			this.status = status;
+		}
+	}
+
+	/**
+	 * Registers an endpoint for an exact path and method. Requests for the path with
+	 * another method are answered with 405, and exceptions thrown by the endpoint are
+	 * answered with a JSON error, using 500 for any exception an endpoint does not
+	 * raise on purpose, so the client always gets a response and keeps its connection.
+	 * @param path path of the endpoint
+	 * @param method HTTP method the endpoint accepts
+	 * @param endpoint the endpoint
+	 */
+	private void route(String path, String method, Endpoint endpoint) {
+		server.createContext(path, exchange -> {
+			int status = OK;
+			String body;
+			try {
+				Map<String, String> params = params(exchange);
+				if (!path.equals(exchange.getRequestURI().getPath())) {
+					throw new StatusException(NOT_FOUND, "Not found");
+				}
+				if (!method.equals(exchange.getRequestMethod())) {
+					exchange.getResponseHeaders().set("Allow", method);
+					throw new StatusException(METHOD_NOT_ALLOWED, "Method not allowed");
+				}
+				body = endpoint.handle(exchange, params);
+			} catch (StatusException e) {
+				status = e.status;
+				body = error(e.getMessage());
+			} catch (IllegalArgumentException e) {
+				status = BAD_REQUEST;
+				body = error(e.getMessage() == null ? "Illegal Action" : e.getMessage());
+			} catch (RuntimeException | IOException e) {
+				status = INTERNAL_ERROR;
+				body = error("Internal server error");
+			}
+			respond(exchange, status, body);
+		});
+	}
+
+	/**
+	 * Sends a JSON response with its exact length, which lets the client reuse the
+	 * connection.
+	 * @param exchange the request
+	 * @param status HTTP status
+	 * @param body JSON body
+	 * @throws IOException if the response cannot be sent
+	 */
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(UTF8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Reads the query string and the form encoded body of a request. The body is always
+	 * read to the end, so the connection is ready for the next request.
+	 * @param exchange the request
+	 * @return parameters by name
+	 * @throws IOException if the body cannot be read
+	 */
+	private static Map<String, String> params(HttpExchange exchange) throws IOException {
+		Map<String, String> params = new HashMap<String, String>();
+		parse(exchange.getRequestURI().getRawQuery(), params);
+		try (InputStream in = exchange.getRequestBody()) {
+			byte[] body = in.readAllBytes();
+			String type = exchange.getRequestHeaders().getFirst("Content-Type");
+			if (body.length > 0 && type != null && type.startsWith("application/x-www-form-urlencoded")) {
+				parse(new String(body, UTF8), params);
+			}
+		}
+		return params;
+	}
+
+	/**
+	 * Adds the parameters of a form encoded string to a map.
+	 * @param encoded form encoded parameters, or null
+	 * @param params map to add to
+	 */
+	private static void parse(String encoded, Map<String, String> params) {
+		if (encoded == null || encoded.isEmpty()) {
+			return;
+		}
+		for (String pair : encoded.split("&")) {
+			int eq = pair.indexOf('=');
+			String name = eq < 0 ? pair : pair.substring(0, eq);
+			String value = eq < 0 ? "" : pair.substring(eq + 1);
+			params.put(URLDecoder.decode(name, UTF8), URLDecoder.decode(value, UTF8));
+		}
+	}
+
+	/**
+	 * Returns a required parameter.
+	 * @param params parameters of the request
+	 * @param name name of the parameter
+	 * @return value of the parameter
+	 * @throws IllegalArgumentException if the parameter is missing or empty
+	 */
+	private static String param(Map<String, String> params, String name) {
+		String value = params.get(name);
+		if (value == null || value.isEmpty()) {
+			throw new IllegalArgumentException("Missing parameter " + name);
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the open session named by the request's Authorization header.
+	 * @param exchange the request
+	 * @return the session
+	 * @throws StatusException if the header is missing or the session is not open
+	 */
+	private Session session(HttpExchange exchange) {
+		String header = exchange.getRequestHeaders().getFirst("Authorization");
+		Session session = null;
+		if (header != null && header.startsWith(BEARER)) {
+			session = manager.getSession(header.substring(BEARER.length()).trim());
+		}
+		if (session == null) {
+			throw new StatusException(UNAUTHORIZED, "Not logged in");
+		}
+		return session;
+	}
+
+	/**
+	 * Returns the catalog course named by the name and section parameters.
+	 * @param params parameters of the request
+	 * @return the course
+	 * @throws StatusException if the course is not in the catalog
+	 */
+	private Course course(Map<String, String> params) {
+		Course c = manager.getCourseCatalog().getCourseFromCatalog(param(params, "name"), param(params, "section"));
+		if (c == null) {
+			throw new StatusException(NOT_FOUND, "Course not found");
+		}
+		return c;
+	}
+
+	/**
+	 * Logs a user in and returns a session token.
+	 * @param exchange the request
+	 * @param params id and password
+	 * @return token and role of the user
+	 */
+	private String login(HttpExchange exchange, Map<String, String> params) {
+		Session session;
+		try {
+			session = manager.startSession(param(params, "id"), param(params, "password"));
+		} catch (IllegalArgumentException e) {
+			session = null;
+		}
+		if (session == null) {
+			throw new StatusException(UNAUTHORIZED, "Invalid id or password");
+		}
+		return "{\"token\":" + quote(session.getToken()) + ",\"role\":" + quote(role(session.getUser())) + "}";
+	}
+
+	/**
+	 * Ends the request's session.
+	 * @param exchange the request
+	 * @param params unused
+	 * @return result of the request
+	 */
+	private String logout(HttpExchange exchange, Map<String, String> params) {
+		manager.endSession(session(exchange));
+		return result(true);
+	}
+
+	/**
+	 * Lists the course catalog.
+	 * @param exchange the request
+	 * @param params unused
+	 * @return the courses in the catalog
+	 */
+	private String catalog(HttpExchange exchange, Map<String, String> params) {
+		return courses(manager.getCourseCatalog().getCourseCatalog());
+	}
+
+	/**
+	 * Enrolls the session's student in a course.
+	 * @param exchange the request
+	 * @param params name and section of the course
+	 * @return true if the student was enrolled or waitlisted
+	 */
+	private String enroll(HttpExchange exchange, Map<String, String> params) {
+		Session session = session(exchange);
+		return result(await(pipeline.enroll(session, course(params))));
+	}
+
+	/**
+	 * Drops a course from the session's student's schedule.
+	 * @param exchange the request
+	 * @param params name and section of the course
+	 * @return true if the course was dropped
+	 */
+	private String drop(HttpExchange exchange, Map<String, String> params) {
+		Session session = session(exchange);
+		return result(await(pipeline.drop(session, course(params))));
+	}
+
+	/**
+	 * Returns the schedule of the session's student or faculty member.
+	 * @param exchange the request
+	 * @param params unused
+	 * @return title, credits, and courses of a student's schedule, or the courses of a
+	 * faculty member's schedule
+	 */
+	private String schedule(HttpExchange exchange, Map<String, String> params) {
+		User user = session(exchange).getUser();
+		if (user instanceof Student) {
+			Schedule schedule = ((Student) user).getSchedule();
+			return "{\"title\":" + quote(schedule.getTitle()) + ",\"credits\":" + schedule.getScheduleCredits()
+					+ ",\"courses\":" + courses(schedule.getScheduledCourses()) + "}";
+		}
+		if (user instanceof Faculty) {
+			return "{\"courses\":" + courses(((Faculty) user).getSchedule().getScheduledCourses()) + "}";
+		}
+		throw new IllegalArgumentException("Illegal Action");
+	}
+
+	/**
+	 * Assigns a course to a faculty member as the registrar.
+	 * @param exchange the request
+	 * @param params name and section of the course, and id of the faculty member
+	 * @return true if the course was assigned
+	 */
+	private String assignFaculty(HttpExchange exchange, Map<String, String> params) {
+		Session session = session(exchange);
+		return result(manager.addFacultyToCourse(session, course(params), faculty(params)));
+	}
+
+	/**
+	 * Removes a course from a faculty member's schedule as the registrar.
+	 * @param exchange the request
+	 * @param params name and section of the course, and id of the faculty member
+	 * @return true if the course was removed
+	 */
+	private String removeFaculty(HttpExchange exchange, Map<String, String> params) {
+		Session session = session(exchange);
+		return result(manager.removeFacultyFromCourse(session, course(params), faculty(params)));
+	}
+
+	/**
+	 * Returns the faculty member named by the faculty parameter.
+	 * @param params parameters of the request
+	 * @return the faculty member
+	 * @throws StatusException if no faculty member has the id
+	 */
+	private Faculty faculty(Map<String, String> params) {
+		Faculty faculty = manager.getFacultyDirectory().getFacultyById(param(params, "faculty"));
+		if (faculty == null) {
+			throw new StatusException(NOT_FOUND, "Faculty not found");
+		}
+		return faculty;
+	}
+
+	/**
+	 * Waits for a pipeline request to finish.
+	 * @param future future of the request
+	 * @return result of the request
+	 * @throws IllegalArgumentException if the request was rejected
+	 * @throws StatusException if the request could not be finished
+	 */
+	private static boolean await(Future<Boolean> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new StatusException(UNAVAILABLE, "Interrupted");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IllegalArgumentException) {
+				throw (IllegalArgumentException) e.getCause();
+			}
+			throw new StatusException(UNAVAILABLE, String.valueOf(e.getCause().getMessage()));
+		}
+	}
+
+	/**
+	 * Returns the role reported for a user at login.
+	 * @param user the user
+	 * @return student, faculty, or registrar
+	 */
+	private static String role(User user) {
+		if (user instanceof Student) {
+			return "student";
+		}
+		return user instanceof Faculty ? "faculty" : "registrar";
+	}
+
+	/**
+	 * Returns a JSON result object.
+	 * @param result the result
+	 * @return the object
+	 */
+	private static String result(boolean result) {
+		return "{\"result\":" + result + "}";
+	}
+
+	/**
+	 * Returns a JSON error object.
+	 * @param message the error
+	 * @return the object
+	 */
+	private static String error(String message) {
+		return "{\"error\":" + quote(message) + "}";
+	}
+
+	/**
+	 * Returns a JSON array of courses from rows of name, section, title, meeting string,
+	 * and open seats, the columns of the catalog and short display arrays.
+	 * @param rows the courses
+	 * @return the array
+	 */
+	private static String courses(String[][] rows) {
+		StringBuilder json = new StringBuilder(rows.length * 96 + 2).append('[');
+		for (int i = 0; i < rows.length; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"name\":").append(quote(rows[i][0]))
+					.append(",\"section\":").append(quote(rows[i][1]))
+					.append(",\"title\":").append(quote(rows[i][2]))
+					.append(",\"meeting\":").append(quote(rows[i][3]))
+					.append(",\"openSeats\":").append(rows[i][4]).append('}');
+		}
+		return json.append(']').toString();
+	}
+
+	/**
+	 * Returns a string as a JSON string literal.
+	 * @param s the string, or null
+	 * @return the literal, or null
+	 */
+	static String quote(String s) {
+		if (s == null) {
+			return "null";
+		}
+		StringBuilder json = new StringBuilder(s.length() + 2).append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < 0x20) {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+		return json.append('"').toString();
+	}
+
+	/**
+	 * Starts a server on the given port, or DEFAULT_PORT, after loading a snapshot and
+	 * opening a journal if they are given.
+	 * @param args port, then optionally a snapshot file and a journal file
+	 * @throws IOException if the port cannot be bound
+	 */
+	public static void main(String[] args) throws IOException {
+		RegistrationManager manager = RegistrationManager.getInstance();
+		if (args.length > 1) {
+			manager.loadSnapshot(args[1]);
+		}
+		if (args.length > 2) {
+			manager.openJournal(args[2]);
+		}
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		RegistrationServer server = new RegistrationServer(manager, new InetSocketAddress(port));
+		Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+		server.start();
+	}
+}
@@ -180,4 +180,19 @@ public class Student extends User implements Comparable<Student> {
 			return false;
 		}
 	}
+	
+	/**
+	 * Determines if a course can take the place of another course in the schedule
+	 * @param oldCourse course in the schedule to give up
+	 * @param newCourse course wanted in its place
+	 * @return true if the course can replace the other, false if not
+	 */
+	public boolean canReplace(Course oldCourse, Course newCourse) {
+		if (schedule.canReplace(oldCourse, newCourse)) {
+			return schedule.getScheduleCredits() - oldCourse.getCredits() + newCourse.getCredits() <= maxCredits;
+		}
+		else {
+			return false;
+		}
+	}
 }
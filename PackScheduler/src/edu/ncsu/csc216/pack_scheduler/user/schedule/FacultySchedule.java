@@ -1,6 +1,5 @@
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
 
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.util.LinkedListRecursive;
 
@@ -34,9 +33,7 @@ public class FacultySchedule {
 			if (schedule.get(i).isDuplicate(course) && schedule.get(i).getSection().equals(course.getSection())) {
 				throw new IllegalArgumentException("Already assigned " + course.getName());
 			}
-			try {
-				schedule.get(i).checkConflict(course);
-			} catch (ConflictException e) {
+			if (schedule.get(i).conflictsWith(course)) {
 				throw new IllegalArgumentException("The course cannot be assigned due to a conflict.");
 			}
 		}
@@ -85,6 +82,18 @@ public class FacultySchedule {
 		return scheduleArray;
 	}
 	
+	/**
+	 * Returns the Courses the faculty is scheduled to teach in the order they were assigned.
+	 * @return array of scheduled Courses
+	 */
+	public Course[] getCourses() {
+		Course[] courses = new Course[schedule.size()];
+		for (int i = 0; i < schedule.size(); i++) {
+			courses[i] = schedule.get(i);
+		}
+		return courses;
+	}
+	
 	/**
 	 * Returns the number of courses the faculty is scheduled to teach.
 	 * @return num courses
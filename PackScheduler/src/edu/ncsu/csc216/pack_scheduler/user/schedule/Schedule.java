@@ -2,27 +2,33 @@
  * 
  */
 package edu.ncsu.csc216.pack_scheduler.user.schedule;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
 import edu.ncsu.csc216.pack_scheduler.util.ArrayList;
-import edu.ncsu.csc216.pack_scheduler.course.ConflictException;
 import edu.ncsu.csc216.pack_scheduler.course.Course;
 /**
  * Constructs schedule object. Can add and remove courses from the schedule. A 2D String array can be made and retruned.
  * Can reset the schedule which removes every course. Sets and gets the title of the schedule.
+ * Every method that reads or changes the courses holds the schedule's lock.
  */
 public class Schedule {
 	
 	
 	/** Custom ArrayList of Courses called Schedule */
-	ArrayList<Course> schedule = new ArrayList<Course>();
+	ArrayList<Course> schedule = newCourseList();
 	
 	/** Schedule's title */
 	private String title;
 	
+	/** Lock held while the courses in the schedule are read or changed */
+	private final ReentrantLock lock = new ReentrantLock();
+	
 	/**
 	 * Creates schedule object by setting schedule to a new Array List with course and setting the title to My Schedule
 	 */
 	public Schedule(){
-		schedule = new ArrayList<Course>();
+		schedule = newCourseList();
 		setTitle("My Schedule");
 		
 		
@@ -34,31 +40,34 @@ public class Schedule {
 	 * @return true if added, false if not
 	 */
 	public Boolean addCourseToSchedule(Course course) {
-		//Added abstract isDuplicate in activity and implemented those methods in Course and Event
-		if (schedule.size() == 0) {
-			schedule.add(course);
-			return true;
-		}
-		for (int i = 0; i < schedule.size(); i++) {
-			if (schedule.get(i).isDuplicate(course)){
-				throw new IllegalArgumentException("You are already enrolled in " + course.getName());
+		lock.lock();
+		try {
+			//Added abstract isDuplicate in activity and implemented those methods in Course and Event
+			if (schedule.size() == 0) {
+				schedule.add(course);
+				return true;
 			}
+			for (int i = 0; i < schedule.size(); i++) {
+				if (schedule.get(i).isDuplicate(course)){
+					throw new IllegalArgumentException("You are already enrolled in " + course.getName());
+				}
 			
-			try {
-				schedule.get(i).checkConflict(course);
-			} catch (ConflictException c) {
-				throw new IllegalArgumentException("The course cannot be added due to a conflict.");
-			}
+				if (schedule.get(i).conflictsWith(course)) {
+					throw new IllegalArgumentException("The course cannot be added due to a conflict.");
+				}
 			
-			if (i == schedule.size() - 1) {
-				schedule.add(course);
-				return true;
+				if (i == schedule.size() - 1) {
+					schedule.add(course);
+					return true;
+				}
 			}
-		}
 		
 		
 		
-		return false;
+			return false;
+		} finally {
+			lock.unlock();
+		}
 	}
 	
 	/**
@@ -67,25 +76,61 @@ public class Schedule {
 	 * @return Boolean true if successful false if not
 	 */
 	public Boolean removeCourseFromSchedule(Course course) {
-		if (course == null) {
-			return false;
-		}
-		for (int i = 0; i < schedule.size(); i++) {
-			if (schedule.get(i).isDuplicate(course)) {
-				schedule.remove(i);
-				return true;
+		lock.lock();
+		try {
+			if (course == null) {
+				return false;
 			}
+			for (int i = 0; i < schedule.size(); i++) {
+				if (schedule.get(i).isDuplicate(course)) {
+					schedule.remove(i);
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			lock.unlock();
 		}
-		return false;
+	}
+	
+	/**
+	 * Returns an empty course list indexed by course name and section, so adding a
+	 * course does not scan the whole schedule for a duplicate.
+	 * @return empty course list with a key index
+	 */
+	private static ArrayList<Course> newCourseList() {
+		return new ArrayList<Course>(c -> c.getName() + "-" + c.getSection());
 	}
 	
 	/**
 	 * Resets schedule
 	 */
 	public void resetSchedule() {
-		this.schedule = new ArrayList<Course>();
-		setTitle("My Schedule");
+		lock.lock();
+		try {
+			this.schedule = newCourseList();
+			setTitle("My Schedule");
 		
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns the Courses in the schedule in the order they were added.
+	 * @return array of scheduled Courses
+	 */
+	public Course[] getCourses() {
+		lock.lock();
+		try {
+			Course[] courses = new Course[schedule.size()];
+			for (int i = 0; i < schedule.size(); i++) {
+				courses[i] = schedule.get(i);
+			}
+			return courses;
+		} finally {
+			lock.unlock();
+		}
 	}
 	
 	/**
@@ -93,13 +138,18 @@ public class Schedule {
 	 * @return schedulerArray
 	 */
 	public String[][] getScheduledCourses() {
-		String[][] scheduleArray = new String[schedule.size()][5];
-		for (int i = 0; i < schedule.size(); i++) {
-            Course c = schedule.get(i);
-            scheduleArray[i] = c.getShortDisplayArray();
-        }
+		lock.lock();
+		try {
+			String[][] scheduleArray = new String[schedule.size()][5];
+			for (int i = 0; i < schedule.size(); i++) {
+	            Course c = schedule.get(i);
+	            scheduleArray[i] = c.getShortDisplayArray();
+	        }
 		
-		return scheduleArray;
+			return scheduleArray;
+		} finally {
+			lock.unlock();
+		}
 	}
 	
 	/**
@@ -128,11 +178,16 @@ public class Schedule {
 	 * @return sum cumulative sum of credits
 	 */
 	public int getScheduleCredits() {
-		int sum = 0;
-		for (Course course: schedule) {
-			sum += course.getCredits();
+		lock.lock();
+		try {
+			int sum = 0;
+			for (Course course: schedule) {
+				sum += course.getCredits();
+			}
+			return sum;
+		} finally {
+			lock.unlock();
 		}
-		return sum;
 	}
 	
 	/**
@@ -141,28 +196,102 @@ public class Schedule {
 	 * @return true if can be added, false if not
 	 */
 	public boolean canAdd(Course course) {
-		if (course == null) {
-			return false;
-		}
-		if (schedule.size() == 0) {
-			return true;
-		}
-		for (int i = 0; i < schedule.size(); i++) {
-			if (schedule.get(i).isDuplicate(course)){
+		lock.lock();
+		try {
+			if (course == null) {
 				return false;
 			}
+			if (schedule.size() == 0) {
+				return true;
+			}
+			for (int i = 0; i < schedule.size(); i++) {
+				if (schedule.get(i).isDuplicate(course)){
+					return false;
+				}
 			
-			try {
-				schedule.get(i).checkConflict(course);
-			} catch (ConflictException c) {
+				if (schedule.get(i).conflictsWith(course)) {
+					return false;
+				}
+			
+				if (i == schedule.size() - 1) {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Sees if a course could take the place of another course in the schedule, checking
+	 * it for duplicates and conflicts against every course except the one it replaces.
+	 * @param oldCourse course in the schedule to replace
+	 * @param newCourse course to put in its place
+	 * @return true if oldCourse is in the schedule and newCourse can replace it
+	 */
+	public boolean canReplace(Course oldCourse, Course newCourse) {
+		lock.lock();
+		try {
+			return indexOfReplaceable(oldCourse, newCourse) >= 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Puts a course in the place of another course in the schedule, in one step.
+	 * @param oldCourse course in the schedule to replace
+	 * @param newCourse course to put in its place
+	 * @return true if replaced, false if oldCourse is not in the schedule or newCourse
+	 * duplicates or conflicts with another course in it
+	 */
+	public boolean replaceCourse(Course oldCourse, Course newCourse) {
+		lock.lock();
+		try {
+			int index = indexOfReplaceable(oldCourse, newCourse);
+			if (index < 0) {
 				return false;
 			}
-			
-			if (i == schedule.size() - 1) {
-				return true;
+			schedule.set(index, newCourse);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns the index of a course that another course can replace. Must be called with
+	 * the lock held.
+	 * @param oldCourse course in the schedule to replace
+	 * @param newCourse course to put in its place
+	 * @return index of oldCourse, or -1 if it is not in the schedule or newCourse
+	 * duplicates or conflicts with another course in it
+	 */
+	private int indexOfReplaceable(Course oldCourse, Course newCourse) {
+		if (oldCourse == null || newCourse == null) {
+			return -1;
+		}
+		int index = -1;
+		for (int i = 0; i < schedule.size(); i++) {
+			Course course = schedule.get(i);
+			if (course.equals(oldCourse)) {
+				index = i;
+			} else if (course.isDuplicate(newCourse) || course.conflictsWith(newCourse)) {
+				return -1;
 			}
 		}
-		return false;
+		return index;
+	}
+
+	/**
+	 * Returns the lock held while the courses in the schedule are read or changed.
+	 * Callers take it to check and add a course without another thread changing the
+	 * schedule in between, after taking the lock of the course's roll.
+	 * @return the schedule's lock
+	 */
+	public Lock getLock() {
+		return lock;
 	}
 
 }
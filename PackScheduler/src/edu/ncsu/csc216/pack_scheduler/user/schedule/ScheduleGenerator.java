@@ -0,0 +1,365 @@
+package edu.ncsu.csc216.pack_scheduler.user.schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Finds the ways a student could add one section of each of a set of courses to their
+ * schedule. A section is a candidate if it has an open seat and the student could add
+ * it to their current schedule on its own. A generated schedule takes one candidate of
+ * every course, with no two sections in conflict and no more credits in total than the
+ * student has left.
+ *
+ * The search backtracks over the courses, fewest candidates first. The candidates are
+ * numbered, and each has a bitmask of the candidates it conflicts with. The search
+ * carries the union of the masks of the sections chosen so far, so a candidate is
+ * ruled out with one bit test. After each choice, the search backtracks early if some
+ * remaining course has every candidate ruled out, or if the fewest credits the remaining
+ * courses need would go over the student's limit. The first levels of the search are
+ * split into tasks on a fork-join pool. The search stops once it has found the requested
+ * number of schedules or its time runs out.
+ */
+public class ScheduleGenerator {
+
+	/** Levels of the search split into separate fork-join tasks */
+	private static final int SPLIT_DEPTH = 2;
+
+	/** Catalog sections are taken from */
+	private final CourseCatalog catalog;
+	/** Pool the search runs on */
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a generator for the catalog that searches on the common fork-join pool.
+	 * @param catalog catalog sections are taken from
+	 */
+	public ScheduleGenerator(CourseCatalog catalog) {
+		this(catalog, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a generator for the catalog that searches on the given pool.
+	 * @param catalog catalog sections are taken from
+	 * @param pool pool the search runs on
+	 */
+	public ScheduleGenerator(CourseCatalog catalog, ForkJoinPool pool) {
+		this.catalog = catalog;
+		this.pool = pool;
+	}
+
+	/**
+	 * Returns up to limit schedules adding one section of each named course to the
+	 * student's schedule.
+	 * @param student student the schedules are for
+	 * @param names names of the courses to add, such as CSC216
+	 * @param limit most schedules to return
+	 * @param timeoutMillis milliseconds to search before returning the schedules found so far
+	 * @return schedules found, each listing one section per course in the order the names
+	 * were given, or no schedules if no names are given
+	 * @throws IllegalArgumentException if the catalog has no section of a course
+	 */
+	public List<List<Course>> generate(Student student, Collection<String> names, int limit, long timeoutMillis) {
+		List<List<Course>> schedules = new ArrayList<List<Course>>();
+		generate(student, names, limit, timeoutMillis, schedules::add);
+		return schedules;
+	}
+
+	/**
+	 * Passes up to limit schedules adding one section of each named course to the
+	 * student's schedule to a consumer as they are found. The consumer is called by one
+	 * thread at a time.
+	 * @param student student the schedules are for
+	 * @param names names of the courses to add, such as CSC216
+	 * @param limit most schedules to find
+	 * @param timeoutMillis milliseconds to search before giving up on finding more schedules
+	 * @param consumer receives each schedule, listing one section per course in the order
+	 * the names were given
+	 * @return number of schedules found, which is 0 if no names are given
+	 * @throws IllegalArgumentException if the catalog has no section of a course
+	 */
+	public int generate(Student student, Collection<String> names, int limit, long timeoutMillis, Consumer<List<Course>> consumer) {
+		if (limit <= 0 || names.isEmpty()) {
+			return 0;
+		}
+		long start = System.nanoTime();
+		// Cap the timeout so the deadline cannot overflow past the start
+		long timeout = Math.min(TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis)), Long.MAX_VALUE / 2);
+		Search search = new Search(student, new ArrayList<String>(new LinkedHashSet<String>(names)), limit,
+				start + timeout, consumer);
+		if (search.feasible) {
+			pool.invoke(new Task(search, 0, new long[search.words], 0, new int[search.groups.length]));
+		}
+		return Math.min(search.found.get(), limit);
+	}
+
+	/**
+	 * The candidates and limits of one search, and the schedules found so far.
+	 */
+	private final class Search {
+		/** Candidate sections, numbered by their index */
+		private final Course[] candidates;
+		/** Numbers of the candidates of each course, fewest candidates first */
+		private final int[][] groups;
+		/** Position of each course in the names given, in search order */
+		private final int[] positions;
+		/** Mask of the candidates of each course */
+		private final long[][] groupMasks;
+		/** Mask of the candidates each candidate conflicts with */
+		private final long[][] conflicts;
+		/** Fewest credits the courses from each depth onward need */
+		private final int[] minCredits;
+		/** Words in each mask */
+		private final int words;
+		/** Credits the student has left */
+		private final int budget;
+		/** False if some course has no candidates, so no schedule can be found */
+		private final boolean feasible;
+		/** Most schedules to find */
+		private final int limit;
+		/** System.nanoTime at which the search stops */
+		private final long deadline;
+		/** Receives the schedules found */
+		private final Consumer<List<Course>> consumer;
+		/** Number of schedules found */
+		private final AtomicInteger found = new AtomicInteger();
+		/** True once the search should stop */
+		private volatile boolean stopped;
+
+		/**
+		 * Finds the candidates of each course and the conflicts between them.
+		 * @param student student the schedules are for
+		 * @param names names of the courses, without repeats
+		 * @param limit most schedules to find
+		 * @param deadline System.nanoTime at which the search stops
+		 * @param consumer receives the schedules found
+		 */
+		Search(Student student, List<String> names, int limit, long deadline, Consumer<List<Course>> consumer) {
+			this.limit = limit;
+			this.deadline = deadline;
+			this.consumer = consumer;
+			this.budget = student.getMaxCredits() - student.getSchedule().getScheduleCredits();
+
+			List<List<Course>> byName = new ArrayList<List<Course>>();
+			for (String name : names) {
+				List<Course> sections = catalog.getSections(name);
+				if (sections.isEmpty()) {
+					throw new IllegalArgumentException("No sections of " + name);
+				}
+				List<Course> open = new ArrayList<Course>();
+				for (Course course : sections) {
+					if (course.getCourseRoll().getOpenSeats() > 0 && student.canAdd(course)) {
+						open.add(course);
+					}
+				}
+				byName.add(open);
+			}
+
+			Integer[] order = new Integer[names.size()];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Integer.compare(byName.get(a).size(), byName.get(b).size()));
+
+			List<Course> all = new ArrayList<Course>();
+			groups = new int[order.length][];
+			positions = new int[order.length];
+			minCredits = new int[order.length + 1];
+			boolean possible = true;
+			for (int g = 0; g < order.length; g++) {
+				List<Course> sections = byName.get(order[g]);
+				positions[g] = order[g];
+				groups[g] = new int[sections.size()];
+				for (int i = 0; i < sections.size(); i++) {
+					groups[g][i] = all.size();
+					all.add(sections.get(i));
+				}
+				possible &= !sections.isEmpty();
+			}
+			candidates = all.toArray(new Course[all.size()]);
+			words = (candidates.length + 63) / 64;
+			groupMasks = new long[groups.length][words];
+			conflicts = new long[candidates.length][words];
+			for (int g = groups.length - 1; g >= 0; g--) {
+				int fewest = Integer.MAX_VALUE;
+				for (int i : groups[g]) {
+					groupMasks[g][i >>> 6] |= 1L << i;
+					fewest = Math.min(fewest, candidates[i].getCredits());
+				}
+				minCredits[g] = groups[g].length == 0 ? 0 : fewest + minCredits[g + 1];
+			}
+			for (int i = 0; i < candidates.length; i++) {
+				for (int j = i + 1; j < candidates.length; j++) {
+					if (candidates[i].conflictsWith(candidates[j])) {
+						conflicts[i][j >>> 6] |= 1L << j;
+						conflicts[j][i >>> 6] |= 1L << i;
+					}
+				}
+			}
+			feasible = possible && minCredits[0] <= budget;
+		}
+
+		/**
+		 * Returns true if the search should stop, stopping it once its time is up.
+		 * @return true if the search should stop
+		 */
+		private boolean stopped() {
+			if (!stopped && System.nanoTime() - deadline >= 0) {
+				stopped = true;
+			}
+			return stopped;
+		}
+
+		/**
+		 * Returns true if a candidate can be added to a partial schedule at a depth.
+		 * @param depth number of courses already chosen
+		 * @param blocked mask of the candidates ruled out so far
+		 * @param credits credits chosen so far
+		 * @param candidate candidate to add
+		 * @return true if adding the candidate leaves a way to finish the schedule
+		 */
+		private boolean viable(int depth, long[] blocked, int credits, int candidate) {
+			if ((blocked[candidate >>> 6] & (1L << candidate)) != 0
+					|| credits + candidates[candidate].getCredits() + minCredits[depth + 1] > budget) {
+				return false;
+			}
+			long[] conflict = conflicts[candidate];
+			for (int g = depth + 1; g < groups.length; g++) {
+				long[] mask = groupMasks[g];
+				boolean open = false;
+				for (int w = 0; w < words && !open; w++) {
+					open = (mask[w] & ~(blocked[w] | conflict[w])) != 0;
+				}
+				if (!open) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Returns the blocked mask after adding a candidate.
+		 * @param blocked mask of the candidates ruled out so far
+		 * @param candidate candidate added
+		 * @return new blocked mask
+		 */
+		private long[] block(long[] blocked, int candidate) {
+			long[] next = blocked.clone();
+			long[] conflict = conflicts[candidate];
+			for (int w = 0; w < words; w++) {
+				next[w] |= conflict[w];
+			}
+			return next;
+		}
+
+		/**
+		 * Searches the rest of a partial schedule on the current thread.
+		 * @param depth number of courses already chosen
+		 * @param blocked mask of the candidates ruled out so far
+		 * @param credits credits chosen so far
+		 * @param chosen candidate chosen for each course so far
+		 */
+		private void search(int depth, long[] blocked, int credits, int[] chosen) {
+			if (stopped()) {
+				return;
+			}
+			if (depth == groups.length) {
+				emit(chosen);
+				return;
+			}
+			for (int candidate : groups[depth]) {
+				if (viable(depth, blocked, credits, candidate)) {
+					chosen[depth] = candidate;
+					search(depth + 1, block(blocked, candidate), credits + candidates[candidate].getCredits(), chosen);
+				}
+			}
+		}
+
+		/**
+		 * Passes a complete schedule to the consumer, unless enough have been found.
+		 * @param chosen candidate chosen for each course
+		 */
+		private void emit(int[] chosen) {
+			int count = found.incrementAndGet();
+			if (count > limit) {
+				stopped = true;
+				return;
+			}
+			Course[] schedule = new Course[chosen.length];
+			for (int g = 0; g < chosen.length; g++) {
+				schedule[positions[g]] = candidates[chosen[g]];
+			}
+			synchronized (this) {
+				consumer.accept(Collections.unmodifiableList(Arrays.asList(schedule)));
+			}
+			if (count == limit) {
+				stopped = true;
+			}
+		}
+	}
+
+	/**
+	 * Searches the schedules extending a partial schedule, forking a task for each
+	 * choice at the first levels of the search.
+	 */
+	private static final class Task extends RecursiveAction {
+		/** ID used for serialization */
+		private static final long serialVersionUID = 1L;
+		/** Search the task belongs to */
+		private final transient Search search;
+		/** Number of courses already chosen */
+		private final int depth;
+		/** Mask of the candidates ruled out so far */
+		private final long[] blocked;
+		/** Credits chosen so far */
+		private final int credits;
+		/** Candidate chosen for each course so far */
+		private final int[] chosen;
+
+		/**
+		 * Creates a task.
+		 * @param search search the task belongs to
+		 * @param depth number of courses already chosen
+		 * @param blocked mask of the candidates ruled out so far
+		 * @param credits credits chosen so far
+		 * @param chosen candidate chosen for each course so far
+		 */
+		Task(Search search, int depth, long[] blocked, int credits, int[] chosen) {
+			this.search = search;
+			this.depth = depth;
+			this.blocked = blocked;
+			this.credits = credits;
+			this.chosen = chosen;
+		}
+
+		@Override
+		protected void compute() {
+			if (depth >= SPLIT_DEPTH || depth == search.groups.length) {
+				search.search(depth, blocked, credits, chosen);
+				return;
+			}
+			List<Task> tasks = new ArrayList<Task>();
+			for (int candidate : search.groups[depth]) {
+				if (search.viable(depth, blocked, credits, candidate)) {
+					int[] next = chosen.clone();
+					next[depth] = candidate;
+					tasks.add(new Task(search, depth + 1, search.block(blocked, candidate),
+							credits + search.candidates[candidate].getCredits(), next));
+				}
+			}
+			invokeAll(tasks);
+		}
+	}
+}
@@ -2,6 +2,8 @@ package edu.ncsu.csc216.pack_scheduler.util;
 
 import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Function;
 
 /**
  * Custom implementation of an ArrayList 
@@ -15,13 +17,30 @@ public class ArrayList<E> extends AbstractList<E> {
 	private E[] list;
 	/** Represents the number of elements in the list*/
 	private int size;
+	/** Function giving the key elements are indexed by, or null if the list has no key index */
+	private final Function<? super E, ?> key;
+	/** Number of elements in the list with each key, or null if the list has no key index */
+	private final HashMap<Object, Integer> keys;
 	
 	/**
 	 * Constructs the custom ArrayList object. 
 	 */
-	@SuppressWarnings("unchecked")
 	public ArrayList() {
+		this(null);
+	}
+	
+	/**
+	 * Constructs the custom ArrayList object that also keeps a hash index of its elements'
+	 * keys, so duplicate checks and lookups of absent elements take constant time. Equal
+	 * elements must have equal keys, and an element's key must not change while it is in
+	 * the list.
+	 * @param key function giving the key of an element, or null for no key index
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayList(Function<? super E, ?> key) {
 		list = (E[]) new Object[INIT_SIZE];
+		this.key = key;
+		this.keys = key == null ? null : new HashMap<Object, Integer>();
 	}
 	
 	@Override
@@ -31,14 +50,13 @@ public class ArrayList<E> extends AbstractList<E> {
 		} else if (idx < 0 || idx > size()) {
 			throw new IndexOutOfBoundsException();
 		}
-		for (E eachElement : list) {
-			if (eachElement != null && eachElement.equals(element)) {
-				throw new IllegalArgumentException();
-			}
+		if (contains(element)) {
+			throw new IllegalArgumentException();
 		}
 		if (size() == list.length) {
 			growArray(); 
 		}
+		addKey(element);
 		if (idx != size) {
 			for (int i = size - 1; i >= idx; i--) {
 				list[i + 1] = list[i];
@@ -70,6 +88,7 @@ public class ArrayList<E> extends AbstractList<E> {
 			throw new IndexOutOfBoundsException();
 		}
 		E returnElement = list[idx];
+		removeKey(returnElement);
 		if (idx != size - 1) {
 			for (int i = idx; i < size - 1; i++) {
 				list[i] = list[i + 1];
@@ -95,16 +114,86 @@ public class ArrayList<E> extends AbstractList<E> {
 		} else if (idx < 0 || idx >= size()) {
 			throw new IndexOutOfBoundsException();
 		}
-		for (E eachElement : list) {
-			if (eachElement != null && eachElement.equals(element)) {
-				throw new IllegalArgumentException();
-			}
+		if (contains(element)) {
+			throw new IllegalArgumentException();
 		}
 		E returnElement = list[idx];
 		list[idx] = element; 
+		removeKey(returnElement);
+		addKey(element);
  		return returnElement;
 	}
 	
+	/**
+	 * Returns true if the list contains the given element. Only the first size slots of
+	 * the array are scanned, and a list with a key index only scans them when an element
+	 * with the same key is present.
+	 * @param o element to look for
+	 * @return true if an element of the list equals o
+	 */
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+	
+	/**
+	 * Returns the index of the first element equal to the given element.
+	 * @param o element to look for
+	 * @return index of the element, or -1 if it is not in the list
+	 */
+	@Override
+	public int indexOf(Object o) {
+		if (o == null || !mayContain(o)) {
+			return -1;
+		}
+		for (int i = 0; i < size; i++) {
+			if (list[i].equals(o)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns false if the key index shows the given element cannot be in the list.
+	 * @param o element to look for
+	 * @return false if no element has o's key, true if one does or the list has no key index
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean mayContain(Object o) {
+		if (keys == null) {
+			return true;
+		}
+		try {
+			return keys.containsKey(key.apply((E) o));
+		} catch (ClassCastException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Counts an element's key in the key index, if the list has one.
+	 * @param element element added to the list
+	 */
+	private void addKey(E element) {
+		if (keys != null) {
+			keys.merge(key.apply(element), 1, Integer::sum);
+		}
+	}
+	
+	/**
+	 * Uncounts an element's key in the key index, if the list has one.
+	 * @param element element removed from the list
+	 */
+	private void removeKey(E element) {
+		if (keys != null) {
+			Object k = key.apply(element);
+			if (keys.merge(k, -1, Integer::sum) == 0) {
+				keys.remove(k);
+			}
+		}
+	}
+	
 	/**
 	 * Returns the element at the given index. 
 	 * @param idx the index where the element will be retrieved 
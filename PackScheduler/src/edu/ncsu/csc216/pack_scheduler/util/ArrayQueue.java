@@ -3,57 +3,158 @@
  */
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.NoSuchElementException;
 
 /**
  * ArrayQueue implementation of the Queue interface. Contains methods to enqueue and 
  * dequeue elements, check is the array queue is empty, get the size of the array queue, and 
- * set the capacity of the queue. ArrayQueue is an array list based implementation
- * of a queue.
+ * set the capacity of the queue. ArrayQueue is a circular array based implementation
+ * of a queue: elements run from a head index around the end of the array and back to
+ * the front, so enqueue and dequeue never shift elements. The array's length is a power
+ * of two, grown by doubling, so indices wrap with a mask.
+ * 
+ * By default a queue rejects an element equal to one already in it, checked with a hash
+ * set of its elements. Such elements must not change their hashCode or equals while
+ * queued. A queue may instead be built to allow duplicates.
  * 
  * @author Tyler Davis
  * @param <E> generic type of list
  */
 public class ArrayQueue<E> implements Queue<E> {
-	/** ArrayList of the array queue */
-	private ArrayList<E> arrayList;
+	/** Initial length of the array, a power of two */
+	private static final int INIT_SIZE = 16;
+	/** Largest power of two length the array can grow to */
+	private static final int MAX_LENGTH = 1 << 30;
+	
+	/** Circular array of the array queue */
+	private E[] elements;
+	/** Index of the front of the queue */
+	private int head;
+	/** Number of elements in the queue */
+	private int size;
+	/** Elements in the queue, used to reject duplicates, or null if duplicates are allowed */
+	private final HashSet<E> members;
 	/** Capacity of the ArrayQueue */
 	private int capacity;
 	
 	/**
-	 * Constructor of the array queue.
+	 * Constructor of the array queue, which rejects duplicate elements.
 	 * @param capacity max number of elements that can be in the queue
 	 */
 	public ArrayQueue(int capacity) {
-		arrayList = new ArrayList<E>();
+		this(capacity, false);
+	}
+	
+	/**
+	 * Constructor of the array queue.
+	 * @param capacity max number of elements that can be in the queue
+	 * @param allowDuplicates true if the queue may hold equal elements
+	 */
+	@SuppressWarnings("unchecked")
+	public ArrayQueue(int capacity, boolean allowDuplicates) {
+		elements = (E[]) new Object[INIT_SIZE];
+		members = allowDuplicates ? null : new HashSet<E>();
 		setCapacity(capacity);
 	}
 	
 	/**
 	 * Adds an element to the back of the queue.
 	 * @param element to add
-	 * @throws IllegalArgumentException if size is equal to capacity
+	 * @throws IllegalArgumentException if size is equal to capacity, or the element is
+	 * already in a queue that rejects duplicates
+	 * @throws NullPointerException if the element is null
 	 */
 	@Override
 	public void enqueue(E element) {
 		if (size() == capacity) {
 			throw new IllegalArgumentException();
 		}
-		
-		arrayList.add(size(), element);
+		checkElement(element);
+		ensureLength(size + 1);
+		if (members != null && !members.add(element)) {
+			throw new IllegalArgumentException();
+		}
+		elements[(head + size) & (elements.length - 1)] = element;
+		size++;
+	}
+	
+	/**
+	 * Adds every element of a collection to the back of the queue, in the collection's
+	 * iteration order. Every element is checked before any is added, so the queue is
+	 * unchanged if one is rejected.
+	 * @param newElements elements to add
+	 * @throws IllegalArgumentException if the elements would not fit in the queue's capacity,
+	 * or the queue rejects duplicates and an element is already in it or repeated
+	 * @throws NullPointerException if an element is null
+	 */
+	@Override
+	public void enqueueAll(Collection<? extends E> newElements) {
+		if (newElements.size() > remainingCapacity()) {
+			throw new IllegalArgumentException();
+		}
+		HashSet<E> added = members == null ? null : new HashSet<E>();
+		for (E element : newElements) {
+			checkElement(element);
+			if (added != null && (members.contains(element) || !added.add(element))) {
+				throw new IllegalArgumentException();
+			}
+		}
+		ensureLength(size + newElements.size());
+		int mask = elements.length - 1;
+		for (E element : newElements) {
+			elements[(head + size) & mask] = element;
+			size++;
+		}
+		if (added != null) {
+			members.addAll(added);
+		}
 	}
 
 	/**
 	 * Removes and element from the front of the queue.
 	 * @return the element removed
+	 * @throws NoSuchElementException if the queue is empty
 	 */
 	@Override
 	public E dequeue() {
 		if (this.isEmpty()) {
 			throw new NoSuchElementException();
 		}
-		
-		return arrayList.remove(0);
+		E element = elements[head];
+		elements[head] = null;
+		head = (head + 1) & (elements.length - 1);
+		size--;
+		if (members != null) {
+			members.remove(element);
+		}
+		return element;
+	}
+	
+	/**
+	 * Removes up to max elements from the front of the queue and adds them, in order, to
+	 * the given collection. Each element is removed, as by dequeue, before it is added, so
+	 * the queue stays consistent if adding to the collection throws.
+	 * @param target collection to add the removed elements to
+	 * @param max most elements to remove
+	 * @return number of elements removed
+	 */
+	@Override
+	public int drainTo(Collection<? super E> target, int max) {
+		int count = Math.min(Math.max(max, 0), size);
+		int mask = elements.length - 1;
+		for (int i = 0; i < count; i++) {
+			E element = elements[head];
+			elements[head] = null;
+			head = (head + 1) & mask;
+			size--;
+			if (members != null) {
+				members.remove(element);
+			}
+			target.add(element);
+		}
+		return count;
 	}
 
 	/**
@@ -71,7 +172,16 @@ public class ArrayQueue<E> implements Queue<E> {
 	 */
 	@Override
 	public int size() {
-		return arrayList.size();
+		return size;
+	}
+	
+	/**
+	 * Returns the number of elements that can still be added to the array queue.
+	 * @return capacity minus size
+	 */
+	@Override
+	public int remainingCapacity() {
+		return capacity - size;
 	}
 
 	/**
@@ -87,5 +197,41 @@ public class ArrayQueue<E> implements Queue<E> {
 		
 		this.capacity = capacity;
 	}
-
+	
+	/**
+	 * Throws if an element cannot be queued.
+	 * @param element element to check
+	 * @throws NullPointerException if the element is null
+	 */
+	private void checkElement(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * Doubles the array until it can hold the given number of elements, unwrapping the
+	 * queue to start at index 0 of the new array.
+	 * @param length number of elements the array must hold
+	 * @throws IllegalArgumentException if the array cannot grow that large
+	 */
+	@SuppressWarnings("unchecked")
+	private void ensureLength(int length) {
+		if (length <= elements.length) {
+			return;
+		}
+		if (length > MAX_LENGTH) {
+			throw new IllegalArgumentException();
+		}
+		int newLength = elements.length;
+		while (newLength < length) {
+			newLength *= 2;
+		}
+		E[] grown = (E[]) new Object[newLength];
+		int firstPart = Math.min(size, elements.length - head);
+		System.arraycopy(elements, head, grown, 0, firstPart);
+		System.arraycopy(elements, 0, grown, firstPart, size - firstPart);
+		elements = grown;
+		head = 0;
+	}
 }
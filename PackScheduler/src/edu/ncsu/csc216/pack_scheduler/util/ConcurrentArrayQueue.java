@@ -0,0 +1,313 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded queue that many threads may enqueue to and dequeue from at once without
+ * locking. Elements sit in a circular array whose slots each carry a sequence number
+ * telling producers and consumers whose turn the slot is; a thread claims a slot by
+ * advancing the shared tail (producers) or head (consumers) with compare-and-set. The
+ * head and tail counters are kept 64 bytes apart so producers and consumers do not
+ * contend for the same cache line.
+ * 
+ * The array is allocated once, at the largest capacity the queue may be given, rounded
+ * up to a power of two. Besides the Queue methods, which throw when the queue is full
+ * or empty, the queue has non-blocking offer and poll, blocking put and take, and timed
+ * offer and poll. Blocked threads spin briefly, then park for growing intervals until
+ * they can go on. The queue rejects null elements and allows duplicates. Elements other
+ * threads enqueue may land between those of one enqueueAll.
+ * 
+ * @param <E> generic type of list
+ */
+public class ConcurrentArrayQueue<E> implements Queue<E> {
+	/** Index in counters of the next position to dequeue */
+	private static final int HEAD = 8;
+	/** Index in counters of the next position to enqueue */
+	private static final int TAIL = 16;
+	/** Number of times a blocked thread spins before parking */
+	private static final int SPINS = 64;
+	/** Longest a blocked thread parks before checking again, in nanoseconds */
+	private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/** Head and tail positions, padded with unused entries onto separate cache lines */
+	private final AtomicLongArray counters = new AtomicLongArray(TAIL + 8);
+	/** Sequence number of each slot: its position when free to enqueue, position + 1 when full */
+	private final AtomicLongArray sequences;
+	/** Elements of the queue, indexed by position modulo the array length */
+	private final Object[] slots;
+	/** Mask taking a position to its slot */
+	private final int mask;
+	/** Largest capacity the queue may be given */
+	private final int maxCapacity;
+	/** Most elements the queue may hold */
+	private volatile int capacity;
+
+	/**
+	 * Constructs a queue whose capacity cannot be raised above the given capacity.
+	 * @param capacity max number of elements that can be in the queue
+	 * @throws IllegalArgumentException if capacity is negative or larger than 2^30
+	 */
+	public ConcurrentArrayQueue(int capacity) {
+		this(capacity, capacity);
+	}
+
+	/**
+	 * Constructs a queue whose capacity may later be raised as far as maxCapacity.
+	 * @param capacity max number of elements that can be in the queue
+	 * @param maxCapacity largest capacity the queue may be given
+	 * @throws IllegalArgumentException if capacity is negative or larger than maxCapacity,
+	 * or maxCapacity is larger than 2^30
+	 */
+	public ConcurrentArrayQueue(int capacity, int maxCapacity) {
+		if (maxCapacity < 0 || maxCapacity > 1 << 30) {
+			throw new IllegalArgumentException();
+		}
+		int length = Integer.highestOneBit(Math.max(maxCapacity, 2) - 1) << 1;
+		this.maxCapacity = maxCapacity;
+		this.mask = length - 1;
+		this.slots = new Object[length];
+		this.sequences = new AtomicLongArray(length);
+		for (int i = 0; i < length; i++) {
+			sequences.set(i, i);
+		}
+		setCapacity(capacity);
+	}
+
+	/**
+	 * Adds an element to the back of the queue if there is room.
+	 * @param element to add
+	 * @return true if the element was added, or false if the queue was full
+	 * @throws NullPointerException if the element is null
+	 */
+	public boolean offer(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		long position = counters.get(TAIL);
+		while (true) {
+			int slot = (int) position & mask;
+			long difference = sequences.get(slot) - position;
+			if (difference == 0) {
+				// The head only moves forward, so a stale head can only undercount the room left
+				if (position - counters.get(HEAD) >= capacity) {
+					return false;
+				}
+				if (counters.compareAndSet(TAIL, position, position + 1)) {
+					slots[slot] = element;
+					sequences.set(slot, position + 1);
+					return true;
+				}
+				position = counters.get(TAIL);
+			} else if (difference < 0) {
+				return false;
+			} else {
+				position = counters.get(TAIL);
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the element at the front of the queue if there is one.
+	 * @return the element removed, or null if the queue was empty
+	 */
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		long position = counters.get(HEAD);
+		while (true) {
+			int slot = (int) position & mask;
+			long difference = sequences.get(slot) - (position + 1);
+			if (difference == 0) {
+				if (counters.compareAndSet(HEAD, position, position + 1)) {
+					E element = (E) slots[slot];
+					slots[slot] = null;
+					sequences.set(slot, position + mask + 1);
+					return element;
+				}
+				position = counters.get(HEAD);
+			} else if (difference < 0) {
+				return null;
+			} else {
+				position = counters.get(HEAD);
+			}
+		}
+	}
+
+	/**
+	 * Adds an element to the back of the queue, waiting for room if it is full.
+	 * @param element to add
+	 * @throws NullPointerException if the element is null
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public void put(E element) throws InterruptedException {
+		for (int attempt = 0; !offer(element); attempt++) {
+			await(attempt, Long.MAX_VALUE);
+		}
+	}
+
+	/**
+	 * Adds an element to the back of the queue, waiting up to the given time for room.
+	 * @param element to add
+	 * @param timeout longest time to wait
+	 * @param unit unit of the timeout
+	 * @return true if the element was added, or false if the time ran out
+	 * @throws NullPointerException if the element is null
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (int attempt = 0; !offer(element); attempt++) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return false;
+			}
+			await(attempt, remaining);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes and returns the element at the front of the queue, waiting for one if it is empty.
+	 * @return the element removed
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public E take() throws InterruptedException {
+		E element;
+		for (int attempt = 0; (element = poll()) == null; attempt++) {
+			await(attempt, Long.MAX_VALUE);
+		}
+		return element;
+	}
+
+	/**
+	 * Removes and returns the element at the front of the queue, waiting up to the given
+	 * time for one.
+	 * @param timeout longest time to wait
+	 * @param unit unit of the timeout
+	 * @return the element removed, or null if the time ran out
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		E element;
+		for (int attempt = 0; (element = poll()) == null; attempt++) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return null;
+			}
+			await(attempt, remaining);
+		}
+		return element;
+	}
+
+	/**
+	 * Waits before a blocked thread tries again: spinning for the first attempts, then
+	 * parking for twice as long each attempt, up to MAX_PARK_NANOS.
+	 * @param attempt number of attempts that have failed so far, less one
+	 * @param remaining most nanoseconds to wait
+	 * @throws InterruptedException if the thread is interrupted
+	 */
+	private static void await(int attempt, long remaining) throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+		if (attempt < SPINS) {
+			Thread.onSpinWait();
+		} else {
+			long nanos = MAX_PARK_NANOS >> Math.max(0, 10 - (attempt - SPINS));
+			LockSupport.parkNanos(Math.min(Math.max(nanos, 1), remaining));
+		}
+	}
+
+	/**
+	 * Adds an element to the back of the queue.
+	 * @param element to add
+	 * @throws IllegalArgumentException if the queue is full
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public void enqueue(E element) {
+		if (!offer(element)) {
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * Removes and returns the element at the front of the queue.
+	 * @return the element removed
+	 * @throws NoSuchElementException if the queue is empty
+	 */
+	@Override
+	public E dequeue() {
+		E element = poll();
+		if (element == null) {
+			throw new NoSuchElementException();
+		}
+		return element;
+	}
+
+	/**
+	 * Removes up to max elements from the front of the queue and adds them, in order, to
+	 * the given collection.
+	 * @param target collection to add the removed elements to
+	 * @param max most elements to remove
+	 * @return number of elements removed
+	 */
+	@Override
+	public int drainTo(Collection<? super E> target, int max) {
+		int count = 0;
+		E element;
+		while (count < max && (element = poll()) != null) {
+			target.add(element);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns whether the queue is empty. Other threads may change the answer at once.
+	 * @return whether the queue is empty or not
+	 */
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Returns the number of elements in the queue. Other threads may change the answer at once.
+	 * @return number of elements in the queue
+	 */
+	@Override
+	public int size() {
+		long head = counters.get(HEAD);
+		long tail = counters.get(TAIL);
+		return (int) Math.max(0, Math.min(tail - head, slots.length));
+	}
+
+	/**
+	 * Returns the number of elements that can still be added before the queue is at capacity.
+	 * @return capacity minus size
+	 */
+	@Override
+	public int remainingCapacity() {
+		return Math.max(0, capacity - size());
+	}
+
+	/**
+	 * Sets the capacity of the queue. Elements already being added when the capacity is
+	 * lowered may still be added; the queue never holds more than the larger capacity.
+	 * @param capacity to set
+	 * @throws IllegalArgumentException if the capacity is negative, less than size, or
+	 * larger than the queue's largest capacity
+	 */
+	@Override
+	public synchronized void setCapacity(int capacity) {
+		if (capacity < 0 || capacity < size() || capacity > maxCapacity) {
+			throw new IllegalArgumentException();
+		}
+		this.capacity = capacity;
+	}
+}
@@ -4,6 +4,8 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
 import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.function.Function;
 
 /**
  * Represents an abstract linked list that extends AbstractList.
@@ -20,6 +22,10 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 	private ListNode front;
 	/** The last node in the linked list*/
 	private ListNode back;
+	/** Function giving the key elements are indexed by, or null if the list has no key index */
+	private final Function<? super E, ?> key;
+	/** Number of elements in the list with each key, or null if the list has no key index */
+	private final HashMap<Object, Integer> keys;
 	
 	/**
 	 * Constructor for LinkedAbtractList that sets size, capacity, and front.
@@ -29,9 +35,24 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 	 * @throws IllegalArgumentException if capacity is less than 0 or less than size
 	 */
 	public LinkedAbstractList(int capacity) {
+		this(capacity, null);
+	}
+	
+	/**
+	 * Constructor for LinkedAbstractList that also keeps a hash index of its elements' keys,
+	 * so appends, duplicate checks, and lookups of absent elements take constant time. Equal
+	 * elements must have equal keys, and an element's key must not change while it is in
+	 * the list.
+	 * @param capacity the capacity of the list
+	 * @param key function giving the key of an element, or null for no key index
+	 * @throws IllegalArgumentException if capacity is less than 0 or less than size
+	 */
+	public LinkedAbstractList(int capacity, Function<? super E, ?> key) {
 		setCapacity(capacity);
 		size = 0;
 		front = null; 
+		this.key = key;
+		this.keys = key == null ? null : new HashMap<Object, Integer>();
 	}
 	
 	/**
@@ -70,66 +91,25 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		} else if (idx < 0 || idx > size()) {
 			throw new IndexOutOfBoundsException("Index out of range");
 		}
-		if (size == 0) {
-			front = new ListNode(element);
-			size++;
-			return;
-		}
-		ListNode current = front;
-		while (current != null) {
-			if (current.data.equals(element)) {
-				throw new IllegalArgumentException("Element is already in the list");
-			}
-			current = current.next;
+		if (contains(element)) {
+			throw new IllegalArgumentException("Element is already in the list");
 		}
 		if (idx == 0) {
-			ListNode newElement = new ListNode(element, front);
-			front = newElement;
-			
-			// Sets back field 
-			current = front;
-			while (current.next != null) {
-				current = current.next;
+			front = new ListNode(element, front);
+			if (back == null) {
+				back = front;
 			}
-			back = current;
-		} else if (idx == size() - 1) {
-			int currentIndex = 0;
-			current = front;
-			while (current != null) {
-				if (currentIndex == idx - 1) {
-					current.next = new ListNode(element, back);
-					break;
-				}
-				current = current.next;
-				currentIndex++;
-			}
-			
-			// Sets back field
-			current = front;
-			while (current.next != null) {
-				current = current.next;
-			}
-			back = current;
+		} else if (idx == size) {
+			back.next = new ListNode(element);
+			back = back.next;
 		} else {
-			int currentIndex = 0;
-			current = front;
-			while (current != null) {
-				if (currentIndex == idx - 1) {
-					ListNode tmp = current.next;
-					current.next = new ListNode(element, tmp);
-					break;
-				}
-				current = current.next;
-				currentIndex++;
-			}
-			
-			// Sets back field
-			current = front;
-			while (current.next != null) {
+			ListNode current = front;
+			for (int i = 0; i < idx - 1; i++) {
 				current = current.next;
 			}
-			back = current;
+			current.next = new ListNode(element, current.next);
 		}
+		addKey(element);
 		size++;
 	}
 	
@@ -143,28 +123,126 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		if (idx < 0 || idx >= size()) {
 			throw new IndexOutOfBoundsException("Remove element's index is out of range");
 		}
-		E value = null;
 		if (idx == 0) {
-			value = front.data;
-			front = front.next;
+			return removeAfter(null);
+		}
+		ListNode current = front;
+		for (int i = 0; i < idx - 1; i++) {
+			current = current.next;
+		}
+		return removeAfter(current);
+	}
+	
+	/**
+	 * Removes the first element equal to the given element, walking the list once.
+	 * @param o element to remove
+	 * @return true if an element was removed
+	 */
+	@Override
+	public boolean remove(Object o) {
+		if (o == null || !mayContain(o)) {
+			return false;
+		}
+		ListNode previous = null;
+		for (ListNode current = front; current != null; current = current.next) {
+			if (current.data.equals(o)) {
+				removeAfter(previous);
+				return true;
+			}
+			previous = current;
+		}
+		return false;
+	}
+	
+	/**
+	 * Unlinks the node after the given node, keeping back and the key index up to date.
+	 * @param previous node before the one to remove, or null to remove the front
+	 * @return the removed element
+	 */
+	private E removeAfter(ListNode previous) {
+		ListNode removed = previous == null ? front : previous.next;
+		if (previous == null) {
+			front = removed.next;
 		} else {
-			ListNode current = front;
-			for (int i = 0; i < idx - 1; i++) {
-				current = current.next;
+			previous.next = removed.next;
+		}
+		if (removed == back) {
+			back = previous;
+		}
+		removeKey(removed.data);
+		size--;
+		return removed.data;
+	}
+	
+	/**
+	 * Returns true if the list contains the given element. A list with a key index only
+	 * walks the list when an element with the same key is present.
+	 * @param o element to look for
+	 * @return true if an element of the list equals o
+	 */
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+	
+	/**
+	 * Returns the index of the first element equal to the given element.
+	 * @param o element to look for
+	 * @return index of the element, or -1 if it is not in the list
+	 */
+	@Override
+	public int indexOf(Object o) {
+		if (o == null || !mayContain(o)) {
+			return -1;
+		}
+		int idx = 0;
+		for (ListNode current = front; current != null; current = current.next) {
+			if (current.data.equals(o)) {
+				return idx;
 			}
-			value = current.next.data;
-			current.next = current.next.next;
-			
-			
-			// Sets back field
-			current = front;
-			while (current.next != null) {
-				current = current.next;
+			idx++;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns false if the key index shows the given element cannot be in the list.
+	 * @param o element to look for
+	 * @return false if no element has o's key, true if one does or the list has no key index
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean mayContain(Object o) {
+		if (keys == null) {
+			return true;
+		}
+		try {
+			return keys.containsKey(key.apply((E) o));
+		} catch (ClassCastException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Counts an element's key in the key index, if the list has one.
+	 * @param element element added to the list
+	 */
+	private void addKey(E element) {
+		if (keys != null) {
+			keys.merge(key.apply(element), 1, Integer::sum);
+		}
+	}
+	
+	/**
+	 * Uncounts an element's key in the key index, if the list has one.
+	 * @param element element removed from the list
+	 */
+	private void removeKey(E element) {
+		if (keys != null) {
+			Object k = key.apply(element);
+			if (keys.merge(k, -1, Integer::sum) == 0) {
+				keys.remove(k);
 			}
-			back = current;
 		}
-		size--;
-		return value; 
 	}
 	
 	/**
@@ -194,33 +272,15 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		} else if (idx < 0 || idx >= size()) {
 			throw new IndexOutOfBoundsException("Set element index out of range");
 		}
-		ListNode current = front;
-		while (current != null) {
-			if (current.data.equals(element)) {
-				throw new IllegalArgumentException("Element is already in the list");
-			}
-			current = current.next; 
-		}
-		current = front;
-		int currentIndex = 0;
-		if (idx == size - 1) {
-			for (int i = 0; i < size - 1; i++) {
-				current = current.next;
-			}
-			E returnData = current.data;
-			current.data = element;
-			return returnData;
+		if (contains(element)) {
+			throw new IllegalArgumentException("Element is already in the list");
 		}
-		while (current.next != null) {
-			if (currentIndex == idx) {
-				E returnData = current.data;
-				current.data = element;
-				return returnData;
-			}
-			currentIndex++;
-			current = current.next; 
-		}
-		return current.data; 
+		ListNode current = node(idx);
+		E returnData = current.data;
+		current.data = element;
+		removeKey(returnData);
+		addKey(element);
+		return returnData;
 	}
 	
 	/**
@@ -234,16 +294,24 @@ public class LinkedAbstractList<E> extends AbstractList<E> {
 		if (idx < 0 || idx >= size()) {
 			throw new IndexOutOfBoundsException("Get element index out of range");
 		}
+		return node(idx).data;
+	}
+	
+	/**
+	 * Returns the node at the given index, which must be in range. The last node is
+	 * returned through back without walking the list.
+	 * @param idx index of the node
+	 * @return node at the index
+	 */
+	private ListNode node(int idx) {
+		if (idx == size - 1) {
+			return back;
+		}
 		ListNode current = front;
-		int currentIndex = 0;
-		while (current.next != null) {
-			if (currentIndex == idx) {
-				return current.data; 
-			}
-			currentIndex++;
-			current = current.next; 
+		for (int i = 0; i < idx; i++) {
+			current = current.next;
 		}
-		return current.data; 
+		return current;
 	}
 	
 	
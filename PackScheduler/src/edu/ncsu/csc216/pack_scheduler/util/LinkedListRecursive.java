@@ -1,11 +1,19 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 /**
- * LinkedListRecursive class for a linked list of list nodes that are recursively implemented.
+ * LinkedListRecursive class for a linked list of list nodes.
  * Contains the inner class for list nodes. Class itself contains methods for a linked list
  * such as adding, getting, setting, and removing elements, as well as methods to check
  * if the list already contains an element. A LinkedListRecursive keeps track of its size 
- * and a reference to its first node.
+ * and references to its first and last nodes. Elements are compared by identity.
+ * 
+ * The list is walked with loops rather than recursion, so long lists cannot overflow
+ * the stack. Appends link onto the last node, and membership is checked in an identity
+ * hash set, so add and contains take constant time.
  * 
  * @author Tyler Davis
  * @author Ken Ogura
@@ -16,6 +24,10 @@ public class LinkedListRecursive<E> {
 	private int size;
 	/** List node reference of the first list node in the list */
 	private ListNode front;
+	/** List node reference of the last list node in the list */
+	private ListNode back;
+	/** Elements of the list, compared by identity */
+	private final Set<E> elements = Collections.newSetFromMap(new IdentityHashMap<E, Boolean>());
 	
 	/**
 	 * Constructor for a LinkedListRecursive. Initializes fields, such as
@@ -23,6 +35,7 @@ public class LinkedListRecursive<E> {
 	 */
 	public LinkedListRecursive() {
 		front = null;
+		back = null;
 		size = 0;
 	}
 	
@@ -50,20 +63,8 @@ public class LinkedListRecursive<E> {
 	 * @return whether the element was added to the list
 	 */
 	public boolean add(E element) {
-		if (front == null) {
-			front = new ListNode(element, null);
-			size++;
-			return true;
-		}
-		if (element == null) {
-			throw new NullPointerException();
-		} else {
-			if (front.contains(element)) {
-				throw new IllegalArgumentException();
-			}
-			
-			return front.add(element);
-		}
+		add(size, element);
+		return true;
 	}
 	
 	/**
@@ -81,17 +82,24 @@ public class LinkedListRecursive<E> {
 		if (idx < 0 || idx > size) {
 			throw new IndexOutOfBoundsException();
 		}
+		if (elements.contains(element)) {
+			throw new IllegalArgumentException();
+		}
 		
-		if (front == null) {
-			front = new ListNode(element, null);
-			size++;
-		} else {
-			if (front.contains(element)) {
-				throw new IllegalArgumentException();
+		if (idx == 0) {
+			front = new ListNode(element, front);
+			if (back == null) {
+				back = front;
 			}
-			
-			front.add(idx, element);
+		} else if (idx == size) {
+			back.next = new ListNode(element, null);
+			back = back.next;
+		} else {
+			ListNode previous = node(idx - 1);
+			previous.next = new ListNode(element, previous.next);
 		}
+		elements.add(element);
+		size++;
 	}
 	
 	/**
@@ -105,7 +113,7 @@ public class LinkedListRecursive<E> {
 			throw new IndexOutOfBoundsException();
 		}
 		
-		return front.get(idx);
+		return node(idx).data;
 	}
 	
 	/**
@@ -115,42 +123,31 @@ public class LinkedListRecursive<E> {
 	 * @return true if the element is removed 
 	 */
 	public boolean remove(E element) {
-		if (element == null) {
-			return false;
-		}
-		if (size == 0) {
+		if (element == null || !elements.contains(element)) {
 			return false;
 		}
-		if (element == front.data) {
-			front = front.next; 
-			size--;
-			return true; 
+		ListNode previous = null;
+		for (ListNode current = front; current != null; current = current.next) {
+			if (current.data == element) {
+				unlink(previous);
+				return true;
+			}
+			previous = current;
 		}
-		
-		return front.remove(element);
+		return false;
 	}
 	
 	/**
 	 * Removes an element from the list given an index and returns its value
 	 * @param idx the index of the element to be removed
 	 * @throws IndexOutOfBoundsException if the index is invalid
-	 * @throws NullPointerException if the list is empty 
 	 * @return E the value of the element that is removed
 	 */
 	public E remove(int idx) {
 		if (idx < 0 || idx >= size) {
 			throw new IndexOutOfBoundsException();
 		} 
-		if (idx == 0) {
-			E removed = front.data;
-			front = front.next;
-			size--;
-			return removed; 
-		}
-		if (size == 0) {
-			throw new NullPointerException();
-		}
-		return front.remove(idx);
+		return unlink(idx == 0 ? null : node(idx - 1));
 	}
 	
 	/**
@@ -171,19 +168,16 @@ public class LinkedListRecursive<E> {
 			throw new NullPointerException();
 		}
 		
-		if (front.contains(element)) {
+		if (elements.contains(element)) {
 			throw new IllegalArgumentException(); 
 		}
 		
-		if (idx == 0) {
-			E frontData = front.data;
-			ListNode next = front.next;
-			ListNode newFront = new ListNode(element, next);
-			front = newFront;
-			return frontData;
-		}
-
-		return front.set(idx, element);
+		ListNode current = node(idx);
+		E removed = current.data;
+		current.data = element;
+		elements.remove(removed);
+		elements.add(element);
+		return removed;
 	}
 	
 	/**
@@ -192,15 +186,48 @@ public class LinkedListRecursive<E> {
 	 * @return true if the element is already in the list or false otherwise
 	 */
 	public boolean contains(E element) {
-		if (front == null) {
-			return false;
-		} 
-		return front.contains(element);
+		return element != null && elements.contains(element);
+	}
+	
+	/**
+	 * Returns the node at a valid index, walking from the front unless the index is
+	 * the last one.
+	 * @param idx index of the node
+	 * @return the node at the index
+	 */
+	private ListNode node(int idx) {
+		if (idx == size - 1) {
+			return back;
+		}
+		ListNode current = front;
+		for (int i = 0; i < idx; i++) {
+			current = current.next;
+		}
+		return current;
+	}
+	
+	/**
+	 * Removes the node after the given node, updating back, the element set, and size.
+	 * @param previous node before the one to remove, or null to remove the front node
+	 * @return data of the removed node
+	 */
+	private E unlink(ListNode previous) {
+		ListNode removed = previous == null ? front : previous.next;
+		if (previous == null) {
+			front = removed.next;
+		} else {
+			previous.next = removed.next;
+		}
+		if (removed == back) {
+			back = previous;
+		}
+		elements.remove(removed.data);
+		size--;
+		return removed.data;
 	}
 	
 	/**
-	 * Inner class for ListNodes in a LinkedListRecursive. Contains private helper methods
-	 * to execute recursive calls for the list public methods. A ListNode knows its data and
+	 * Inner class for ListNodes in a LinkedListRecursive. A ListNode knows its data and
 	 * holds a reference to the list node that comes next in the list.
 	 * 
 	 * @author Tyler Davis
@@ -222,119 +249,5 @@ public class LinkedListRecursive<E> {
 			this.data = data;
 			this.next = next;
 		}
-		
-		/**
-		 * Helper add method to recursively call to add an element to the end
-		 * of a list.
-		 * @param element to add to the end of a list
-		 * @return whether the element was added
-		 */
-		public boolean add(E element) {
-			if (next == null) {
-				next = new ListNode(element, null);
-				size++;
-				return true;
-			} else {
-				return next.add(element);
-			}
-		}
-		
-		/**
-		 * Helper add method to recursively call to add an element at a specified
-		 * index.
-		 * @param idx to add an element at
-		 * @param element to add to a list
-		 */
-		public void add(int idx, E element) {
-			if (idx == 0) {
-				ListNode temp = front;
-				front = new ListNode(element, temp);
-				size++;
-			} else if (idx == 1) {
-				ListNode temp = next;
-				next = new ListNode(element, temp);
-				size++;
-			} else {
-				next.add(idx - 1, element);
-			}
-		}
-		
-		/**
-		 * Helper method to recursively call to get an element at a specified
-		 * index.
-		 * @param idx of an element to get
-		 * @return data value of the node at the index
-		 */
-		public E get(int idx) {
-			if (idx == 0) {
-				return data;
-			} else {
-				return next.get(idx - 1);
-			}
-		}
-		
-		/**
-		 * Removes an element from the list given an index
-		 * @param idx the index of the element to be removed 
-		 * @return removed the data of the element that is removed
-		 */
-		public E remove(int idx) {
-			if (idx == 1) {
-				E removed = next.data; 
-				next = next.next;
-				size--;
-				return removed;
-			}
-			return next.remove(idx - 1);
-		}
-		
-		/**
-		 * Removes the passed in element from the list
-		 * @param element the element to be removed
-		 * @return true if the element is removed
-		 */
-		public boolean remove(E element) {
-			if (next == null) {
-				return false;
-			}
-			if (next.data == element) {
-				next = next.next;
-				size--;
-				return true;
-			}
-			
-			return next.remove(element);
-		}
-		
-		/**
-		 * Sets the passed in element at the passed in index. Returns
-		 * the data that was previously in the ListNode. 
-		 * @param idx the index where the element will be set
-		 * @param element the element to be set  
-		 * @return E the data that was previously in the ListNode
-		 */
-		public E set(int idx, E element) {
-			if (idx == 1) {
-				E removed = next.data; 
-				next.data = element;
-				return removed;
-			}
-			return next.set(idx - 1, element);
-		}
-		
-		/**
-		 * Helper method to check if a list contains a specified element.
-		 * @param element to check to see if it is present in the list
-		 * @return true if the element is already in the list or false otherwise
-		 */
-		public boolean contains(E element) {
-			if (element == this.data) {
-				return true;
-			} else if (next == null) {
-				return false;
-			} else {
-				return next.contains(element);
-			}
-		}
 	}
 }
\ No newline at end of file
@@ -73,6 +73,15 @@ public class LinkedQueue<E> implements Queue<E> {
 		return list.size();
 	}
 
+	/**
+	 * Returns the number of elements that can still be added to the linked queue.
+	 * @return capacity minus size
+	 */
+	@Override
+	public int remainingCapacity() {
+		return capacity - size();
+	}
+	
 	/**
 	 * Sets the capacity of the linked queue by delegating to the
 	 * setCapacity method in LinkedAbstractList.
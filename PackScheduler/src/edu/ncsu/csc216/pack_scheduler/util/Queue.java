@@ -1,5 +1,7 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 
+import java.util.Collection;
+
 /**
  * Queue interface for the methods of a queue. Contains methods to enqueue and 
  * dequeue elements, check is the queue is empty, get the size of the queue, and 
@@ -42,4 +44,51 @@ public interface Queue<E> {
 	 * number of elements in the queue
 	 */
 	void setCapacity(int capacity);
+	
+	/**
+	 * Adds every element of a collection to the back of the queue, in the collection's
+	 * iteration order. Nothing is added if the elements do not all fit; an element enqueue
+	 * rejects stops the adds at that element.
+	 * @param elements elements to add
+	 * @throws IllegalArgumentException if the elements would not fit in the queue's capacity
+	 */
+	default void enqueueAll(Collection<? extends E> elements) {
+		if (elements.size() > remainingCapacity()) {
+			throw new IllegalArgumentException();
+		}
+		for (E element : elements) {
+			enqueue(element);
+		}
+	}
+	
+	/**
+	 * Removes up to max elements from the front of the queue and adds them, in order, to
+	 * the given collection.
+	 * @param target collection to add the removed elements to
+	 * @param max most elements to remove
+	 * @return number of elements removed
+	 */
+	default int drainTo(Collection<? super E> target, int max) {
+		int count = 0;
+		while (count < max && !isEmpty()) {
+			target.add(dequeue());
+			count++;
+		}
+		return count;
+	}
+	
+	/**
+	 * Removes every element of the queue and adds them, in order, to the given collection.
+	 * @param target collection to add the removed elements to
+	 * @return number of elements removed
+	 */
+	default int drainTo(Collection<? super E> target) {
+		return drainTo(target, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Returns the number of elements that can still be added before the queue is at capacity.
+	 * @return capacity minus size
+	 */
+	int remainingCapacity();
 }
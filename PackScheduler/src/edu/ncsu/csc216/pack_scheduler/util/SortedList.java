@@ -0,0 +1,221 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Array based list that keeps its elements in ascending order, with the same behavior as
+ * the CSC217 collections SortedList it replaces: null elements and elements equal to one
+ * already in the list are rejected, and an element is placed after every element that
+ * compares as equal to it. Positions are found by binary search, so an add costs a search
+ * plus the shift of the elements after it, and adding elements in ascending order never
+ * shifts. A list can also be built from already sorted elements in linear time.
+ *
+ * Elements that are equal must compare as equal, and an element must not change how it
+ * compares while it is in the list.
+ *
+ * @param <E> type of element in the list
+ */
+public class SortedList<E extends Comparable<E>> {
+	/** Initial length of the array */
+	private static final int INIT_SIZE = 10;
+
+	/** Elements of the list in ascending order */
+	private E[] list;
+	/** Number of elements in the list */
+	private int size;
+
+	/**
+	 * Constructs an empty list.
+	 */
+	@SuppressWarnings("unchecked")
+	public SortedList() {
+		list = (E[]) new Comparable<?>[INIT_SIZE];
+	}
+
+	/**
+	 * Builds a list from elements that are already in ascending order, checking the order
+	 * and for equal elements as it copies them.
+	 * @param <E> type of element in the list
+	 * @param sorted elements in ascending order, with no two equal
+	 * @return a list of the elements
+	 * @throws NullPointerException if an element is null
+	 * @throws IllegalArgumentException if the elements are out of order or two are equal
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends Comparable<E>> SortedList<E> fromSorted(List<? extends E> sorted) {
+		SortedList<E> result = new SortedList<E>();
+		result.list = (E[]) new Comparable<?>[Math.max(sorted.size(), INIT_SIZE)];
+		for (E element : sorted) {
+			if (element == null) {
+				throw new NullPointerException();
+			}
+			if (result.size > 0) {
+				int order = result.list[result.size - 1].compareTo(element);
+				if (order > 0) {
+					throw new IllegalArgumentException("Elements are not sorted.");
+				} else if (order == 0 && result.indexInRun(element, result.size) >= 0) {
+					throw new IllegalArgumentException("Element already in list.");
+				}
+			}
+			result.list[result.size++] = element;
+		}
+		return result;
+	}
+
+	/**
+	 * Adds an element after every element that compares as equal to it.
+	 * @param element element to add
+	 * @return true
+	 * @throws NullPointerException if the element is null
+	 * @throws IllegalArgumentException if an equal element is already in the list
+	 */
+	public boolean add(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		int idx = upperBound(element);
+		if (indexInRun(element, idx) >= 0) {
+			throw new IllegalArgumentException("Element already in list.");
+		}
+		if (size == list.length) {
+			list = Arrays.copyOf(list, list.length * 2);
+		}
+		System.arraycopy(list, idx, list, idx + 1, size - idx);
+		list[idx] = element;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Returns the element at the given index.
+	 * @param idx index of the element
+	 * @return the element
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public E get(int idx) {
+		if (idx < 0 || idx >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		return list[idx];
+	}
+
+	/**
+	 * Removes and returns the element at the given index.
+	 * @param idx index of the element
+	 * @return the removed element
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public E remove(int idx) {
+		if (idx < 0 || idx >= size) {
+			throw new IndexOutOfBoundsException();
+		}
+		E removed = list[idx];
+		System.arraycopy(list, idx + 1, list, idx, size - idx - 1);
+		list[--size] = null;
+		return removed;
+	}
+
+	/**
+	 * Returns the index of the element equal to the given element.
+	 * @param element element to look for
+	 * @return index of the element, or -1 if it is not in the list
+	 * @throws NullPointerException if the element is null
+	 */
+	public int indexOf(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		return indexInRun(element, upperBound(element));
+	}
+
+	/**
+	 * Removes every element from the list.
+	 */
+	public void clear() {
+		Arrays.fill(list, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of elements in the list.
+	 * @return number of elements
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the list has no elements.
+	 * @return true if the list is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns true if an element of the list equals the given element.
+	 * @param element element to look for
+	 * @return true if the element is in the list
+	 */
+	public boolean contains(E element) {
+		return element != null && indexInRun(element, upperBound(element)) >= 0;
+	}
+
+	/**
+	 * Returns the index of the first element that compares as greater than the given element.
+	 * @param element element to compare against
+	 * @return index the element would be added at
+	 */
+	private int upperBound(E element) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (list[mid].compareTo(element) > 0) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Looks for an element equal to the given element among the elements just before the
+	 * given index that compare as equal to it.
+	 * @param element element to look for
+	 * @param end index just past the elements that compare as equal to the element
+	 * @return index of the equal element, or -1 if there is none
+	 */
+	private int indexInRun(E element, int end) {
+		int found = -1;
+		for (int i = end - 1; i >= 0 && list[i].compareTo(element) == 0; i--) {
+			if (list[i].equals(element)) {
+				found = i;
+			}
+		}
+		return found;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (int i = 0; i < size; i++) {
+			result = 31 * result + list[i].hashCode();
+		}
+		return 31 + result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		SortedList<?> other = (SortedList<?>) obj;
+		return size == other.size && Arrays.equals(list, 0, size, other.list, 0, other.size);
+	}
+}
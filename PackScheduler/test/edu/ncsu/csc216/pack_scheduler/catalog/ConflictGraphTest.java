@@ -0,0 +1,104 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Tests the ConflictGraph class
+ */
+class ConflictGraphTest {
+
+	/** Meeting days courses are given at random */
+	private static final String[] DAYS = {"M", "T", "W", "H", "F", "MW", "TH", "MWF", "A"};
+
+	/**
+	 * Tests adding, removing, and querying a few courses.
+	 */
+	@Test
+	void testConflicts() {
+		Course a = new Course("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445);
+		Course b = new Course("CSC216", "Software Development Fundamentals", "002", 3, null, 10, "WF", 1445, 1600);
+		Course c = new Course("CSC226", "Discrete Mathematics", "001", 3, null, 10, "TH", 1330, 1445);
+		Course d = new Course("CSC230", "C and Software Tools", "001", 3, null, 10, "A");
+		ConflictGraph graph = new ConflictGraph();
+		assertTrue(graph.add(a));
+		assertTrue(graph.add(b));
+		assertTrue(graph.add(c));
+		assertTrue(graph.add(d));
+		assertFalse(graph.add(a));
+		assertEquals(4, graph.size());
+
+		assertTrue(graph.conflicts(a, b));
+		assertTrue(graph.conflicts(b, a));
+		assertFalse(graph.conflicts(a, a));
+		assertFalse(graph.conflicts(a, c));
+		assertEquals(1, graph.getConflictCount(a));
+		assertEquals(0, graph.getConflictCount(d));
+		assertEquals(List.of(b), graph.getConflicts(a));
+		assertEquals(List.of(c, d), graph.getConflictFree(a));
+		assertEquals(List.of(d), graph.getConflictFree(a, c));
+
+		Course e = new Course("CSC316", "Data Structures", "001", 3, null, 10, "W", 1500, 1515);
+		assertEquals(List.of(b), graph.getConflicts(e));
+		assertEquals(List.of(a, c, d), graph.getConflictFree(e));
+
+		assertTrue(graph.remove(b));
+		assertFalse(graph.remove(b));
+		assertFalse(graph.contains(b));
+		assertEquals(0, graph.getConflictCount(a));
+		assertTrue(graph.add(e));
+		assertTrue(graph.conflicts(e, a) == e.conflictsWith(a));
+		assertEquals(4, graph.size());
+
+		graph.clear();
+		assertEquals(0, graph.size());
+		assertEquals(List.of(), graph.getConflictFree());
+	}
+
+	/**
+	 * Tests that the graph matches checking every pair of courses after random adds and removes.
+	 */
+	@Test
+	void testMatchesPairwiseChecks() {
+		Random random = new Random(216);
+		ConflictGraph graph = new ConflictGraph();
+		List<Course> present = new ArrayList<Course>();
+		for (int i = 0; i < 400; i++) {
+			if (!present.isEmpty() && random.nextInt(3) == 0) {
+				Course removed = present.remove(random.nextInt(present.size()));
+				assertTrue(graph.remove(removed));
+			} else {
+				String days = DAYS[random.nextInt(DAYS.length)];
+				int startMinute = 480 + 15 * random.nextInt(40);
+				int endMinute = startMinute + 50 + 25 * random.nextInt(3);
+				int start = startMinute / 60 * 100 + startMinute % 60;
+				int end = endMinute / 60 * 100 + endMinute % 60;
+				Course course = "A".equals(days)
+						? new Course("CSC" + (100 + i), "Course", "001", 3, null, 10, days)
+						: new Course("CSC" + (100 + i), "Course", "001", 3, null, 10, days, start, end);
+				present.add(course);
+				assertTrue(graph.add(course));
+			}
+		}
+		assertEquals(present.size(), graph.size());
+		for (Course course : present) {
+			HashSet<Course> expected = new HashSet<Course>();
+			for (Course other : present) {
+				if (other != course && other.conflictsWith(course)) {
+					expected.add(other);
+				}
+			}
+			assertEquals(expected, new HashSet<Course>(graph.getConflicts(course)));
+			assertEquals(expected.size(), graph.getConflictCount(course));
+			assertEquals(present.size() - 1 - expected.size(), graph.getConflictFree(course).size());
+		}
+	}
+}
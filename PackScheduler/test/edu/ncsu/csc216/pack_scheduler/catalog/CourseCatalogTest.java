@@ -3,6 +3,9 @@ package edu.ncsu.csc216.pack_scheduler.catalog;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -51,6 +54,27 @@ public class CourseCatalogTest {
 		//Test valid file
 		cc.loadCoursesFromFile(validTestFile);
 		assertEquals(13, cc.getCourseCatalog().length);
+		
+		//Test valid file in parallel
+		cc.loadCoursesFromFile(validTestFile, true);
+		assertEquals(13, cc.getCourseCatalog().length);
+		assertEquals(13, cc.getConflictGraph().size());
+		assertEquals(13, cc.getMeetingIndex().size());
+		assertEquals("CSC216", cc.getCourseFromCatalog("CSC216", "001").getName());
+		
+		//The conflict graph is built once after a load and then kept up to date
+		ConflictGraph graph = cc.getConflictGraph();
+		assertSame(graph, cc.getConflictGraph());
+		cc.addCourseToCatalog("CSC440", "Database Management Systems", "001", 3, null, 10, "MW", 1145, 1300);
+		assertEquals(14, graph.size());
+		cc.loadCoursesFromFile(validTestFile);
+		assertNotSame(graph, cc.getConflictGraph());
+		assertEquals(13, cc.getConflictGraph().size());
+		
+		//Sections are looked up by course name
+		assertEquals(3, cc.getSections("CSC216").size());
+		assertEquals("002", cc.getSections("CSC216").get(1).getSection());
+		assertEquals(0, cc.getSections("CSC999").size());
 	}
 	
 	
@@ -85,10 +109,17 @@ public class CourseCatalogTest {
 		catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "003", 3, "spbalik", 10, "MW", 1250, 1440);
 		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MW", 1330, 1445);
 		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "601", 3, "jctetter", 10, "T", 1100, 1200);
+		Course csc116 = catalog.getCourseFromCatalog("CSC116", "003");
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		assertTrue(catalog.getConflictGraph().conflicts(csc116, csc216));
 		catalog.removeCourseFromCatalog("CSC216", "001");
 		String[][] catalogArray = catalog.getCourseCatalog();
 		assertEquals(catalogArray[0][0], "CSC116");
 		assertEquals(catalogArray[1][0], "CSC216");
+		assertFalse(catalog.getConflictGraph().contains(csc216));
+		assertEquals(0, catalog.getConflictGraph().getConflictCount(csc116));
+		assertEquals(2, catalog.getConflictGraph().size());
+		assertEquals(1, catalog.getMeetingIndex().getCoursesMeeting('M', 1400, 1400).size());
 		
 	}
 	
@@ -106,6 +137,33 @@ public class CourseCatalogTest {
 		assertTrue(catalogCourse.equals(testCourse));
 	}
 	
+	/**
+	 * Tests that getCourseFromCatalog() stays consistent with the catalog after
+	 * loading, removing, and re-adding courses.
+	 */
+	@Test
+	public void testGetCourseFromCatalogAfterChanges() {
+		CourseCatalog catalog = new CourseCatalog();
+		catalog.loadCoursesFromFile(validTestFile);
+		Course loaded = catalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals("CSC216", loaded.getName());
+		assertEquals("001", loaded.getSection());
+		assertNull(catalog.getCourseFromCatalog("CSC216", "999"));
+
+		assertTrue(catalog.removeCourseFromCatalog("CSC216", "001"));
+		assertNull(catalog.getCourseFromCatalog("CSC216", "001"));
+		assertFalse(catalog.removeCourseFromCatalog("CSC216", "001"));
+		assertEquals(12, catalog.getCourseCatalog().length);
+
+		assertTrue(catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "TH", 1330, 1445));
+		assertFalse(catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "TH", 1330, 1445));
+		assertEquals("TH", catalog.getCourseFromCatalog("CSC216", "001").getMeetingDays());
+		assertEquals(13, catalog.getCourseCatalog().length);
+
+		catalog.newCourseCatalog();
+		assertNull(catalog.getCourseFromCatalog("CSC216", "001"));
+	}
+
 	/**
 	 * Tests invalid inputs addCourseToCatalog()
 	 */
@@ -0,0 +1,122 @@
+package edu.ncsu.csc216.pack_scheduler.catalog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+
+/**
+ * Tests the MeetingIndex class
+ */
+class MeetingIndexTest {
+
+	/** Meeting days courses are given at random */
+	private static final String[] DAYS = {"M", "T", "W", "H", "F", "MW", "TH", "MWF", "A"};
+
+	/**
+	 * Tests range queries on a few courses.
+	 */
+	@Test
+	void testQueries() {
+		Course a = new Course("CSC116", "Intro to Programming - Java", "001", 3, null, 10, "MW", 910, 1100);
+		Course b = new Course("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "TH", 1330, 1445);
+		Course c = new Course("CSC226", "Discrete Mathematics", "001", 3, null, 10, "T", 1000, 1050);
+		Course d = new Course("CSC230", "C and Software Tools", "001", 3, null, 10, "A");
+		Course e = new Course("CSC316", "Data Structures", "001", 3, null, 10, "MWF", 1445, 1600);
+		MeetingIndex index = new MeetingIndex();
+		for (Course course : new Course[] {a, b, c, d, e}) {
+			assertTrue(index.add(course));
+		}
+		assertFalse(index.add(b));
+		assertEquals(5, index.size());
+
+		assertEquals(List.of(c, b), index.getCoursesMeeting('T', 1000, 1400));
+		assertEquals(List.of(c), index.getCoursesWithin('T', 1000, 1400));
+		assertEquals(List.of(a), index.getCoursesMeeting('W', 1100, 1100));
+		assertEquals(List.of(e), index.getCoursesMeeting('F', 0, 2359));
+		assertEquals(List.of(), index.getCoursesMeeting('F', 800, 1444));
+		assertEquals(List.of(d), index.getArrangedCourses());
+		assertThrows(IllegalArgumentException.class, () -> index.getCoursesMeeting('S', 800, 900));
+
+		assertEquals(List.of(c, d), index.getCoursesFitting(new MeetingIndex.Block("T", 800, 1200)));
+		assertEquals(List.of(b, c, d), index.getCoursesFitting(new MeetingIndex.Block("TH", 1300, 1500),
+				new MeetingIndex.Block("T", 1000, 1050)));
+		assertEquals(List.of(a, d), index.getCoursesFitting(new MeetingIndex.Block("MW", 900, 1200),
+				new MeetingIndex.Block("MWH", 1400, 1500), new MeetingIndex.Block("M", 1000, 1700)));
+		assertEquals(List.of(a, e, d), index.getCoursesFitting(new MeetingIndex.Block("MW", 900, 1600),
+				new MeetingIndex.Block("F", 1445, 1600)));
+		assertThrows(IllegalArgumentException.class, () -> new MeetingIndex.Block("MA", 800, 900));
+		assertThrows(IllegalArgumentException.class, () -> new MeetingIndex.Block("M", 900, 800));
+
+		assertTrue(index.remove(b));
+		assertFalse(index.remove(b));
+		assertTrue(index.remove(d));
+		assertEquals(List.of(c), index.getCoursesMeeting('T', 1000, 1400));
+		assertEquals(List.of(), index.getArrangedCourses());
+		index.clear();
+		assertEquals(0, index.size());
+		assertEquals(List.of(), index.getCoursesMeeting('M', 0, 2359));
+	}
+
+	/**
+	 * Tests that queries match checking every course after random adds and removes.
+	 */
+	@Test
+	void testMatchesScan() {
+		Random random = new Random(316);
+		MeetingIndex index = new MeetingIndex();
+		List<Course> present = new ArrayList<Course>();
+		for (int i = 0; i < 600; i++) {
+			if (!present.isEmpty() && random.nextInt(3) == 0) {
+				assertTrue(index.remove(present.remove(random.nextInt(present.size()))));
+			} else {
+				String days = DAYS[random.nextInt(DAYS.length)];
+				int start = 480 + 5 * random.nextInt(120);
+				int end = start + 5 * random.nextInt(30);
+				Course course = "A".equals(days)
+						? new Course("CSC" + (100 + i), "Course", "001", 3, null, 10, days)
+						: new Course("CSC" + (100 + i), "Course", "001", 3, null, 10, days, time(start), time(end));
+				present.add(course);
+				assertTrue(index.add(course));
+			}
+		}
+		for (int q = 0; q < 200; q++) {
+			char day = "MTWHF".charAt(random.nextInt(5));
+			int start = 480 + 5 * random.nextInt(120);
+			int end = start + 5 * random.nextInt(40);
+			int overlapping = 0;
+			int within = 0;
+			for (Course course : present) {
+				if (course.getMeetingDays().indexOf(day) < 0 || "A".equals(course.getMeetingDays())) {
+					continue;
+				}
+				if (course.getStartMinute() <= end && course.getEndMinute() >= start) {
+					overlapping++;
+				}
+				if (course.getStartMinute() >= start && course.getEndMinute() <= end) {
+					within++;
+				}
+			}
+			List<Course> found = index.getCoursesMeeting(day, time(start), time(end));
+			assertEquals(overlapping, found.size());
+			for (int i = 1; i < found.size(); i++) {
+				assertTrue(found.get(i - 1).getStartMinute() <= found.get(i).getStartMinute());
+			}
+			assertEquals(within, index.getCoursesWithin(day, time(start), time(end)).size());
+		}
+	}
+
+	/**
+	 * Converts minutes after midnight to military time.
+	 * @param minutes minutes after midnight
+	 * @return military time
+	 */
+	private static int time(int minutes) {
+		return minutes / 60 * 100 + minutes % 60;
+	}
+}
@@ -87,4 +87,37 @@ class ActivityTest {
 	
 	
 
+	/**
+	 * Tests the meeting day mask, the minute of day times, and conflictsWith, including
+	 * nested meetings, meetings a minute apart, and arranged meetings.
+	 */
+	@Test
+	public void testConflictsWith() {
+	    Activity a1 = new Course("CSC216", "Software Development Fundamentals", "001", 3, "sesmith5", 10, "MWF", 800, 1215);
+	    Activity a2 = new Course("CSC226", "Discrete Mathematics", "001", 3, "sesmith5", 10, "F", 900, 950);
+	    Activity a3 = new Course("CSC226", "Discrete Mathematics", "002", 3, "sesmith5", 10, "WF", 1216, 1300);
+	    Activity a4 = new Course("CSC226", "Discrete Mathematics", "003", 3, "sesmith5", 10, "A");
+	    Activity a5 = new Course("CSC226", "Discrete Mathematics", "004", 3, "sesmith5", 10, "TH", 800, 1215);
+
+	    assertEquals(480, a1.getStartMinute());
+	    assertEquals(735, a1.getEndMinute());
+	    assertEquals(0, a4.getMeetingDayMask());
+	    assertEquals(0b10101, a1.getMeetingDayMask());
+	    assertEquals(0b01010, a5.getMeetingDayMask());
+	    assertEquals(a1.getMeetingDayMask(), a2.getMeetingDayMask() | a3.getMeetingDayMask() | new Course("CSC316", "Data Structures", "001", 3, null, 10, "M", 800, 900).getMeetingDayMask());
+
+	    assertTrue(a1.conflictsWith(a2));
+	    assertTrue(a2.conflictsWith(a1));
+	    assertFalse(a1.conflictsWith(a3));
+	    assertFalse(a3.conflictsWith(a1));
+	    assertFalse(a1.conflictsWith(a4));
+	    assertFalse(a4.conflictsWith(a4));
+	    assertFalse(a1.conflictsWith(a5));
+	    assertTrue(a1.conflictsWith(a1));
+
+	    a3.setMeetingDaysAndTime("WF", 1215, 1300);
+	    assertTrue(a1.conflictsWith(a3));
+	    assertThrows(ConflictException.class, () -> a3.checkConflict(a1));
+	}
+
 }
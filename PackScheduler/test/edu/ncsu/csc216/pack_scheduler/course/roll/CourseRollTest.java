@@ -204,4 +204,71 @@ public class CourseRollTest {
 		assertEquals(3, roll.getNumberOnWaitlist());
 		assertEquals(10, roll.roll.size());
 	}
+	
+	/**
+	 * Tests restore(), getEnrolledStudents(), and getWaitlistedStudents()
+	 */
+	@Test
+	public void testRestore() {
+		Student[] enrolled = new Student[10];
+		for (int i = 0; i < enrolled.length; i++) {
+			enrolled[i] = new Student(FIRST_NAME, LAST_NAME, ID + i, EMAIL, PASSWORD, MAX_CREDITS);
+		}
+		Student[] waitlisted = { new Student(FIRST_NAME, LAST_NAME, ID, EMAIL, PASSWORD, MAX_CREDITS) };
+		roll.restore(enrolled, waitlisted);
+		assertEquals(0, roll.getOpenSeats());
+		assertEquals(1, roll.getNumberOnWaitlist());
+		assertArrayEquals(enrolled, roll.getEnrolledStudents());
+		assertArrayEquals(waitlisted, roll.getWaitlistedStudents());
+		assertEquals(0, c.getCourseRoll().getEnrolledStudents()[0].getSchedule().getCourses().length);
+		
+		assertThrows(IllegalArgumentException.class, () -> roll.restore(new Student[11], new Student[0]));
+		assertThrows(IllegalArgumentException.class, () -> roll.restore(new Student[0], new Student[11]));
+		assertEquals(10, roll.getEnrolledStudents().length);
+	}
+	
+	/**
+	 * Tests reserveSeat(), releaseSeat(), and enroll() with a claimed seat
+	 */
+	@Test
+	public void testReserveSeat() {
+		Student[] students = new Student[21];
+		for (int i = 0; i < students.length; i++) {
+			students[i] = new Student(FIRST_NAME, LAST_NAME, ID + i, EMAIL, PASSWORD, MAX_CREDITS);
+		}
+		for (int i = 0; i < 10; i++) {
+			assertTrue(roll.reserveSeat());
+		}
+		assertEquals(0, roll.getOpenSeats());
+		assertFalse(roll.reserveSeat());
+		
+		for (int i = 0; i < 9; i++) {
+			roll.enroll(students[i], true);
+		}
+		roll.enroll(students[9], false);
+		assertEquals(9, roll.getEnrolledStudents().length);
+		assertEquals(1, roll.getNumberOnWaitlist());
+		assertFalse(roll.isWaitlistFull());
+		
+		roll.releaseSeat();
+		assertEquals(10, roll.getEnrolledStudents().length);
+		assertEquals(0, roll.getNumberOnWaitlist());
+		assertEquals(0, roll.getOpenSeats());
+		
+		for (int i = 10; i < 20; i++) {
+			roll.enroll(students[i]);
+		}
+		assertTrue(roll.isWaitlistFull());
+		assertFalse(roll.reserveSeat());
+		assertThrows(IllegalArgumentException.class, () -> roll.enroll(students[20]));
+		
+		roll.drop(students[0]);
+		assertEquals(0, roll.getOpenSeats());
+		assertEquals(9, roll.getNumberOnWaitlist());
+		assertFalse(roll.isWaitlistFull());
+		assertSame(students[10], roll.getEnrolledStudents()[9]);
+		
+		roll.setEnrollmentCap(12);
+		assertEquals(2, roll.getOpenSeats());
+	}
 }
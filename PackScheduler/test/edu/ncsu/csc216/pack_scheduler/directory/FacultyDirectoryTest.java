@@ -75,4 +75,20 @@ class FacultyDirectoryTest {
 		Faculty f2 = fd2.getFacultyById("hey");
 		assertEquals(null, f2);
 	}
+	
+	/**
+	 * Test method for getFacultyById after faculty are removed and added again
+	 */
+	@Test
+	void testGetFacultyByIdAfterChanges() {
+		FacultyDirectory fd = new FacultyDirectory();
+		fd.loadFacultyFromFile(validInFile);
+		assertEquals("awitt", fd.getFacultyById("awitt").getId());
+		assertTrue(fd.removeFaculty("awitt"));
+		assertNull(fd.getFacultyById("awitt"));
+		assertFalse(fd.removeFaculty("awitt"));
+		assertTrue(fd.addFaculty("Ashely", "Witt", "awitt", "awitt@ncsu.edu", "pw", "pw", 2));
+		assertFalse(fd.addFaculty("Ashely", "Witt", "awitt", "awitt@ncsu.edu", "pw", "pw", 2));
+		assertEquals("awitt", fd.getFacultyById("awitt").getId());
+	}
 }
@@ -92,6 +92,15 @@ public class StudentDirectoryTest {
 		//Test valid file
 		sd.loadStudentsFromFile(validTestFile);
 		assertEquals(10, sd.getStudentDirectory().length);
+		String[][] sequential = sd.getStudentDirectory();
+		
+		//Test valid file in parallel
+		sd.loadStudentsFromFile(validTestFile, true);
+		String[][] parallel = sd.getStudentDirectory();
+		assertEquals(10, parallel.length);
+		for (int i = 0; i < sequential.length; i++) {
+			assertEquals(sequential[i][2], parallel[i][2]);
+		}
 	}
 	
 	/**
@@ -210,6 +219,21 @@ public class StudentDirectoryTest {
 		
 	}
 	
+	/**
+	 * Tests that getStudentById stays in step with removeStudent and newStudentDirectory.
+	 */
+	@Test
+	public void testGetStudentByIdAfterChanges() {
+		StudentDirectory sd = new StudentDirectory();
+		sd.loadStudentsFromFile(validTestFile);
+		assertEquals("zking", sd.getStudentById("zking").getId());
+		assertTrue(sd.removeStudent("zking"));
+		assertNull(sd.getStudentById("zking"));
+		assertFalse(sd.removeStudent("zking"));
+		sd.newStudentDirectory();
+		assertNull(sd.getStudentById("efrost"));
+	}
+	
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -0,0 +1,46 @@
+package edu.ncsu.csc216.pack_scheduler.directory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests UserIndex.
+ */
+public class UserIndexTest {
+
+	/**
+	 * Tests adding, getting, and removing students and faculty from the index.
+	 */
+	@Test
+	public void testUserIndex() {
+		UserIndex<Student> index = new UserIndex<Student>();
+		assertEquals(0, index.size());
+		assertNull(index.get("sdent"));
+
+		Student s = new Student("Stu", "Dent", "sdent", "sdent@ncsu.edu", "pw", 15);
+		Student sameId = new Student("Other", "Dent", "sdent", "odent@ncsu.edu", "pw", 12);
+		assertTrue(index.add(s));
+		assertFalse(index.add(sameId));
+		assertEquals(1, index.size());
+		assertSame(s, index.get("sdent"));
+		assertTrue(index.contains("sdent"));
+
+		assertSame(s, index.remove("sdent"));
+		assertNull(index.remove("sdent"));
+		assertFalse(index.contains("sdent"));
+		assertTrue(index.add(sameId));
+		assertSame(sameId, index.get("sdent"));
+
+		index.clear();
+		assertEquals(0, index.size());
+
+		UserIndex<Faculty> facultyIndex = new UserIndex<Faculty>();
+		Faculty f = new Faculty("Fac", "Ulty", "fulty", "fulty@ncsu.edu", "pw", 2);
+		assertTrue(facultyIndex.add(f));
+		assertSame(f, facultyIndex.get("fulty"));
+	}
+}
@@ -0,0 +1,102 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+
+/**
+ * Tests the ChunkedRecordReader class and the parallel modes of the record readers.
+ */
+class ChunkedRecordReaderTest {
+
+	/** File containing valid course records */
+	private final String courseFile = "test-files/course_records.txt";
+	/** File containing valid student records */
+	private final String studentFile = "test-files/student_records.txt";
+
+	/**
+	 * Tests that every line is read exactly once and in order, whatever the chunk size.
+	 * @throws IOException if the file cannot be read
+	 */
+	@Test
+	void testReadRecords() throws IOException {
+		List<String> lines = Files.readAllLines(Paths.get(courseFile));
+		for (int chunkSize : new int[] {1, 7, 64, 100, ChunkedRecordReader.CHUNK_SIZE}) {
+			ArrayList<String> records = ChunkedRecordReader.readRecords(courseFile, tokens -> {
+				StringBuilder line = new StringBuilder(tokens.nextField());
+				while (tokens.hasNextField()) {
+					line.append(',').append(tokens.nextField());
+				}
+				return line.toString();
+			}, chunkSize);
+			assertEquals(lines, records, "Chunk size " + chunkSize);
+		}
+		assertThrows(FileNotFoundException.class, () -> ChunkedRecordReader.readRecords("test-files/missing.txt", tokens -> tokens.nextField()));
+	}
+
+	/**
+	 * Tests that a parallel read gives the same courses as a sequential read, keeping the
+	 * first course with a duplicated name and section.
+	 * @throws FileNotFoundException if the file cannot be found
+	 */
+	@Test
+	void testReadCourseRecordsParallel() throws FileNotFoundException {
+		SortedList<Course> sequential = CourseRecordIO.readCourseRecords(courseFile, null);
+		SortedList<Course> parallel = CourseRecordIO.readCourseRecords(courseFile, null, true);
+		assertEquals(13, parallel.size());
+		for (int i = 0; i < sequential.size(); i++) {
+			assertEquals(sequential.get(i).toString(), parallel.get(i).toString());
+		}
+		assertEquals("MW", parallel.get(1).getMeetingDays());
+	}
+
+	/**
+	 * Tests that a parallel read gives the same students as a sequential read.
+	 * @throws FileNotFoundException if the file cannot be found
+	 */
+	@Test
+	void testReadStudentRecordsParallel() throws FileNotFoundException {
+		SortedList<Student> sequential = StudentRecordIO.readStudentRecords(studentFile);
+		SortedList<Student> parallel = StudentRecordIO.readStudentRecords(studentFile, true);
+		assertEquals(sequential.size(), parallel.size());
+		for (int i = 0; i < sequential.size(); i++) {
+			assertEquals(sequential.get(i), parallel.get(i));
+		}
+	}
+	
+	/**
+	 * Tests that a large list is sorted once and loaded without one sorted insert per
+	 * element, keeping elements that compare as equal in their original order.
+	 */
+	@Test
+	void testToSortedList() {
+		ArrayList<Student> students = new ArrayList<Student>();
+		for (int i = 0; i < 200000; i++) {
+			String id = String.format("s%06d", i);
+			students.add(new Student("First", "Last", id, id + "@ncsu.edu", "pw", 15));
+		}
+		Student same = new Student("First", "Last", "s000005", "s000005@ncsu.edu", "other", 15);
+		students.add(same);
+		long start = System.nanoTime();
+		SortedList<Student> sorted = ChunkedRecordReader.toSortedList(students);
+		assertTrue(System.nanoTime() - start < 5_000_000_000L);
+		assertEquals(200001, sorted.size());
+		assertEquals("s000005", sorted.get(5).getId());
+		assertSame(same, sorted.get(6));
+		assertEquals("s199999", sorted.get(200000).getId());
+		
+		students.add(students.get(0));
+		assertThrows(IllegalArgumentException.class, () -> ChunkedRecordReader.toSortedList(students));
+	}
+}
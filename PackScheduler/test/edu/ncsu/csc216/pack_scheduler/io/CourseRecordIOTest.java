@@ -15,7 +15,9 @@ import java.util.Scanner;
 
 
 import edu.ncsu.csc216.pack_scheduler.course.Course;
-import edu.ncsu.csc217.collections.list.SortedList;
+import edu.ncsu.csc216.pack_scheduler.directory.FacultyDirectory;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
 
 /**
  * Tests CouresRecordIO.
@@ -94,6 +96,32 @@ public class CourseRecordIOTest {
 		}
 	}
 
+	/**
+	 * Tests readCourseRecords() with a FacultyDirectory to resolve instructors against.
+	 */
+	@Test
+	public void testReadCourseRecordsWithFacultyDirectory() {
+		FacultyDirectory fd = new FacultyDirectory();
+		fd.addFaculty("Sarah", "Heckman", "sesmith5", "sesmith5@ncsu.edu", "pw", "pw", 3);
+		try {
+			SortedList<Course> courses = CourseRecordIO.readCourseRecords(validTestFile, fd);
+			assertEquals(13, courses.size());
+			Faculty f = fd.getFacultyById("sesmith5");
+			assertEquals(5, f.getSchedule().getNumScheduledCourses());
+			assertEquals("sesmith5", courses.get(3).getInstructorId());
+			assertEquals("sesmith5", courses.get(9).getInstructorId());
+			assertNull(courses.get(0).getInstructorId());
+			
+			courses = CourseRecordIO.readCourseRecords(validTestFile, null);
+			assertEquals(13, courses.size());
+			for (int i = 0; i < validCourses.length; i++) {
+				assertEquals(validCourses[i], courses.get(i).toString());
+			}
+		} catch (FileNotFoundException e) {
+			fail("Unexpected error reading " + validTestFile);
+		}
+	}
+
 	/**
 	 * Tests readInvalidCourseRecords().
 	 */
@@ -0,0 +1,163 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the EnrollmentJournal class
+ */
+class EnrollmentJournalTest {
+
+	/**
+	 * Returns an empty temporary file to use as a journal.
+	 * @return name of the file
+	 * @throws IOException if the file cannot be created
+	 */
+	private String tempFile() throws IOException {
+		File file = File.createTempFile("journal", ".log");
+		file.deleteOnExit();
+		return file.getPath();
+	}
+
+	/**
+	 * Tests that appended entries are read back when the journal is opened again.
+	 * @throws IOException if the journal cannot be written or read
+	 */
+	@Test
+	void testAppendReopen() throws IOException {
+		String fileName = tempFile();
+		EnrollmentJournal journal = new EnrollmentJournal(fileName, 5);
+		assertEquals(0, journal.getEntries().size());
+		assertEquals(6, journal.append(EnrollmentJournal.ENROLL, "efrost", "CSC216", "001"));
+		assertEquals(7, journal.append(EnrollmentJournal.RESET, "efrost", null, null));
+		journal.close();
+		assertThrows(IOException.class, () -> journal.append(EnrollmentJournal.DROP, "efrost", "CSC216", "001"));
+
+		EnrollmentJournal reopened = new EnrollmentJournal(fileName, 0);
+		ArrayList<EnrollmentJournal.Entry> entries = reopened.getEntries();
+		assertEquals(2, entries.size());
+		assertEquals(6, entries.get(0).getSequence());
+		assertEquals(EnrollmentJournal.ENROLL, entries.get(0).getType());
+		assertEquals("efrost", entries.get(0).getUserId());
+		assertEquals("CSC216", entries.get(0).getName());
+		assertEquals("001", entries.get(0).getSection());
+		assertEquals(EnrollmentJournal.RESET, entries.get(1).getType());
+		assertNull(entries.get(1).getName());
+		assertNull(entries.get(1).getSection());
+		assertEquals(7, reopened.getLastSequence());
+		assertEquals(8, reopened.append(EnrollmentJournal.DROP, "efrost", "CSC216", "001"));
+		reopened.close();
+
+		EnrollmentJournal ahead = new EnrollmentJournal(fileName, 20);
+		assertEquals(3, ahead.getEntries().size());
+		assertEquals(21, ahead.log(EnrollmentJournal.DROP, "efrost", "CSC216", "001"));
+		ahead.close();
+		assertEquals(4, new EnrollmentJournal(fileName, 0).getEntries().size());
+	}
+
+	/**
+	 * Tests that a torn or corrupt record at the end of the journal is dropped.
+	 * @throws IOException if the journal cannot be written or read
+	 */
+	@Test
+	void testTornTail() throws IOException {
+		String fileName = tempFile();
+		EnrollmentJournal journal = new EnrollmentJournal(fileName, 0);
+		journal.append(EnrollmentJournal.ENROLL, "efrost", "CSC216", "001");
+		journal.append(EnrollmentJournal.ENROLL, "ahicks", "CSC216", "001");
+		journal.close();
+		long length = new File(fileName).length();
+
+		try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+			file.setLength(length - 3);
+		}
+		EnrollmentJournal torn = new EnrollmentJournal(fileName, 0);
+		assertEquals(1, torn.getEntries().size());
+		assertEquals(1, torn.getLastSequence());
+		assertEquals(length / 2, new File(fileName).length());
+		torn.append(EnrollmentJournal.DROP, "efrost", "CSC216", "001");
+		torn.close();
+
+		try (RandomAccessFile file = new RandomAccessFile(fileName, "rw")) {
+			file.seek(length - 1);
+			int last = file.read();
+			file.seek(length - 1);
+			file.write(last ^ 0xff);
+		}
+		EnrollmentJournal corrupt = new EnrollmentJournal(fileName, 0);
+		assertEquals(1, corrupt.getEntries().size());
+		assertEquals("efrost", corrupt.getEntries().get(0).getUserId());
+		corrupt.close();
+	}
+
+	/**
+	 * Tests that truncating empties the journal only when every record is covered.
+	 * @throws IOException if the journal cannot be written or read
+	 */
+	@Test
+	void testTruncate() throws IOException {
+		String fileName = tempFile();
+		EnrollmentJournal journal = new EnrollmentJournal(fileName, 0);
+		journal.append(EnrollmentJournal.ASSIGN_FACULTY, "awitt", "CSC116", "001");
+		journal.log(EnrollmentJournal.REMOVE_FACULTY, "awitt", "CSC116", "001");
+		journal.truncate(1);
+		assertTrue(new File(fileName).length() > 0);
+
+		journal.sync(2);
+		journal.truncate(2);
+		assertEquals(0, new File(fileName).length());
+		assertEquals(3, journal.append(EnrollmentJournal.RESET_FACULTY, "awitt", null, null));
+		journal.close();
+
+		EnrollmentJournal reopened = new EnrollmentJournal(fileName, 2);
+		assertEquals(1, reopened.getEntries().size());
+		assertEquals(3, reopened.getEntries().get(0).getSequence());
+		reopened.close();
+	}
+
+	/**
+	 * Tests that appends from several threads are all written with distinct sequence numbers.
+	 * @throws Exception if the journal cannot be written or a thread is interrupted
+	 */
+	@Test
+	void testConcurrentAppend() throws Exception {
+		String fileName = tempFile();
+		EnrollmentJournal journal = new EnrollmentJournal(fileName, 0);
+		Thread[] threads = new Thread[8];
+		IOException[] errors = new IOException[threads.length];
+		for (int t = 0; t < threads.length; t++) {
+			final int id = t;
+			threads[t] = new Thread(() -> {
+				try {
+					for (int i = 0; i < 50; i++) {
+						journal.append(EnrollmentJournal.ENROLL, "user" + id, "CSC" + i, "001");
+					}
+				} catch (IOException e) {
+					errors[id] = e;
+				}
+			});
+			threads[t].start();
+		}
+		for (int t = 0; t < threads.length; t++) {
+			threads[t].join();
+			assertNull(errors[t]);
+		}
+		journal.close();
+
+		ArrayList<EnrollmentJournal.Entry> entries = new EnrollmentJournal(fileName, 0).getEntries();
+		assertEquals(400, entries.size());
+		HashSet<Long> sequences = new HashSet<Long>();
+		for (int i = 0; i < entries.size(); i++) {
+			assertEquals(i + 1, entries.get(i).getSequence());
+			sequences.add(entries.get(i).getSequence());
+		}
+		assertEquals(400, sequences.size());
+	}
+}
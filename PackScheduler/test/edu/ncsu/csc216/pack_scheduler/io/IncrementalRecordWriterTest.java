@@ -0,0 +1,105 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+
+/**
+ * Tests the IncrementalRecordWriter class
+ */
+class IncrementalRecordWriterTest {
+
+	/**
+	 * Returns a temporary file to write records to.
+	 * @return name of the file
+	 * @throws IOException if the file cannot be created
+	 */
+	private String tempFile() throws IOException {
+		File file = File.createTempFile("records", ".txt");
+		file.deleteOnExit();
+		return file.getPath();
+	}
+
+	/**
+	 * Returns the lines the file should hold for the given records.
+	 * @param records records in the file
+	 * @return expected lines of the file
+	 */
+	private List<String> lines(SortedList<String> records) {
+		List<String> lines = new ArrayList<String>();
+		for (int i = 0; i < records.size(); i++) {
+			lines.add(records.get(i));
+		}
+		return lines;
+	}
+
+	/**
+	 * Tests that saves only rewrite the records from the first change onward.
+	 * @throws IOException if the file cannot be written
+	 */
+	@Test
+	void testIncrementalWrite() throws IOException {
+		String fileName = tempFile();
+		File file = new File(fileName);
+		SortedList<String> records = new SortedList<String>();
+		for (int i = 0; i < 100; i++) {
+			records.add(String.format("id%03d,record", i));
+		}
+		IncrementalRecordWriter writer = new IncrementalRecordWriter();
+		assertEquals(100, writer.write(fileName, records));
+		assertEquals(lines(records), Files.readAllLines(file.toPath()));
+		assertEquals(0, writer.write(fileName, records));
+
+		records.add("id100,record");
+		assertEquals(1, writer.write(fileName, records));
+		assertEquals(lines(records), Files.readAllLines(file.toPath()));
+
+		records.add("id0905,record");
+		assertEquals(11, writer.write(fileName, records));
+		assertEquals(lines(records), Files.readAllLines(file.toPath()));
+
+		records.remove(records.size() - 1);
+		records.remove(records.size() - 1);
+		assertEquals(0, writer.write(fileName, records));
+		assertEquals(lines(records), Files.readAllLines(file.toPath()));
+
+		records.clear();
+		assertEquals(0, writer.write(fileName, records));
+		assertEquals(0, file.length());
+	}
+
+	/**
+	 * Tests that a file changed by something else, or a different file, is rewritten in full.
+	 * @throws IOException if the file cannot be written
+	 */
+	@Test
+	void testFullRewrite() throws IOException {
+		String fileName = tempFile();
+		File file = new File(fileName);
+		List<String> records = new ArrayList<String>();
+		records.add("a");
+		records.add("b");
+		IncrementalRecordWriter writer = new IncrementalRecordWriter();
+		assertEquals(2, writer.write(fileName, records));
+
+		Files.write(file.toPath(), "something else entirely\n".getBytes());
+		assertEquals(2, writer.write(fileName, records));
+		assertEquals(records, Files.readAllLines(file.toPath()));
+
+		String otherName = tempFile();
+		assertEquals(2, writer.write(otherName, records));
+		assertEquals(records, Files.readAllLines(new File(otherName).toPath()));
+		assertEquals(2, writer.write(fileName, records));
+
+		assertThrows(IOException.class, () -> writer.write("test-files/missing/records.txt", records));
+		assertEquals(2, writer.write(fileName, records));
+	}
+}
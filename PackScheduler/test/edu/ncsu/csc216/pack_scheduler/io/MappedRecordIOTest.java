@@ -0,0 +1,65 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileNotFoundException;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+
+/**
+ * Tests the MappedRecordIO class
+ */
+class MappedRecordIOTest {
+
+	/**
+	 * Tests that mapped course reads match CourseRecordIO.
+	 * @throws FileNotFoundException if a file cannot be found
+	 */
+	@Test
+	void testReadCourseRecords() throws FileNotFoundException {
+		SortedList<Course> expected = CourseRecordIO.readCourseRecords("test-files/course_records.txt", null);
+		SortedList<Course> actual = MappedRecordIO.readCourseRecords("test-files/course_records.txt", null);
+		assertEquals(13, actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).toString(), actual.get(i).toString());
+		}
+		assertEquals(0, MappedRecordIO.readCourseRecords("test-files/invalid_course_records.txt", null).size());
+		assertThrows(FileNotFoundException.class, () -> MappedRecordIO.readCourseRecords("test-files/missing.txt", null));
+	}
+
+	/**
+	 * Tests that mapped student reads match StudentRecordIO.
+	 * @throws FileNotFoundException if a file cannot be found
+	 */
+	@Test
+	void testReadStudentRecords() throws FileNotFoundException {
+		SortedList<Student> expected = StudentRecordIO.readStudentRecords("test-files/student_records.txt");
+		SortedList<Student> actual = MappedRecordIO.readStudentRecords("test-files/student_records.txt");
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), actual.get(i));
+		}
+		assertEquals(0, MappedRecordIO.readStudentRecords("test-files/invalid_student_records.txt").size());
+	}
+
+	/**
+	 * Tests that mapped faculty reads match FacultyRecordIO.
+	 * @throws FileNotFoundException if a file cannot be found
+	 */
+	@Test
+	void testReadFacultyRecords() throws FileNotFoundException {
+		LinkedList<Faculty> expected = FacultyRecordIO.readFacultyRecords("test-files/faculty_records.txt");
+		LinkedList<Faculty> actual = MappedRecordIO.readFacultyRecords("test-files/faculty_records.txt");
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), actual.get(i));
+		}
+		assertEquals(0, MappedRecordIO.readFacultyRecords("test-files/invalid_faculty_records.txt").size());
+	}
+}
@@ -0,0 +1,123 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the MappedRecordTokenizer class
+ */
+class MappedRecordTokenizerTest {
+
+	/**
+	 * Writes the given contents to a temporary UTF-8 file.
+	 * @param contents contents of the file
+	 * @return name of the file
+	 * @throws IOException if the file cannot be written
+	 */
+	private String writeFile(String contents) throws IOException {
+		File file = File.createTempFile("records", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		return file.getPath();
+	}
+
+	/**
+	 * Tests reading records and fields, including line terminators, empty fields,
+	 * and non-ASCII fields.
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	void testRecordsAndFields() throws IOException {
+		RecordTokenizer tokens = new MappedRecordTokenizer(writeFile("a,b,,c\r\n\nd,\r\u00e9t\u00e9"));
+		assertTrue(tokens.nextRecord());
+		assertEquals("a", tokens.nextField());
+		assertEquals("b", tokens.nextField());
+		assertEquals("", tokens.nextField());
+		assertTrue(tokens.hasNextField());
+		assertEquals("c", tokens.nextField());
+		assertFalse(tokens.hasNextField());
+		assertThrows(NoSuchElementException.class, () -> tokens.nextField());
+
+		assertTrue(tokens.nextRecord());
+		assertFalse(tokens.hasNextField());
+
+		assertTrue(tokens.nextRecord());
+		assertEquals("d", tokens.nextField());
+		assertFalse(tokens.hasNextField());
+
+		assertTrue(tokens.nextRecord());
+		assertEquals("\u00e9t\u00e9", tokens.nextField());
+		assertFalse(tokens.nextRecord());
+		assertFalse(tokens.nextRecord());
+		tokens.close();
+
+		RecordTokenizer empty = new MappedRecordTokenizer(writeFile(""));
+		assertFalse(empty.nextRecord());
+		empty.close();
+
+		assertThrows(FileNotFoundException.class, () -> new MappedRecordTokenizer("test-files/missing.txt"));
+	}
+
+	/**
+	 * Tests parsing int fields.
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	void testNextInt() throws IOException {
+		RecordTokenizer tokens = new MappedRecordTokenizer(writeFile("0910,-12,+3,2147483647,-2147483648\n"
+				+ "2147483648\n1a\n,\n\u0661\u0662\n"));
+		assertTrue(tokens.nextRecord());
+		assertEquals(910, tokens.nextInt());
+		assertEquals(-12, tokens.nextInt());
+		assertEquals(3, tokens.nextInt());
+		assertEquals(Integer.MAX_VALUE, tokens.nextInt());
+		assertEquals(Integer.MIN_VALUE, tokens.nextInt());
+		assertThrows(NoSuchElementException.class, () -> tokens.nextInt());
+
+		assertTrue(tokens.nextRecord());
+		assertThrows(NumberFormatException.class, () -> tokens.nextInt());
+		assertTrue(tokens.nextRecord());
+		assertThrows(NumberFormatException.class, () -> tokens.nextInt());
+		assertTrue(tokens.nextRecord());
+		assertThrows(NoSuchElementException.class, () -> tokens.nextInt());
+		assertTrue(tokens.nextRecord());
+		assertEquals(12, tokens.nextInt());
+		assertFalse(tokens.nextRecord());
+		tokens.close();
+	}
+
+	/**
+	 * Tests records that cross the boundary between two mapped windows.
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	void testWindows() throws IOException {
+		StringBuilder input = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			input.append(i).append(',').append("y".repeat(i % 7)).append(i % 3 == 0 ? "\r\n" : "\r");
+		}
+		RecordTokenizer tokens = new MappedRecordTokenizer(writeFile(input.toString()), 16);
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(tokens.nextRecord());
+			assertEquals(i, tokens.nextInt());
+			if (i % 7 != 0) {
+				assertEquals("y".repeat(i % 7), tokens.nextField());
+			}
+			assertFalse(tokens.hasNextField());
+		}
+		assertFalse(tokens.nextRecord());
+		tokens.close();
+
+		RecordTokenizer tooLong = new MappedRecordTokenizer(writeFile("x".repeat(20) + "\n"), 16);
+		assertThrows(IOException.class, () -> tooLong.nextRecord());
+		tooLong.close();
+	}
+}
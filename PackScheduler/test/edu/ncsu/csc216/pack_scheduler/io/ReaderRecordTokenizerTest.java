@@ -0,0 +1,93 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ReaderRecordTokenizer class
+ */
+class ReaderRecordTokenizerTest {
+
+	/**
+	 * Tests reading records and fields, including line terminators and empty fields.
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	void testRecordsAndFields() throws IOException {
+		RecordTokenizer tokens = new ReaderRecordTokenizer(new StringReader("a,b,,c\r\n\nd,\re"));
+		assertTrue(tokens.nextRecord());
+		assertEquals("a", tokens.nextField());
+		assertEquals("b", tokens.nextField());
+		assertEquals("", tokens.nextField());
+		assertTrue(tokens.hasNextField());
+		assertEquals("c", tokens.nextField());
+		assertFalse(tokens.hasNextField());
+		assertThrows(NoSuchElementException.class, () -> tokens.nextField());
+
+		assertTrue(tokens.nextRecord());
+		assertFalse(tokens.hasNextField());
+
+		assertTrue(tokens.nextRecord());
+		assertEquals("d", tokens.nextField());
+		assertFalse(tokens.hasNextField());
+
+		assertTrue(tokens.nextRecord());
+		assertEquals("e", tokens.nextField());
+		assertFalse(tokens.nextRecord());
+		assertFalse(tokens.nextRecord());
+		tokens.close();
+	}
+
+	/**
+	 * Tests parsing int fields.
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	void testNextInt() throws IOException {
+		RecordTokenizer tokens = new ReaderRecordTokenizer(new StringReader("0910,-12,+3,2147483647,-2147483648\n"
+				+ "2147483648\n1a\n,\n"));
+		assertTrue(tokens.nextRecord());
+		assertEquals(910, tokens.nextInt());
+		assertEquals(-12, tokens.nextInt());
+		assertEquals(3, tokens.nextInt());
+		assertEquals(Integer.MAX_VALUE, tokens.nextInt());
+		assertEquals(Integer.MIN_VALUE, tokens.nextInt());
+		assertThrows(NoSuchElementException.class, () -> tokens.nextInt());
+
+		assertTrue(tokens.nextRecord());
+		assertThrows(NumberFormatException.class, () -> tokens.nextInt());
+		assertTrue(tokens.nextRecord());
+		assertThrows(NumberFormatException.class, () -> tokens.nextInt());
+		assertTrue(tokens.nextRecord());
+		assertThrows(NoSuchElementException.class, () -> tokens.nextInt());
+		assertFalse(tokens.nextRecord());
+		tokens.close();
+	}
+
+	/**
+	 * Tests records longer than the tokenizer's buffer.
+	 * @throws IOException if the records cannot be read
+	 */
+	@Test
+	void testLongRecords() throws IOException {
+		StringBuilder input = new StringBuilder();
+		String longField = "x".repeat(200000);
+		for (int i = 0; i < 1000; i++) {
+			input.append(i).append(',').append(i % 100 == 0 ? longField : "y").append("\r\n");
+		}
+		RecordTokenizer tokens = new ReaderRecordTokenizer(new StringReader(input.toString()));
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(tokens.nextRecord());
+			assertEquals(i, tokens.nextInt());
+			assertEquals(i % 100 == 0 ? longField : "y", tokens.nextField());
+			assertFalse(tokens.hasNextField());
+		}
+		assertFalse(tokens.nextRecord());
+		tokens.close();
+	}
+}
@@ -0,0 +1,163 @@
+package edu.ncsu.csc216.pack_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.io.SnapshotIO.Snapshot;
+import edu.ncsu.csc216.pack_scheduler.user.Faculty;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+import edu.ncsu.csc216.pack_scheduler.util.LinkedList;
+import edu.ncsu.csc216.pack_scheduler.util.SortedList;
+
+/**
+ * Tests the SnapshotIO class
+ */
+class SnapshotIOTest {
+
+	/**
+	 * Returns a temporary file to write a snapshot to.
+	 * @return name of the file
+	 * @throws IOException if the file cannot be created
+	 */
+	private String tempFile() throws IOException {
+		File file = File.createTempFile("snapshot", ".bin");
+		file.deleteOnExit();
+		return file.getPath();
+	}
+
+	/**
+	 * Tests that a snapshot restores courses, users, rolls, waitlists, and schedules.
+	 * @throws IOException if the snapshot cannot be written or read
+	 */
+	@Test
+	void testWriteReadSnapshot() throws IOException {
+		LinkedList<Faculty> faculty = FacultyRecordIO.readFacultyRecords("test-files/faculty_records.txt");
+		SortedList<Student> students = new SortedList<Student>();
+		for (int i = 0; i < 12; i++) {
+			students.add(new Student("First" + i, "Last" + (char) ('a' + i), "id" + i, "id" + i + "@ncsu.edu", "hashedpw", 18));
+		}
+		SortedList<Course> courses = new SortedList<Course>();
+		Course full = new Course("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445);
+		Course arranged = new Course("CSC217", "Software Development Fundamentals Lab", "601", 1, "jctetter", 10, "A");
+		courses.add(full);
+		courses.add(arranged);
+		faculty.get(0).getSchedule().addCourseToSchedule(full);
+		for (int i = 0; i < 12; i++) {
+			Student s = students.get(i);
+			full.getCourseRoll().enroll(s);
+			if (i < 10) {
+				s.getSchedule().addCourseToSchedule(full);
+			}
+		}
+		students.get(0).getSchedule().addCourseToSchedule(arranged);
+		arranged.getCourseRoll().enroll(students.get(0));
+		students.get(0).getSchedule().setTitle("Spring");
+
+		String fileName = tempFile();
+		SnapshotIO.writeSnapshot(fileName, courses, students, faculty);
+		Snapshot snapshot = SnapshotIO.readSnapshot(fileName);
+
+		assertEquals(faculty.size(), snapshot.getFaculty().size());
+		assertEquals(faculty.get(0), snapshot.getFaculty().get(0));
+		assertEquals(1, snapshot.getFaculty().get(0).getSchedule().getNumScheduledCourses());
+
+		SortedList<Student> readStudents = snapshot.getStudents();
+		assertEquals(12, readStudents.size());
+		for (int i = 0; i < 12; i++) {
+			assertEquals(students.get(i), readStudents.get(i));
+		}
+		assertEquals("Spring", readStudents.get(0).getSchedule().getTitle());
+		assertEquals(2, readStudents.get(0).getSchedule().getCourses().length);
+		assertEquals(0, readStudents.get(11).getSchedule().getCourses().length);
+
+		SortedList<Course> readCourses = snapshot.getCourses();
+		assertEquals(2, readCourses.size());
+		Course readFull = readCourses.get(0);
+		assertEquals(full.toString(), readFull.toString());
+		assertEquals(faculty.get(0).getId(), readFull.getInstructorId());
+		assertEquals("jctetter", readCourses.get(1).getInstructorId());
+		assertEquals(0, readFull.getCourseRoll().getOpenSeats());
+		assertEquals(2, readFull.getCourseRoll().getNumberOnWaitlist());
+		Student[] enrolled = readFull.getCourseRoll().getEnrolledStudents();
+		for (int i = 0; i < 10; i++) {
+			assertSame(readStudents.get(i), enrolled[i]);
+		}
+		assertSame(readStudents.get(10), readFull.getCourseRoll().getWaitlistedStudents()[0]);
+		assertSame(readFull, readStudents.get(3).getSchedule().getCourses()[0]);
+		assertEquals(0, snapshot.getJournalSequence());
+
+		SnapshotIO.writeSnapshot(fileName, courses, students, faculty, 42);
+		assertEquals(42, SnapshotIO.readSnapshot(fileName).getJournalSequence());
+		assertFalse(new File(fileName + ".tmp").exists());
+	}
+
+	/**
+	 * Tests that a snapshot the size of a full campus directory is read back quickly.
+	 * @throws IOException if the snapshot cannot be written or read
+	 */
+	@Test
+	void testReadLargeSnapshot() throws IOException {
+		java.util.ArrayList<Student> studentList = new java.util.ArrayList<Student>();
+		for (int i = 0; i < 50000; i++) {
+			String id = String.format("s%06d", i);
+			studentList.add(new Student("First", "Last", id, id + "@ncsu.edu", "hashedpw", 18));
+		}
+		java.util.ArrayList<Course> courseList = new java.util.ArrayList<Course>();
+		for (int i = 0; i < 2000; i++) {
+			Course course = new Course(String.format("CSC%03d", 100 + i / 10), "Course", String.format("%03d", i % 10 + 1),
+					3, null, 25, "MW", 800 + i % 10 * 100, 850 + i % 10 * 100);
+			for (int j = 0; j < 25; j++) {
+				Student s = studentList.get(i * 25 + j);
+				course.getCourseRoll().enroll(s);
+				s.getSchedule().addCourseToSchedule(course);
+			}
+			courseList.add(course);
+		}
+		SortedList<Student> students = SortedList.fromSorted(studentList);
+		SortedList<Course> courses = SortedList.fromSorted(courseList);
+		String fileName = tempFile();
+		SnapshotIO.writeSnapshot(fileName, courses, students, new LinkedList<Faculty>());
+
+		long start = System.nanoTime();
+		Snapshot snapshot = SnapshotIO.readSnapshot(fileName);
+		long millis = (System.nanoTime() - start) / 1000000;
+		assertTrue(millis < 3000, "Reading the snapshot took " + millis + " ms");
+		assertEquals(50000, snapshot.getStudents().size());
+		assertEquals(2000, snapshot.getCourses().size());
+		assertEquals(students.get(49999), snapshot.getStudents().get(49999));
+		assertEquals(0, snapshot.getCourses().get(1999).getCourseRoll().getOpenSeats());
+		assertSame(snapshot.getCourses().get(0), snapshot.getStudents().get(0).getSchedule().getCourses()[0]);
+	}
+
+	/**
+	 * Tests reading files that are not snapshots.
+	 * @throws IOException if the test file cannot be written
+	 */
+	@Test
+	void testReadInvalidSnapshot() throws IOException {
+		assertThrows(FileNotFoundException.class, () -> SnapshotIO.readSnapshot("test-files/missing.bin"));
+		assertThrows(IllegalArgumentException.class, () -> SnapshotIO.readSnapshot("test-files/course_records.txt"));
+
+		String fileName = tempFile();
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(fileName))) {
+			out.writeInt(SnapshotIO.MAGIC);
+			out.writeInt(SnapshotIO.VERSION + 1);
+		}
+		assertThrows(IllegalArgumentException.class, () -> SnapshotIO.readSnapshot(fileName));
+
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(fileName))) {
+			out.writeInt(SnapshotIO.MAGIC);
+			out.writeInt(SnapshotIO.VERSION);
+			out.writeInt(1);
+		}
+		assertThrows(IllegalArgumentException.class, () -> SnapshotIO.readSnapshot(fileName));
+	}
+}
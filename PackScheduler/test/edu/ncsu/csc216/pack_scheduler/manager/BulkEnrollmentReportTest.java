@@ -0,0 +1,31 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the BulkEnrollmentReport class
+ */
+class BulkEnrollmentReportTest {
+
+	/**
+	 * Tests setting and counting row statuses.
+	 */
+	@Test
+	void testStatuses() {
+		BulkEnrollmentReport report = new BulkEnrollmentReport(4);
+		assertEquals(4, report.size());
+		assertEquals(4, report.getCount(BulkEnrollmentReport.ENROLLED));
+		report.setStatus(1, BulkEnrollmentReport.WAITLISTED);
+		report.setStatus(2, BulkEnrollmentReport.UNKNOWN_COURSE);
+		report.setFailed(3, "Invalid course.");
+		assertEquals(1, report.getCount(BulkEnrollmentReport.ENROLLED));
+		assertEquals(BulkEnrollmentReport.WAITLISTED, report.getStatus(1));
+		assertEquals(BulkEnrollmentReport.FAILED, report.getStatus(3));
+		assertEquals("Invalid course.", report.getMessage(3));
+		assertNull(report.getMessage(2));
+		assertEquals("Unknown course", BulkEnrollmentReport.getStatusName(report.getStatus(2)));
+		assertThrows(ArrayIndexOutOfBoundsException.class, () -> report.getStatus(4));
+	}
+}
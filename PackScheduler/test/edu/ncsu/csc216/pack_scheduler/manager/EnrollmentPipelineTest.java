@@ -0,0 +1,122 @@
+package edu.ncsu.csc216.pack_scheduler.manager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
+
+/**
+ * Tests the EnrollmentPipeline class
+ */
+class EnrollmentPipelineTest {
+
+	/** Manager the pipeline applies requests through */
+	private RegistrationManager manager;
+
+	/**
+	 * Clears the manager's data and adds students to enroll.
+	 */
+	@BeforeEach
+	void setUp() {
+		manager = RegistrationManager.getInstance();
+		manager.logout();
+		manager.clearData();
+		StudentDirectory directory = manager.getStudentDirectory();
+		for (int i = 0; i < 40; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+	}
+
+	/**
+	 * Adds a course to the catalog.
+	 * @param name name of the course
+	 * @return the course in the catalog
+	 */
+	private Course addCourse(String name) {
+		manager.getCourseCatalog().addCourseToCatalog(name, "Course", "001", 3, null, 10, "A", 0, 0);
+		return manager.getCourseCatalog().getCourseFromCatalog(name, "001");
+	}
+
+	/**
+	 * Tests that requests submitted from many threads for several courses fill each
+	 * course and its waitlist exactly once.
+	 * @throws Exception if interrupted or a request fails
+	 */
+	@Test
+	void testConcurrentEnroll() throws Exception {
+		Course[] courses = {addCourse("CSC316"), addCourse("CSC326"), addCourse("CSC333")};
+		List<CompletableFuture<Boolean>> futures = new ArrayList<CompletableFuture<Boolean>>();
+		Thread[] threads = new Thread[40];
+		try (EnrollmentPipeline pipeline = new EnrollmentPipeline(manager, 2)) {
+			for (int i = 0; i < threads.length; i++) {
+				final int id = i;
+				threads[i] = new Thread(() -> {
+					Session session = manager.startSession("student" + id, "pw");
+					Course c = courses[id % 2];
+					CompletableFuture<Boolean> future = pipeline.enroll(session, c);
+					synchronized (futures) {
+						futures.add(future);
+					}
+				});
+				threads[i].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			int count = 0;
+			for (CompletableFuture<Boolean> future : futures) {
+				if (future.get()) {
+					count++;
+				}
+			}
+			assertEquals(40, count);
+			assertEquals(0, courses[0].getCourseRoll().getOpenSeats());
+			assertEquals(10, courses[0].getCourseRoll().getNumberOnWaitlist());
+			assertEquals(0, courses[1].getCourseRoll().getOpenSeats());
+			assertEquals(10, courses[1].getCourseRoll().getNumberOnWaitlist());
+
+			Session session = manager.startSession("student0", "pw");
+			assertFalse(pipeline.enroll(session, courses[0]).get());
+			assertTrue(pipeline.enroll(session, courses[2]).get());
+			assertEquals(9, courses[2].getCourseRoll().getOpenSeats());
+			assertTrue(pipeline.drop(session, courses[2]).get());
+			assertFalse(pipeline.drop(session, courses[2]).get());
+			assertEquals(10, courses[2].getCourseRoll().getOpenSeats());
+		}
+	}
+
+	/**
+	 * Tests that invalid requests and requests made after closing fail.
+	 * @throws Exception if interrupted
+	 */
+	@Test
+	void testInvalidRequests() throws Exception {
+		Course c = addCourse("CSC316");
+		EnrollmentPipeline pipeline = new EnrollmentPipeline(manager, 1);
+		Session session = manager.startSession("student0", "pw");
+		ExecutionException e = assertThrows(ExecutionException.class, () -> pipeline.enroll(null, c).get());
+		assertTrue(e.getCause() instanceof IllegalArgumentException);
+		e = assertThrows(ExecutionException.class, () -> pipeline.enroll(session, null).get());
+		assertTrue(e.getCause() instanceof IllegalArgumentException);
+		manager.endSession(session);
+		e = assertThrows(ExecutionException.class, () -> pipeline.drop(session, c).get());
+		assertTrue(e.getCause() instanceof IllegalArgumentException);
+
+		Session other = manager.startSession("student1", "pw");
+		CompletableFuture<Boolean> queued = pipeline.enroll(other, c);
+		pipeline.close();
+		assertTrue(queued.isDone());
+		assertTrue(queued.get());
+		e = assertThrows(ExecutionException.class, () -> pipeline.enroll(other, c).get());
+		assertTrue(e.getCause() instanceof IllegalStateException);
+		assertEquals(9, c.getCourseRoll().getOpenSeats());
+	}
+}
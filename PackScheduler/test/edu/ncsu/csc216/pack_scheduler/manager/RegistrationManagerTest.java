@@ -2,14 +2,20 @@ package edu.ncsu.csc216.pack_scheduler.manager;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
 import edu.ncsu.csc216.pack_scheduler.directory.StudentDirectory;
 import edu.ncsu.csc216.pack_scheduler.user.Faculty;
 import edu.ncsu.csc216.pack_scheduler.user.Student;
@@ -17,6 +23,8 @@ import edu.ncsu.csc216.pack_scheduler.user.User;
 import edu.ncsu.csc216.pack_scheduler.user.schedule.Schedule;
 
 import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
 
 /**
  * Tests RegistrationManager class
@@ -457,5 +465,511 @@ public class RegistrationManagerTest {
 		
 		manager.logout();
 	}
+	
+	/**
+	 * Tests saveSnapshot() and loadSnapshot().
+	 * @throws IOException if the snapshot file cannot be created
+	 */
+	@Test
+	public void testSaveLoadSnapshot() throws IOException {
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		
+		manager.login("efrost", "pw");
+		assertTrue(manager.enrollStudentInCourse(manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001")));
+		manager.logout();
+		
+		File snapshot = File.createTempFile("snapshot", ".bin");
+		snapshot.deleteOnExit();
+		manager.saveSnapshot(snapshot.getPath());
+		manager.clearData();
+		assertEquals(0, manager.getStudentDirectory().getStudentDirectory().length);
+		
+		manager.loadSnapshot(snapshot.getPath());
+		assertEquals(10, manager.getStudentDirectory().getStudentDirectory().length);
+		assertEquals(13, manager.getCourseCatalog().getCourseCatalog().length);
+		assertEquals(8, manager.getFacultyDirectory().getFacultyDirectory().length);
+		Course c = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		assertEquals(9, c.getCourseRoll().getOpenSeats());
+		Student efrost = manager.getStudentDirectory().getStudentById("efrost");
+		assertSame(c, efrost.getSchedule().getCourses()[0]);
+		assertSame(efrost, c.getCourseRoll().getEnrolledStudents()[0]);
+		
+		assertTrue(manager.login("efrost", "pw"));
+		assertTrue(manager.dropStudentFromCourse(c));
+		assertEquals(10, c.getCourseRoll().getOpenSeats());
+		manager.logout();
+		
+		assertThrows(IllegalArgumentException.class, () -> manager.loadSnapshot("test-files/missing.bin"));
+	}
+
+	/**
+	 * Tests that changes made after a snapshot are replayed from the journal.
+	 * @throws IOException if the temporary files cannot be created
+	 */
+	@Test
+	public void testJournalReplay() throws IOException {
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		
+		File snapshot = File.createTempFile("snapshot", ".bin");
+		snapshot.deleteOnExit();
+		File journal = File.createTempFile("journal", ".log");
+		journal.deleteOnExit();
+		manager.openJournal(journal.getPath());
+		
+		manager.login("efrost", "pw");
+		assertTrue(manager.enrollStudentInCourse(manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001")));
+		manager.logout();
+		manager.saveSnapshot(snapshot.getPath());
+		assertEquals(0, journal.length());
+		
+		manager.login("efrost", "pw");
+		assertTrue(manager.dropStudentFromCourse(manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001")));
+		assertTrue(manager.enrollStudentInCourse(manager.getCourseCatalog().getCourseFromCatalog("CSC226", "001")));
+		manager.logout();
+		manager.login(registrarUsername, registrarPassword);
+		Faculty faculty = manager.getFacultyDirectory().getFacultyById("awitt");
+		assertTrue(manager.addFacultyToCourse(manager.getCourseCatalog().getCourseFromCatalog("CSC116", "001"), faculty));
+		manager.logout();
+		
+		// Simulate a crash by dropping everything in memory without saving
+		manager.clearData();
+		manager.loadSnapshot(snapshot.getPath());
+		Course csc216 = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		assertEquals(9, csc216.getCourseRoll().getOpenSeats());
+		
+		manager.openJournal(journal.getPath());
+		Student efrost = manager.getStudentDirectory().getStudentById("efrost");
+		assertEquals(10, csc216.getCourseRoll().getOpenSeats());
+		Course csc226 = manager.getCourseCatalog().getCourseFromCatalog("CSC226", "001");
+		assertSame(csc226, efrost.getSchedule().getCourses()[0]);
+		assertEquals(1, efrost.getSchedule().getCourses().length);
+		assertEquals(1, manager.getFacultyDirectory().getFacultyById("awitt").getSchedule().getNumScheduledCourses());
+		
+		// Replaying the same journal on top of the same snapshot gives the same state
+		manager.clearData();
+		manager.loadSnapshot(snapshot.getPath());
+		manager.openJournal(journal.getPath());
+		manager.openJournal(journal.getPath());
+		assertEquals(1, manager.getStudentDirectory().getStudentById("efrost").getSchedule().getCourses().length);
+		manager.closeJournal();
+	}
+
+	/**
+	 * Tests that a change that cannot be journaled is not made, so the rolls and schedules
+	 * stay as they were and match what replaying the journal would give.
+	 * @throws Exception if the journal cannot be created or broken
+	 */
+	@Test
+	public void testJournalFailure() throws Exception {
+		StudentDirectory directory = manager.getStudentDirectory();
+		for (int i = 0; i < 12; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		manager.getFacultyDirectory().loadFacultyFromFile("test-files/faculty_records.txt");
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445);
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "002", 3, null, 10, "TH", 1330, 1445);
+		Course first = catalog.getCourseFromCatalog("CSC216", "001");
+		catalog.addCourseToCatalog("CSC226", "Discrete Mathematics", "001", 4, null, 10, "TH", 1400, 1515);
+		Course second = catalog.getCourseFromCatalog("CSC216", "002");
+		Course other = catalog.getCourseFromCatalog("CSC226", "001");
+		File journal = File.createTempFile("journal", ".log");
+		journal.deleteOnExit();
+		manager.openJournal(journal.getPath());
+		Session[] sessions = new Session[12];
+		for (int i = 0; i < sessions.length; i++) {
+			sessions[i] = manager.startSession("student" + i, "pw");
+		}
+		for (int i = 0; i < 11; i++) {
+			assertTrue(manager.enrollStudentInCourse(sessions[i], first));
+		}
+		Student student = directory.getStudentById("student0");
+		Student[] enrolled = first.getCourseRoll().getEnrolledStudents();
+		Student[] waitlisted = first.getCourseRoll().getWaitlistedStudents();
+		assertEquals(1, waitlisted.length);
+
+		breakJournal();
+
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(sessions[0], other));
+		assertEquals(10, other.getCourseRoll().getOpenSeats());
+		assertEquals(0, other.getCourseRoll().getEnrolledStudents().length);
+		assertEquals(List.of(first), Arrays.asList(student.getSchedule().getCourses()));
+
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(sessions[11], first));
+		assertThrows(IllegalArgumentException.class, () -> manager.dropStudentFromCourse(sessions[0], first));
+		assertThrows(IllegalArgumentException.class, () -> manager.swapStudentCourse(sessions[0], first, second));
+		assertThrows(IllegalArgumentException.class, () -> manager.resetSchedule(sessions[0]));
+		assertArrayEquals(enrolled, first.getCourseRoll().getEnrolledStudents());
+		assertArrayEquals(waitlisted, first.getCourseRoll().getWaitlistedStudents());
+		assertEquals(0, first.getCourseRoll().getOpenSeats());
+		assertEquals(10, second.getCourseRoll().getOpenSeats());
+		assertEquals(List.of(first), Arrays.asList(student.getSchedule().getCourses()));
+		assertEquals(0, directory.getStudentById("student11").getSchedule().getCourses().length);
+
+		Session registrar = manager.startSession(registrarUsername, registrarPassword);
+		Faculty faculty = manager.getFacultyDirectory().getFacultyById("awitt");
+		assertThrows(IllegalArgumentException.class, () -> manager.addFacultyToCourse(registrar, second, faculty));
+		assertEquals(0, faculty.getSchedule().getNumScheduledCourses());
+		assertNull(second.getInstructorId());
+
+		// Replaying the journal gives the same state
+		manager.clearData();
+		directory = manager.getStudentDirectory();
+		for (int i = 0; i < 12; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		catalog = manager.getCourseCatalog();
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445);
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "002", 3, null, 10, "TH", 1330, 1445);
+		catalog.addCourseToCatalog("CSC226", "Discrete Mathematics", "001", 4, null, 10, "TH", 1400, 1515);
+		manager.openJournal(journal.getPath());
+		assertEquals(10, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getEnrolledStudents().length);
+		assertEquals(1, catalog.getCourseFromCatalog("CSC216", "001").getCourseRoll().getNumberOnWaitlist());
+		assertEquals(10, catalog.getCourseFromCatalog("CSC216", "002").getCourseRoll().getOpenSeats());
+		assertEquals(10, catalog.getCourseFromCatalog("CSC226", "001").getCourseRoll().getOpenSeats());
+		manager.closeJournal();
+	}
+
+	/**
+	 * Tests that bulk enrolling with a journal that cannot be written still returns a
+	 * report, with the rows that could not be journaled marked failed and undone.
+	 * @throws Exception if the journal cannot be created or broken
+	 */
+	@Test
+	public void testBulkEnrollJournalFailure() throws Exception {
+		StudentDirectory directory = manager.getStudentDirectory();
+		for (int i = 0; i < 20; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445);
+		Course c = catalog.getCourseFromCatalog("CSC216", "001");
+		File journal = File.createTempFile("journal", ".log");
+		journal.deleteOnExit();
+		manager.openJournal(journal.getPath());
+		String[][] rows = new String[21][];
+		for (int i = 0; i < 20; i++) {
+			rows[i] = new String[] {"student" + i, "CSC216", "001"};
+		}
+		rows[20] = new String[] {"nobody", "CSC216", "001"};
+		breakJournal();
+
+		Session registrar = manager.startSession(registrarUsername, registrarPassword);
+		BulkEnrollmentReport report = manager.bulkEnroll(registrar, rows);
+		assertEquals(21, report.size());
+		assertEquals(20, report.getCount(BulkEnrollmentReport.FAILED));
+		assertEquals("Unable to write to journal", report.getMessage(0));
+		assertEquals(BulkEnrollmentReport.UNKNOWN_STUDENT, report.getStatus(20));
+		assertEquals(10, c.getCourseRoll().getOpenSeats());
+		assertEquals(0, c.getCourseRoll().getNumberOnWaitlist());
+		for (int i = 0; i < 20; i++) {
+			assertEquals(0, directory.getStudentById("student" + i).getSchedule().getCourses().length);
+		}
+		manager.closeJournal();
+	}
+
+	/**
+	 * Closes the file channel of the manager's open journal, so every record buffered
+	 * from then on fails to be written.
+	 * @throws Exception if the journal cannot be reached
+	 */
+	private void breakJournal() throws Exception {
+		Field journalField = RegistrationManager.class.getDeclaredField("journal");
+		journalField.setAccessible(true);
+		Object open = journalField.get(manager);
+		Field channelField = open.getClass().getDeclaredField("channel");
+		channelField.setAccessible(true);
+		((FileChannel) channelField.get(open)).close();
+	}
+
+	/**
+	 * Tests that several users can be logged in at once through sessions.
+	 */
+	@Test
+	public void testSessions() {
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		Course c = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		
+		Session efrost = manager.startSession("efrost", "pw");
+		Session ahicks = manager.startSession("ahicks", "pw");
+		Session registrar = manager.startSession(registrarUsername, registrarPassword);
+		assertNull(manager.startSession("efrost", "wrong"));
+		assertThrows(IllegalArgumentException.class, () -> manager.startSession("nobody", "pw"));
+		assertNull(manager.getCurrentUser());
+		assertSame(efrost, manager.getSession(efrost.getToken()));
+		assertNotEquals(efrost.getToken(), ahicks.getToken());
+		
+		assertTrue(manager.enrollStudentInCourse(efrost, c));
+		assertTrue(manager.enrollStudentInCourse(ahicks, c));
+		assertEquals(8, c.getCourseRoll().getOpenSeats());
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(registrar, c));
+		assertThrows(IllegalArgumentException.class, () -> manager.addFacultyToCourse(efrost, c, null));
+		
+		assertTrue(manager.dropStudentFromCourse(ahicks, c));
+		manager.endSession(ahicks);
+		assertNull(manager.getSession(ahicks.getToken()));
+		assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(ahicks, c));
+		manager.resetSchedule(efrost);
+		assertEquals(10, c.getCourseRoll().getOpenSeats());
+		
+		manager.clearData();
+		assertThrows(IllegalArgumentException.class, () -> manager.resetSchedule(efrost));
+	}
+	
+	/**
+	 * Tests that sessions left open expire once unused for the session timeout, and
+	 * that a user opening too many sessions loses their least recently used one.
+	 * @throws InterruptedException if interrupted waiting for a session to expire
+	 */
+	@Test
+	public void testSessionLimits() throws InterruptedException {
+		manager.getStudentDirectory().loadStudentsFromFile("test-files/student_records.txt");
+		manager.getCourseCatalog().loadCoursesFromFile("test-files/course_records.txt");
+		Course c = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		
+		Session first = manager.startSession("efrost", "pw");
+		Session[] later = new Session[15];
+		for (int i = 0; i < later.length; i++) {
+			later[i] = manager.startSession("efrost", "pw");
+		}
+		assertSame(first, manager.getSession(first.getToken()));
+		Session newest = manager.startSession("efrost", "pw");
+		assertSame(first, manager.getSession(first.getToken()));
+		assertNull(manager.getSession(later[0].getToken()));
+		assertSame(newest, manager.getSession(newest.getToken()));
+		assertTrue(manager.enrollStudentInCourse(first, c));
+		
+		try {
+			manager.setSessionTimeout(50);
+			Session ahicks = manager.startSession("ahicks", "pw");
+			Thread.sleep(100);
+			assertNull(manager.getSession(ahicks.getToken()));
+			assertThrows(IllegalArgumentException.class, () -> manager.enrollStudentInCourse(first, c));
+			assertThrows(IllegalArgumentException.class, () -> manager.setSessionTimeout(0));
+		} finally {
+			manager.setSessionTimeout(TimeUnit.MINUTES.toMillis(30));
+		}
+	}
+	
+	/**
+	 * Tests that students enrolling from many threads at once fill a course exactly
+	 * to its cap and waitlist.
+	 * @throws InterruptedException if interrupted waiting for the threads
+	 */
+	@Test
+	public void testConcurrentEnroll() throws InterruptedException {
+		StudentDirectory directory = manager.getStudentDirectory();
+		for (int i = 0; i < 40; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		manager.getCourseCatalog().addCourseToCatalog("CSC316", "Data Structures", "001", 3, null, 10, "A", 0, 0);
+		Course c = manager.getCourseCatalog().getCourseFromCatalog("CSC316", "001");
+		
+		Thread[] threads = new Thread[40];
+		boolean[] enrolled = new boolean[threads.length];
+		for (int i = 0; i < threads.length; i++) {
+			final int id = i;
+			threads[i] = new Thread(() -> {
+				Session session = manager.startSession("student" + id, "pw");
+				enrolled[id] = manager.enrollStudentInCourse(session, c);
+				manager.endSession(session);
+			});
+			threads[i].start();
+		}
+		int count = 0;
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+			if (enrolled[i]) {
+				count++;
+			}
+		}
+		assertEquals(20, count);
+		assertEquals(0, c.getCourseRoll().getOpenSeats());
+		assertEquals(10, c.getCourseRoll().getNumberOnWaitlist());
+	}
+
+	/**
+	 * Tests swapping a course for another section, including that the old seat goes to
+	 * the waitlist only after the new seat is taken.
+	 */
+	@Test
+	public void testSwapStudentCourse() {
+		StudentDirectory directory = manager.getStudentDirectory();
+		for (int i = 0; i < 12; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		CourseCatalog catalog = manager.getCourseCatalog();
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445);
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "002", 3, null, 10, "TH", 1330, 1445);
+		catalog.addCourseToCatalog("CSC226", "Discrete Mathematics", "001", 4, null, 10, "TH", 1400, 1515);
+		Course first = catalog.getCourseFromCatalog("CSC216", "001");
+		Course second = catalog.getCourseFromCatalog("CSC216", "002");
+		Course conflicting = catalog.getCourseFromCatalog("CSC226", "001");
+		Session[] sessions = new Session[12];
+		for (int i = 0; i < sessions.length; i++) {
+			sessions[i] = manager.startSession("student" + i, "pw");
+			assertTrue(manager.enrollStudentInCourse(sessions[i], first));
+		}
+		Student student = directory.getStudentById("student0");
+		Student waitlisted = directory.getStudentById("student10");
+		assertEquals(2, first.getCourseRoll().getNumberOnWaitlist());
+
+		assertTrue(manager.swapStudentCourse(sessions[0], first, second));
+		assertEquals(List.of(second), Arrays.asList(student.getSchedule().getCourses()));
+		assertTrue(Arrays.asList(second.getCourseRoll().getEnrolledStudents()).contains(student));
+		assertFalse(Arrays.asList(first.getCourseRoll().getEnrolledStudents()).contains(student));
+		assertTrue(Arrays.asList(first.getCourseRoll().getEnrolledStudents()).contains(waitlisted));
+		assertEquals(1, first.getCourseRoll().getNumberOnWaitlist());
+		assertEquals(0, first.getCourseRoll().getOpenSeats());
+		assertEquals(9, second.getCourseRoll().getOpenSeats());
+
+		// The old course is not in the schedule, the sections are the same, and the full section has no seat
+		assertFalse(manager.swapStudentCourse(sessions[0], first, second));
+		assertFalse(manager.swapStudentCourse(sessions[0], second, second));
+		assertFalse(manager.swapStudentCourse(sessions[0], second, first));
+		assertEquals(9, second.getCourseRoll().getOpenSeats());
+
+		// The new course conflicts with another course in the schedule
+		catalog.addCourseToCatalog("CSC230", "C and Software Tools", "001", 3, null, 10, "TH", 1300, 1415);
+		Course other = catalog.getCourseFromCatalog("CSC230", "001");
+		assertTrue(manager.enrollStudentInCourse(sessions[1], other));
+		assertFalse(manager.swapStudentCourse(sessions[1], first, conflicting));
+		assertEquals(10, conflicting.getCourseRoll().getOpenSeats());
+		assertEquals(List.of(first, other), Arrays.asList(directory.getStudentById("student1").getSchedule().getCourses()));
+		assertTrue(manager.swapStudentCourse(sessions[1], other, conflicting));
+		assertEquals(List.of(first, conflicting), Arrays.asList(directory.getStudentById("student1").getSchedule().getCourses()));
+		assertEquals(10, other.getCourseRoll().getOpenSeats());
+
+		assertThrows(IllegalArgumentException.class, () -> manager.swapStudentCourse(sessions[2], null, second));
+		manager.endSession(sessions[2]);
+		assertThrows(IllegalArgumentException.class, () -> manager.swapStudentCourse(sessions[2], first, second));
+	}
+
+	/**
+	 * Tests enrolling a cohort of students in bulk as the registrar.
+	 */
+	@Test
+	public void testBulkEnroll() {
+		StudentDirectory directory = manager.getStudentDirectory();
+		for (int i = 0; i < 300; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		CourseCatalog catalog = manager.getCourseCatalog();
+		for (int i = 0; i < 3; i++) {
+			catalog.addCourseToCatalog("CSC116", "Intro to Programming - Java", "00" + (i + 1), 3, null, 100, "MW", 910 + 200 * i, 1100 + 200 * i);
+		}
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, null, 250, "TH", 1330, 1445);
+		String[][] rows = new String[606][];
+		for (int i = 0; i < 300; i++) {
+			rows[2 * i] = new String[] {"student" + i, "CSC116", "00" + (i % 3 + 1)};
+			rows[2 * i + 1] = new String[] {"student" + i, "CSC216", "001"};
+		}
+		rows[600] = new String[] {"nobody", "CSC116", "001"};
+		rows[601] = new String[] {"student0", "CSC999", "001"};
+		rows[602] = new String[] {"student0", "CSC116"};
+		rows[603] = null;
+		rows[604] = new String[] {"student0", "CSC116", "001"};
+		rows[605] = new String[] {"student1", "CSC216", "001"};
+
+		Session student = manager.startSession("student0", "pw");
+		assertThrows(IllegalArgumentException.class, () -> manager.bulkEnroll(student, rows));
+		Properties prop = new Properties();
+		try (InputStream input = new FileInputStream(PROP_FILE)) {
+			prop.load(input);
+		} catch (IOException e) {
+			fail("Issue reading properties file.");
+		}
+		Session registrar = manager.startSession(prop.getProperty("id"), prop.getProperty("pw"));
+		BulkEnrollmentReport report = manager.bulkEnroll(registrar, rows);
+
+		assertEquals(606, report.size());
+		for (int i = 0; i < 300; i++) {
+			assertEquals(BulkEnrollmentReport.ENROLLED, report.getStatus(2 * i));
+		}
+		assertEquals(550, report.getCount(BulkEnrollmentReport.ENROLLED));
+		assertEquals(10, report.getCount(BulkEnrollmentReport.WAITLISTED));
+		assertEquals(42, report.getCount(BulkEnrollmentReport.NOT_ENROLLED));
+		assertEquals(BulkEnrollmentReport.UNKNOWN_STUDENT, report.getStatus(600));
+		assertEquals(BulkEnrollmentReport.UNKNOWN_COURSE, report.getStatus(601));
+		assertEquals(BulkEnrollmentReport.INVALID_ROW, report.getStatus(602));
+		assertEquals(BulkEnrollmentReport.INVALID_ROW, report.getStatus(603));
+		assertEquals(BulkEnrollmentReport.NOT_ENROLLED, report.getStatus(604));
+		assertEquals(BulkEnrollmentReport.NOT_ENROLLED, report.getStatus(605));
+		assertEquals("Waitlisted", BulkEnrollmentReport.getStatusName(BulkEnrollmentReport.WAITLISTED));
+
+		Course csc216 = catalog.getCourseFromCatalog("CSC216", "001");
+		assertEquals(0, csc216.getCourseRoll().getOpenSeats());
+		assertEquals(10, csc216.getCourseRoll().getNumberOnWaitlist());
+		for (int i = 0; i < 250; i++) {
+			assertEquals(BulkEnrollmentReport.ENROLLED, report.getStatus(2 * i + 1));
+			assertEquals(2, directory.getStudentById("student" + i).getSchedule().getCourses().length);
+		}
+		assertEquals(BulkEnrollmentReport.WAITLISTED, report.getStatus(501));
+		assertEquals(BulkEnrollmentReport.NOT_ENROLLED, report.getStatus(521));
+		assertEquals(0, catalog.getCourseFromCatalog("CSC116", "001").getCourseRoll().getOpenSeats());
+	}
+
+	/**
+	 * Tests that rolls and schedules agree after students enroll in, drop, and reset
+	 * several courses from many threads at once.
+	 * @throws InterruptedException if interrupted waiting for the threads
+	 */
+	@Test
+	public void testConcurrentRollsAndSchedules() throws InterruptedException {
+		StudentDirectory directory = manager.getStudentDirectory();
+		for (int i = 0; i < 16; i++) {
+			directory.addStudent("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", "pw", 18);
+		}
+		Course[] courses = new Course[4];
+		for (int i = 0; i < courses.length; i++) {
+			manager.getCourseCatalog().addCourseToCatalog("CSC" + (316 + i), "Course", "001", 3, null, 10, "A", 0, 0);
+			courses[i] = manager.getCourseCatalog().getCourseFromCatalog("CSC" + (316 + i), "001");
+		}
+		
+		Thread[] threads = new Thread[16];
+		for (int t = 0; t < threads.length; t++) {
+			final int id = t;
+			threads[t] = new Thread(() -> {
+				Session session = manager.startSession("student" + id, "pw");
+				Random random = new Random(id);
+				for (int i = 0; i < 300; i++) {
+					Course c = courses[random.nextInt(courses.length)];
+					int op = random.nextInt(10);
+					if (op < 5) {
+						manager.enrollStudentInCourse(session, c);
+					} else if (op < 6) {
+						manager.swapStudentCourse(session, courses[random.nextInt(courses.length)], c);
+					} else if (op < 9) {
+						manager.dropStudentFromCourse(session, c);
+					} else {
+						manager.resetSchedule(session);
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		for (Course c : courses) {
+			assertTrue(c.getCourseRoll().getEnrolledStudents().length <= 10);
+			for (Student s : c.getCourseRoll().getEnrolledStudents()) {
+				assertTrue(Arrays.asList(s.getSchedule().getCourses()).contains(c));
+			}
+		}
+		for (int i = 0; i < 16; i++) {
+			Student s = directory.getStudentById("student" + i);
+			for (Course c : s.getSchedule().getCourses()) {
+				assertTrue(Arrays.asList(c.getCourseRoll().getEnrolledStudents()).contains(s)
+						|| Arrays.asList(c.getCourseRoll().getWaitlistedStudents()).contains(s));
+			}
+		}
+	}
 
 }
@@ -0,0 +1,164 @@
+package edu.ncsu.csc216.pack_scheduler.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Properties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.manager.RegistrationManager;
+
+/**
+ * Tests the RegistrationServer class
+ */
+class RegistrationServerTest {
+
+	/** Manager the server runs against */
+	private RegistrationManager manager;
+	/** Server under test */
+	private RegistrationServer server;
+	/** Client sending requests */
+	private HttpClient client;
+
+	/**
+	 * Adds a student, a faculty member, and a course, and starts a server on a free port.
+	 * @throws IOException if the server cannot start
+	 */
+	@BeforeEach
+	void setUp() throws IOException {
+		manager = RegistrationManager.getInstance();
+		manager.logout();
+		manager.clearData();
+		manager.getStudentDirectory().addStudent("Zahir", "King", "zking", "zking@ncsu.edu", "pw", "pw", 15);
+		manager.getFacultyDirectory().addFaculty("Ashely", "Witt", "awitt", "awitt@ncsu.edu", "pw", "pw", 2);
+		manager.getCourseCatalog().addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "TH", 1330, 1445);
+		server = new RegistrationServer(manager, new InetSocketAddress("127.0.0.1", 0));
+		server.start();
+		client = HttpClient.newHttpClient();
+	}
+
+	/**
+	 * Stops the server.
+	 */
+	@AfterEach
+	void tearDown() {
+		server.close();
+	}
+
+	/**
+	 * Sends a request and returns the response.
+	 * @param method HTTP method
+	 * @param path path of the endpoint
+	 * @param token session token, or null
+	 * @param form form encoded body, or null
+	 * @return the response
+	 * @throws Exception if the request fails
+	 */
+	private HttpResponse<String> send(String method, String path, String token, String form) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path));
+		if (token != null) {
+			request.header("Authorization", "Bearer " + token);
+		}
+		if (form != null) {
+			request.header("Content-Type", "application/x-www-form-urlencoded");
+		}
+		request.method(method, form == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(form));
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	/**
+	 * Logs in and returns the session token.
+	 * @param id id of the user
+	 * @param password password of the user
+	 * @return the token
+	 * @throws Exception if the request fails
+	 */
+	private String login(String id, String password) throws Exception {
+		HttpResponse<String> response = send("POST", "/login", null, "id=" + id + "&password=" + password);
+		assertEquals(200, response.statusCode());
+		String body = response.body();
+		int start = body.indexOf("\"token\":\"") + 9;
+		return body.substring(start, body.indexOf('"', start));
+	}
+
+	/**
+	 * Tests logging in, listing the catalog, and enrolling in and dropping a course.
+	 * @throws Exception if a request fails
+	 */
+	@Test
+	void testStudent() throws Exception {
+		assertEquals(401, send("POST", "/login", null, "id=zking&password=wrong").statusCode());
+		assertEquals(401, send("POST", "/login", null, "id=nobody&password=pw").statusCode());
+		String token = login("zking", "pw");
+
+		HttpResponse<String> response = send("GET", "/catalog", null, null);
+		assertEquals(200, response.statusCode());
+		assertEquals("[{\"name\":\"CSC216\",\"section\":\"001\",\"title\":\"Software Development Fundamentals\","
+				+ "\"meeting\":\"TH 1:30PM-2:45PM\",\"openSeats\":10}]", response.body());
+
+		assertEquals(401, send("POST", "/enroll", null, "name=CSC216&section=001").statusCode());
+		assertEquals(401, send("POST", "/enroll", "bogus", "name=CSC216&section=001").statusCode());
+		assertEquals(404, send("POST", "/enroll", token, "name=CSC116&section=001").statusCode());
+		assertEquals(400, send("POST", "/enroll", token, "name=CSC216").statusCode());
+		assertEquals(405, send("GET", "/enroll", token, null).statusCode());
+
+		response = send("POST", "/enroll", token, "name=CSC216&section=001");
+		assertEquals("{\"result\":true}", response.body());
+		assertEquals("{\"result\":false}", send("POST", "/enroll", token, "name=CSC216&section=001").body());
+		Course c = manager.getCourseCatalog().getCourseFromCatalog("CSC216", "001");
+		assertEquals(9, c.getCourseRoll().getOpenSeats());
+
+		response = send("GET", "/schedule", token, null);
+		assertEquals(200, response.statusCode());
+		assertTrue(response.body().startsWith("{\"title\":\"My Schedule\",\"credits\":3,\"courses\":[{\"name\":\"CSC216\""));
+
+		assertEquals("{\"result\":true}", send("POST", "/drop?name=CSC216&section=001", token, null).body());
+		assertEquals(10, c.getCourseRoll().getOpenSeats());
+
+		assertEquals(200, send("POST", "/logout", token, null).statusCode());
+		assertEquals(401, send("GET", "/schedule", token, null).statusCode());
+	}
+
+	/**
+	 * Tests assigning courses to faculty as the registrar.
+	 * @throws Exception if a request fails
+	 */
+	@Test
+	void testFaculty() throws Exception {
+		Properties prop = new Properties();
+		try (InputStream input = new FileInputStream("registrar.properties")) {
+			prop.load(input);
+		}
+		String registrar = login(prop.getProperty("id"), prop.getProperty("pw"));
+		String faculty = login("awitt", "pw");
+		String form = "name=CSC216&section=001&faculty=awitt";
+
+		assertEquals(400, send("POST", "/faculty/assign", faculty, form).statusCode());
+		assertEquals(404, send("POST", "/faculty/assign", registrar, "name=CSC216&section=001&faculty=nobody").statusCode());
+		assertEquals("{\"result\":true}", send("POST", "/faculty/assign", registrar, form).body());
+		assertTrue(send("GET", "/schedule", faculty, null).body().startsWith("{\"courses\":[{\"name\":\"CSC216\""));
+		assertEquals(400, send("GET", "/schedule", registrar, null).statusCode());
+		assertEquals("{\"result\":true}", send("POST", "/faculty/remove", registrar, form).body());
+		assertEquals("{\"courses\":[]}", send("GET", "/schedule", faculty, null).body());
+	}
+
+	/**
+	 * Tests quoting strings as JSON.
+	 */
+	@Test
+	void testQuote() {
+		assertEquals("null", RegistrationServer.quote(null));
+		assertEquals("\"a\\\"b\\\\c\\u000a\"", RegistrationServer.quote("a\"b\\c\n"));
+	}
+}
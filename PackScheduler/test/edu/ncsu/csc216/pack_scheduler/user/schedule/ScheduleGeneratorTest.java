@@ -0,0 +1,143 @@
+package edu.ncsu.csc216.pack_scheduler.user.schedule;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.pack_scheduler.catalog.CourseCatalog;
+import edu.ncsu.csc216.pack_scheduler.course.Course;
+import edu.ncsu.csc216.pack_scheduler.user.Student;
+
+/**
+ * Tests the ScheduleGenerator class
+ */
+class ScheduleGeneratorTest {
+
+	/**
+	 * Returns a catalog with sections of three courses.
+	 * @return the catalog
+	 */
+	private CourseCatalog catalog() {
+		CourseCatalog catalog = new CourseCatalog();
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "001", 3, null, 10, "MW", 1330, 1445);
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "002", 3, null, 10, "TH", 1330, 1445);
+		catalog.addCourseToCatalog("CSC216", "Software Development Fundamentals", "601", 3, null, 10, "A", 0, 0);
+		catalog.addCourseToCatalog("CSC226", "Discrete Mathematics", "001", 3, null, 10, "MWF", 1300, 1350);
+		catalog.addCourseToCatalog("CSC226", "Discrete Mathematics", "002", 3, null, 10, "TH", 1400, 1515);
+		catalog.addCourseToCatalog("CSC230", "C and Software Tools", "001", 4, null, 10, "MW", 1445, 1600);
+		catalog.addCourseToCatalog("CSC230", "C and Software Tools", "002", 4, null, 10, "F", 900, 1100);
+		return catalog;
+	}
+
+	/**
+	 * Returns a label for a schedule, such as CSC216-001 CSC226-002.
+	 * @param schedule the schedule
+	 * @return label listing the sections
+	 */
+	private static String label(List<Course> schedule) {
+		StringBuilder label = new StringBuilder();
+		for (Course course : schedule) {
+			label.append(course.getName()).append('-').append(course.getSection()).append(' ');
+		}
+		return label.toString().trim();
+	}
+
+	/**
+	 * Tests that every conflict-free combination is found, and no others.
+	 */
+	@Test
+	void testGenerate() {
+		CourseCatalog catalog = catalog();
+		ScheduleGenerator generator = new ScheduleGenerator(catalog);
+		Student student = new Student("Zahir", "King", "zking", "zking@ncsu.edu", "pw", 18);
+
+		HashSet<String> found = new HashSet<String>();
+		for (List<Course> schedule : generator.generate(student, List.of("CSC216", "CSC226"), 100, 10000)) {
+			found.add(label(schedule));
+		}
+		assertEquals(new HashSet<String>(List.of("CSC216-001 CSC226-002", "CSC216-002 CSC226-001",
+				"CSC216-601 CSC226-001", "CSC216-601 CSC226-002")), found);
+
+		found.clear();
+		for (List<Course> schedule : generator.generate(student, List.of("CSC230", "CSC216", "CSC226", "CSC216"), 100, 10000)) {
+			found.add(label(schedule));
+		}
+		assertEquals(new HashSet<String>(List.of("CSC230-002 CSC216-001 CSC226-002", "CSC230-002 CSC216-002 CSC226-001",
+				"CSC230-002 CSC216-601 CSC226-001", "CSC230-002 CSC216-601 CSC226-002", "CSC230-001 CSC216-002 CSC226-001",
+				"CSC230-001 CSC216-601 CSC226-001", "CSC230-001 CSC216-601 CSC226-002")), found);
+
+		assertEquals(2, generator.generate(student, List.of("CSC216", "CSC226", "CSC230"), 2, 10000).size());
+		assertEquals(List.of(), generator.generate(student, List.of(), 5, 10000));
+		assertEquals(0, generator.generate(student, List.of(), 5, 10000, schedule -> fail()));
+		assertEquals(2, generator.generate(student, List.of("CSC216", "CSC226", "CSC230"), 2, Long.MAX_VALUE).size());
+		assertEquals(0, generator.generate(student, List.of("CSC216"), 0, 10000).size());
+		assertThrows(IllegalArgumentException.class, () -> generator.generate(student, List.of("CSC116"), 5, 10000));
+	}
+
+	/**
+	 * Tests that schedules respect the student's credits, current schedule, and open seats.
+	 */
+	@Test
+	void testLimits() {
+		CourseCatalog catalog = catalog();
+		ScheduleGenerator generator = new ScheduleGenerator(catalog, new ForkJoinPool(2));
+		Student student = new Student("Zahir", "King", "zking", "zking@ncsu.edu", "pw", 9);
+		assertEquals(0, generator.generate(student, List.of("CSC216", "CSC226", "CSC230"), 100, 10000).size());
+		student.setMaxCredits(10);
+		assertEquals(7, generator.generate(student, List.of("CSC216", "CSC226", "CSC230"), 100, 10000).size());
+
+		student.getSchedule().addCourseToSchedule(catalog.getCourseFromCatalog("CSC230", "002"));
+		student.setMaxCredits(12);
+		List<String> found = new ArrayList<String>();
+		for (List<Course> schedule : generator.generate(student, List.of("CSC216", "CSC226"), 100, 10000)) {
+			found.add(label(schedule));
+		}
+		assertEquals(4, found.size());
+
+		Course full = catalog.getCourseFromCatalog("CSC216", "601");
+		full.getCourseRoll().setEnrollmentCap(10);
+		for (int i = 0; i < 10; i++) {
+			full.getCourseRoll().enroll(new Student("First", "Last", "student" + i, "student" + i + "@ncsu.edu", "pw", 18));
+		}
+		found.clear();
+		for (List<Course> schedule : generator.generate(student, List.of("CSC216", "CSC226"), 100, 10000)) {
+			found.add(label(schedule));
+		}
+		assertEquals(new HashSet<String>(List.of("CSC216-001 CSC226-002", "CSC216-002 CSC226-001")), new HashSet<String>(found));
+	}
+
+	/**
+	 * Tests that a large search returns the requested number of schedules, and stops
+	 * when its time runs out.
+	 */
+	@Test
+	void testLargeSearch() {
+		CourseCatalog catalog = new CourseCatalog();
+		List<String> names = new ArrayList<String>();
+		for (int c = 0; c < 6; c++) {
+			names.add("CSC" + (100 + c));
+			for (int s = 0; s < 20; s++) {
+				int start = 800 + 100 * ((c * 3 + s) % 10);
+				catalog.addCourseToCatalog("CSC" + (100 + c), "Course", String.format("%03d", s + 1), 3, null, 10,
+						s % 2 == 0 ? "MW" : "TH", start, start + 50);
+			}
+		}
+		Student student = new Student("Zahir", "King", "zking", "zking@ncsu.edu", "pw", 18);
+		ScheduleGenerator generator = new ScheduleGenerator(catalog);
+		List<List<Course>> schedules = generator.generate(student, names, 500, 10000);
+		assertEquals(500, schedules.size());
+		for (List<Course> schedule : schedules) {
+			for (int i = 0; i < schedule.size(); i++) {
+				for (int j = i + 1; j < schedule.size(); j++) {
+					assertFalse(schedule.get(i).conflictsWith(schedule.get(j)));
+				}
+			}
+		}
+		assertTrue(generator.generate(student, names, Integer.MAX_VALUE, 0).size() < 500);
+	}
+}
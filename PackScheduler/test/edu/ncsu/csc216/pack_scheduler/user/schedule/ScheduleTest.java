@@ -113,4 +113,29 @@ class ScheduleTest {
 		assertFalse(schedule.canAdd(course1));
 	}
 
+	/**
+	 * Test canReplace and replaceCourse methods
+	 */
+	@Test
+	void testReplaceCourse() {
+		Schedule schedule = new Schedule();
+		Course course = new Course("CSC216", "Test", "001", 3, "crgoga", 10, "MW", 1015, 1130);
+		Course other = new Course("CSC226", "Test", "001", 3, "crgoga", 10, "TH", 1015, 1130);
+		Course section = new Course("CSC216", "Test", "002", 3, "crgoga", 10, "MW", 1100, 1215);
+		Course conflicting = new Course("CSC230", "Test", "001", 3, "crgoga", 10, "TH", 1100, 1215);
+		schedule.addCourseToSchedule(course);
+		schedule.addCourseToSchedule(other);
+		
+		assertTrue(schedule.canReplace(course, section));
+		assertFalse(schedule.canReplace(course, conflicting));
+		assertFalse(schedule.canReplace(course, other));
+		assertFalse(schedule.canReplace(section, course));
+		assertFalse(schedule.replaceCourse(course, conflicting));
+		assertTrue(schedule.replaceCourse(course, section));
+		assertEquals(section, schedule.getCourses()[0]);
+		assertEquals(2, schedule.getCourses().length);
+		assertTrue(schedule.replaceCourse(other, conflicting));
+		assertFalse(schedule.replaceCourse(course, section));
+	}
+
 }
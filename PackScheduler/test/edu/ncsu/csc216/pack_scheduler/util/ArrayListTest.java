@@ -1,7 +1,11 @@
 package edu.ncsu.csc216.pack_scheduler.util;
 import static org.junit.Assert.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
 
 import org.junit.Test;
 
@@ -80,5 +84,33 @@ public class ArrayListTest {
 		assertEquals(3, list.size());
 	}
 	
+	/**
+	 * Tests that duplicates are rejected and found only among the list's elements,
+	 * with and without a key index, including keys shared by unequal elements.
+	 */
+	@Test
+	public void testDuplicates() {
+		List<Function<String, ?>> keys = Arrays.asList(null, s -> s, String::length);
+		for (Function<String, ?> key : keys) {
+			ArrayList<String> list = new ArrayList<String>(key);
+			for (int i = 0; i < 25; i++) {
+				list.add(i, "test" + i);
+			}
+			assertThrows(IllegalArgumentException.class, () -> list.add(0, "test24"));
+			assertThrows(IllegalArgumentException.class, () -> list.set(3, "test7"));
+			assertEquals(7, list.indexOf("test7"));
+			list.remove(7);
+			assertFalse(list.contains("test7"));
+			assertEquals(-1, list.indexOf("test7"));
+			list.set(3, "test7");
+			assertTrue(list.contains("test7"));
+			assertFalse(list.contains("test3"));
+			list.add(0, "test3");
+			assertEquals(4, list.indexOf("test7"));
+			assertFalse(list.contains(null));
+			assertEquals(25, list.size());
+		}
+	}
+	
 	
 }
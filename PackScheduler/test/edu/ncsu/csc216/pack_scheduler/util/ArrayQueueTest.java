@@ -5,6 +5,8 @@ package edu.ncsu.csc216.pack_scheduler.util;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -132,4 +134,99 @@ class ArrayQueueTest {
 		Exception e3 = assertThrows(IllegalArgumentException.class, () -> q2.setCapacity(-1));
 		assertEquals(null, e3.getMessage());
 	}
+	
+	/**
+	 * Test method for wrapping around and growing the circular array
+	 */
+	@Test
+	void testWrapAndGrow() {
+		ArrayQueue<Integer> q = new ArrayQueue<Integer>(1000);
+		int next = 0;
+		int expected = 0;
+		for (int round = 0; round < 50; round++) {
+			for (int i = 0; i < round; i++) {
+				q.enqueue(next++);
+			}
+			for (int i = 0; i < round / 2; i++) {
+				assertEquals(expected++, (int) q.dequeue());
+			}
+		}
+		assertEquals(next - expected, q.size());
+		while (!q.isEmpty()) {
+			assertEquals(expected++, (int) q.dequeue());
+		}
+		assertEquals(next, expected);
+	}
+	
+	/**
+	 * Test method for the duplicate policy
+	 */
+	@Test
+	void testDuplicates() {
+		q1.enqueue("first");
+		assertThrows(IllegalArgumentException.class, () -> q1.enqueue("first"));
+		assertThrows(NullPointerException.class, () -> q1.enqueue(null));
+		assertEquals("first", q1.dequeue());
+		q1.enqueue("first");
+		assertEquals(1, q1.size());
+		
+		ArrayQueue<String> q = new ArrayQueue<String>(10, true);
+		q.enqueue("first");
+		q.enqueue("first");
+		assertEquals(2, q.size());
+	}
+	
+	/**
+	 * Test method for enqueueAll and drainTo
+	 */
+	@Test
+	void testBulk() {
+		q1.enqueue("first");
+		q1.enqueueAll(List.of("second", "third", "fourth"));
+		assertEquals(4, q1.size());
+		assertThrows(IllegalArgumentException.class, () -> q1.enqueueAll(List.of("fifth", "second")));
+		assertThrows(IllegalArgumentException.class, () -> q1.enqueueAll(List.of("fifth", "sixth", "fifth")));
+		assertThrows(IllegalArgumentException.class, () -> q1.enqueueAll(List.of("a", "b", "c", "d", "e", "f", "g")));
+		assertEquals(4, q1.size());
+		
+		List<String> drained = new ArrayList<String>();
+		assertEquals(3, q1.drainTo(drained, 3));
+		assertEquals(List.of("first", "second", "third"), drained);
+		q1.enqueueAll(List.of("first", "second"));
+		drained.clear();
+		assertEquals(3, q1.drainTo(drained));
+		assertEquals(List.of("fourth", "first", "second"), drained);
+		assertTrue(q1.isEmpty());
+		assertEquals(0, q1.drainTo(drained));
+		assertEquals(10, q1.remainingCapacity());
+		
+		LinkedQueue<String> linked = new LinkedQueue<String>(3);
+		linked.enqueueAll(List.of("first", "second"));
+		assertThrows(IllegalArgumentException.class, () -> linked.enqueueAll(List.of("third", "fourth")));
+		drained.clear();
+		assertEquals(2, linked.drainTo(drained));
+		assertEquals(List.of("first", "second"), drained);
+		
+		q2.enqueueAll(List.of("first", "second", "third", "fourth"));
+		List<String> failing = new ArrayList<String>() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public boolean add(String s) {
+				if ("second".equals(s)) {
+					throw new IllegalStateException();
+				}
+				return super.add(s);
+			}
+		};
+		assertThrows(IllegalStateException.class, () -> q2.drainTo(failing));
+		assertEquals(List.of("first"), failing);
+		assertEquals(2, q2.size());
+		assertEquals(8, q2.remainingCapacity());
+		q2.enqueue("second");
+		assertEquals("third", q2.dequeue());
+		assertEquals("fourth", q2.dequeue());
+		assertEquals("second", q2.dequeue());
+		assertTrue(q2.isEmpty());
+	}
 }
@@ -0,0 +1,122 @@
+package edu.ncsu.csc216.pack_scheduler.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the ConcurrentArrayQueue class
+ */
+class ConcurrentArrayQueueTest {
+
+	/**
+	 * Tests the Queue methods and capacity on one thread.
+	 */
+	@Test
+	void testQueue() {
+		ConcurrentArrayQueue<String> q = new ConcurrentArrayQueue<String>(3, 5);
+		assertTrue(q.isEmpty());
+		q.enqueue("first");
+		q.enqueue("second");
+		q.enqueue("second");
+		assertEquals(3, q.size());
+		assertThrows(IllegalArgumentException.class, () -> q.enqueue("third"));
+		assertFalse(q.offer("third"));
+		assertThrows(NullPointerException.class, () -> q.enqueue(null));
+		assertThrows(IllegalArgumentException.class, () -> q.setCapacity(2));
+		assertThrows(IllegalArgumentException.class, () -> q.setCapacity(6));
+		q.setCapacity(5);
+		q.enqueueAll(List.of("third", "fourth"));
+		assertEquals(0, q.remainingCapacity());
+		assertEquals("first", q.dequeue());
+		List<String> drained = new ArrayList<String>();
+		assertEquals(4, q.drainTo(drained));
+		assertEquals(List.of("second", "second", "third", "fourth"), drained);
+		assertThrows(NoSuchElementException.class, () -> q.dequeue());
+		assertNull(q.poll());
+
+		for (int i = 0; i < 20; i++) {
+			assertTrue(q.offer("wrap" + i));
+			assertEquals("wrap" + i, q.poll());
+		}
+		assertThrows(IllegalArgumentException.class, () -> new ConcurrentArrayQueue<String>(-1));
+		assertThrows(IllegalArgumentException.class, () -> new ConcurrentArrayQueue<String>(4, 3));
+	}
+
+	/**
+	 * Tests timed offer and poll running out of time, and take waiting for a producer.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	void testBlocking() throws InterruptedException {
+		ConcurrentArrayQueue<Integer> q = new ConcurrentArrayQueue<Integer>(1);
+		assertNull(q.poll(10, TimeUnit.MILLISECONDS));
+		q.put(1);
+		assertFalse(q.offer(2, 10, TimeUnit.MILLISECONDS));
+
+		Thread consumer = new Thread(() -> {
+			try {
+				Thread.sleep(20);
+				q.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		consumer.start();
+		assertTrue(q.offer(2, 5, TimeUnit.SECONDS));
+		consumer.join();
+		assertEquals(2, (int) q.take());
+	}
+
+	/**
+	 * Tests that several producers and consumers pass every element exactly once.
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	void testManyThreads() throws InterruptedException {
+		ConcurrentArrayQueue<Integer> q = new ConcurrentArrayQueue<Integer>(64);
+		int threads = 4;
+		int perThread = 20000;
+		AtomicLong sum = new AtomicLong();
+		AtomicLong count = new AtomicLong();
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int t = 0; t < threads; t++) {
+			int first = t * perThread;
+			workers.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < perThread; i++) {
+						q.put(first + i);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+			workers.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < perThread; i++) {
+						sum.addAndGet(q.take());
+						count.incrementAndGet();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		for (Thread worker : workers) {
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join(30000);
+		}
+		long n = (long) threads * perThread;
+		assertEquals(n, count.get());
+		assertEquals(n * (n - 1) / 2, sum.get());
+		assertTrue(q.isEmpty());
+	}
+}
@@ -122,4 +122,41 @@ public class LinkedAbstractListTest {
 		assertEquals("test33", list.get(3));
 		assertEquals("test2", list.get(2));
 	}
+	
+	/**
+	 * Tests that the last element stays reachable after adds and removes at every
+	 * position, with and without a key index.
+	 */
+	@Test
+	public void testBack() {
+		for (boolean indexed : new boolean[] {false, true}) {
+			LinkedAbstractList<String> list = indexed
+					? new LinkedAbstractList<String>(100, String::length) : new LinkedAbstractList<String>(100);
+			list.add(0, "a");
+			assertEquals("a", list.get(0));
+			list.remove(0);
+			list.add(0, "bb");
+			list.add(1, "ccc");
+			list.add(2, "dddd");
+			assertEquals("dddd", list.get(2));
+			list.remove(2);
+			assertEquals("ccc", list.get(1));
+			list.add("eeeee");
+			list.add(1, "f");
+			assertEquals("eeeee", list.get(3));
+			list.set(3, "gg");
+			assertEquals("gg", list.get(3));
+			assertTrue(list.contains("gg"));
+			assertFalse(list.contains("eeeee"));
+			assertFalse(list.contains("hh"));
+			assertEquals(3, list.indexOf("gg"));
+			assertTrue(list.remove("gg"));
+			assertFalse(list.remove("gg"));
+			assertEquals("ccc", list.get(list.size() - 1));
+			assertThrows(IllegalArgumentException.class, () -> list.add("ccc"));
+			list.add("hh");
+			assertEquals(4, list.size());
+			assertEquals("[bb, f, ccc, hh]", list.toString());
+		}
+	}
 }
@@ -190,4 +190,35 @@ public class LinkedListRecursiveTest {
 		assertEquals(3, list.size());
 		assertEquals("test4", list.get(1));
 	}
+	
+	/**
+	 * Tests a list too long to walk recursively, and that elements are compared by identity.
+	 */
+	@Test
+	public void testLongList() {
+		LinkedListRecursive<String> list = new LinkedListRecursive<String>();
+		for (int i = 0; i < 200000; i++) {
+			list.add("course" + i);
+		}
+		assertEquals(200000, list.size());
+		assertEquals("course199999", list.get(199999));
+		assertTrue(list.contains(list.get(150000)));
+		assertFalse(list.contains(new String("course150000")));
+		assertFalse(list.remove(new String("course150000")));
+		assertTrue(list.remove(list.get(150000)));
+		assertEquals("course150001", list.get(150000));
+		assertEquals("course199999", list.remove(199998));
+		assertEquals("course199998", list.get(list.size() - 1));
+		list.add("last");
+		assertEquals("last", list.get(199998));
+		list.add(1, new String("course0"));
+		assertEquals("course0", list.get(1));
+		assertThrows(IllegalArgumentException.class, () -> list.add(list.get(5)));
+		while (!list.isEmpty()) {
+			list.remove(0);
+		}
+		list.add("first");
+		assertEquals("first", list.get(0));
+		assertEquals(1, list.size());
+	}
 }